@@ -0,0 +1,33 @@
+package io.github.piszmog.cloudconfig.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler to report the allocations per operation. The results are written to
+ * {@code target/jmh-result.json}. Any JMH command line option can be passed to override the defaults.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final OptionsBuilder options = new OptionsBuilder();
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(ConfigClientBenchmark.class.getPackage().getName() + ".*");
+        }
+        options.parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json");
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.piszmog.cloudconfig.benchmark;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.client.impl.DecryptConfigClient;
+import io.github.piszmog.cloudconfig.client.impl.EncryptConfigClient;
+import io.github.piszmog.cloudconfig.client.impl.FileConfigClient;
+import io.github.piszmog.cloudconfig.template.HttpClientSettings;
+import io.github.piszmog.cloudconfig.template.impl.LocalConfigTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the template and the clients against an in-process {@link StubConfigServer}. Subclasses set the number
+ * of threads calling the config server concurrently.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class ConfigClientBenchmark {
+    private StubConfigServer server;
+    private LocalConfigTemplate configTemplate;
+    private FileConfigClient fileConfigClient;
+    private EncryptConfigClient encryptConfigClient;
+    private DecryptConfigClient decryptConfigClient;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = StubConfigServer.start();
+        final ConfigClientProperties properties = new ConfigClientProperties(new StandardEnvironment());
+        properties.setUri(new String[]{server.getUri()});
+        properties.setName("benchmark");
+        //
+        // Enough connections for every benchmark thread, so the pool does not limit the client
+        //
+        final HttpClientSettings settings = new HttpClientSettings();
+        settings.setMaxPerRoute(64);
+        configTemplate = new LocalConfigTemplate(properties, settings);
+        configTemplate.init();
+        fileConfigClient = new FileConfigClient(configTemplate);
+        encryptConfigClient = new EncryptConfigClient(configTemplate);
+        decryptConfigClient = new DecryptConfigClient(configTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<String> sendAndReceive() throws ConfigException {
+        return configTemplate.sendAndReceive(HttpMethod.GET, "/{name}/{profile}/{label}/{file}", null, null,
+                String.class, "benchmark", "default", "master", "config.json");
+    }
+
+    @Benchmark
+    public String getFileFromBranch() throws ConfigException {
+        return fileConfigClient.getFileFromBranch("config.json", "master", String.class);
+    }
+
+    @Benchmark
+    public String encrypt() throws ConfigException {
+        return encryptConfigClient.encrypt(StubConfigServer.PLAIN);
+    }
+
+    @Benchmark
+    public String decrypt() throws ConfigException {
+        return decryptConfigClient.decrypt(StubConfigServer.CIPHER);
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.piszmog.cloudconfig.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the {@link ConfigClientBenchmark} with 8 threads.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+@Threads(8)
+public class ConfigClientEightThreadsBenchmark extends ConfigClientBenchmark {
+}
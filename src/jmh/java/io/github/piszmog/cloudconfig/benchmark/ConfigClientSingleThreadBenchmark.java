@@ -0,0 +1,12 @@
+package io.github.piszmog.cloudconfig.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the {@link ConfigClientBenchmark} with 1 thread.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+@Threads(1)
+public class ConfigClientSingleThreadBenchmark extends ConfigClientBenchmark {
+}
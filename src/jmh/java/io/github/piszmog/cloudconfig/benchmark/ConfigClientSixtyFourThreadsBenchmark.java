@@ -0,0 +1,12 @@
+package io.github.piszmog.cloudconfig.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the {@link ConfigClientBenchmark} with 64 threads.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+@Threads(64)
+public class ConfigClientSixtyFourThreadsBenchmark extends ConfigClientBenchmark {
+}
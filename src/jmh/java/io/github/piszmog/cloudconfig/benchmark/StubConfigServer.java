@@ -0,0 +1,84 @@
+package io.github.piszmog.cloudconfig.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process config server answering the file, encrypt and decrypt endpoints with fixed responses, so the benchmarks
+ * measure the client rather than the server.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class StubConfigServer implements AutoCloseable {
+    static final String CIPHER = "AQA5pYKqQyGtxNnV7k2Slz1nVBAN9d6+Ps41gyZ8o9oH+cjGzcWxUUCz2rgRySJ1jq6f";
+    static final String PLAIN = "super-secret-value";
+    static final String FILE = "{\"name\":\"benchmark\",\"values\":[" + "\"0123456789abcdef\",".repeat(60) + "\"end\"]}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private StubConfigServer(final HttpServer server, final ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the stub server on a random port of the loopback address.
+     *
+     * @return The started server.
+     * @throws IOException when the server cannot be bound
+     */
+    public static StubConfigServer start() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        final ExecutorService executor = Executors.newFixedThreadPool(64);
+        server.createContext("/", StubConfigServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return new StubConfigServer(server, executor);
+    }
+
+    private static void handle(final HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+        }
+        final String path = exchange.getRequestURI().getPath();
+        final String response;
+        if (path.startsWith("/encrypt/")) {
+            response = CIPHER;
+        } else if (path.startsWith("/decrypt/")) {
+            response = PLAIN;
+        } else {
+            response = FILE;
+        }
+        final byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    /**
+     * Retrieves the URI of the server.
+     *
+     * @return The URI.
+     */
+    public String getUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
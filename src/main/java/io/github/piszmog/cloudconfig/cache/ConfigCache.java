@@ -0,0 +1,419 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of resources retrieved from the config server. Entries expire after the configured time to live
+ * and the least recently used entries are evicted once either the maximum number of entries or the maximum number of
+ * bytes is exceeded.
+ * <p>
+ * The size of an entry is estimated from its value. {@code byte[]} values count their length and
+ * {@link CharSequence} values count two bytes per character. Other values are not counted towards the byte budget and
+ * are only bounded by the maximum number of entries.
+ * <p>
+ * Expired entries are kept until they are evicted so their {@code ETag} and {@code Last-Modified} validators can be
+ * used to revalidate the resource with the config server. Clients can also return an expired value while it is
+ * revalidated in the background, when it is within the stale-while-revalidate window, or when the config server is
+ * unable to provide the resource, when it is within the stale-if-error window. Both windows are disabled by default.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class ConfigCache {
+    /**
+     * The default time an entry is valid for.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    /**
+     * The default maximum number of bytes -- 64 MiB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final long timeToLiveMillis;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Clock clock;
+    private final LinkedHashMap<ConfigCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final Set<ConfigCacheKey> refreshing = ConcurrentHashMap.newKeySet();
+    private long estimatedBytes;
+    private volatile long staleWhileRevalidateMillis;
+    private volatile long staleIfErrorMillis;
+
+    /**
+     * Creates a cache using the default time to live, maximum entries and maximum bytes.
+     */
+    public ConfigCache() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param timeToLive the time an entry is valid for after it is stored
+     * @param maxEntries the maximum number of entries to keep
+     * @param maxBytes   the maximum estimated number of bytes to keep
+     */
+    public ConfigCache(final Duration timeToLive, final int maxEntries, final long maxBytes) {
+        this(timeToLive, maxEntries, maxBytes, Clock.systemUTC());
+    }
+
+    ConfigCache(final Duration timeToLive, final int maxEntries, final long maxBytes, final Clock clock) {
+        if (timeToLive == null || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("The time to live must be zero or greater.");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of entries must be greater than zero.");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The maximum number of bytes must be greater than zero.");
+        }
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Retrieves the value cached for the key if it has not expired.
+     *
+     * @param key the key of the resource
+     * @return The cached value or null if there is no valid entry.
+     */
+    public Object get(final ConfigCacheKey key) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || entry.isExpired(clock.millis())) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.getValue();
+    }
+
+    /**
+     * Retrieves the entry cached for the key, even if it has expired. The lookup is not counted as a hit or a miss.
+     *
+     * @param key the key of the resource
+     * @return The cached entry or null if there is no entry.
+     */
+    public Entry getEntry(final ConfigCacheKey key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Stores the value for the key. Null values are not cached.
+     *
+     * @param key   the key of the resource
+     * @param value the value to store
+     */
+    public void put(final ConfigCacheKey key, final Object value) {
+        put(key, value, null, -1);
+    }
+
+    /**
+     * Stores the value for the key along with the validators the config server returned for it. Null values are not
+     * cached.
+     *
+     * @param key          the key of the resource
+     * @param value        the value to store
+     * @param eTag         the {@code ETag} of the resource or null if there is none
+     * @param lastModified the {@code Last-Modified} date of the resource in milliseconds or -1 if there is none
+     */
+    public void put(final ConfigCacheKey key, final Object value, final String eTag, final long lastModified) {
+        if (value == null) {
+            return;
+        }
+        final long size = estimateSize(value);
+        store(key, new Entry(value, size, clock.millis() + timeToLiveMillis, eTag, lastModified));
+    }
+
+    /**
+     * Marks the entry as valid again for another time to live. Used when the config server reports the resource has
+     * not been modified.
+     *
+     * @param key   the key of the resource
+     * @param entry the entry that was revalidated
+     */
+    public void revalidate(final ConfigCacheKey key, final Entry entry) {
+        store(key, new Entry(entry.getValue(),
+                entry.getSize(),
+                clock.millis() + timeToLiveMillis,
+                entry.getETag(),
+                entry.getLastModified()));
+    }
+
+    private void store(final ConfigCacheKey key, final Entry entry) {
+        final long size = entry.getSize();
+        synchronized (entries) {
+            final Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                estimatedBytes -= previous.getSize();
+            }
+            estimatedBytes += size;
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entry for the key.
+     *
+     * @param key the key of the resource
+     */
+    public void invalidate(final ConfigCacheKey key) {
+        synchronized (entries) {
+            final Entry removed = entries.remove(key);
+            if (removed != null) {
+                estimatedBytes -= removed.getSize();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            estimatedBytes = 0;
+        }
+    }
+
+    /**
+     * Sets how long after an entry expires its value can still be returned while it is revalidated in the background.
+     *
+     * @param staleWhileRevalidate the time after expiry or zero to always wait for the config server
+     */
+    public void setStaleWhileRevalidate(final Duration staleWhileRevalidate) {
+        if (staleWhileRevalidate == null || staleWhileRevalidate.isNegative()) {
+            throw new IllegalArgumentException("The stale-while-revalidate window must be zero or greater.");
+        }
+        this.staleWhileRevalidateMillis = staleWhileRevalidate.toMillis();
+    }
+
+    /**
+     * Retrieves how long after an entry expires its value can still be returned while it is revalidated.
+     *
+     * @return The stale-while-revalidate window.
+     */
+    public Duration getStaleWhileRevalidate() {
+        return Duration.ofMillis(staleWhileRevalidateMillis);
+    }
+
+    /**
+     * Sets how long after an entry expires its value can still be returned when the config server is unable to provide
+     * the resource.
+     *
+     * @param staleIfError the time after expiry or zero to fail when the config server is unable to provide the resource
+     */
+    public void setStaleIfError(final Duration staleIfError) {
+        if (staleIfError == null || staleIfError.isNegative()) {
+            throw new IllegalArgumentException("The stale-if-error window must be zero or greater.");
+        }
+        this.staleIfErrorMillis = staleIfError.toMillis();
+    }
+
+    /**
+     * Retrieves how long after an entry expires its value can still be returned when the config server fails.
+     *
+     * @return The stale-if-error window.
+     */
+    public Duration getStaleIfError() {
+        return Duration.ofMillis(staleIfErrorMillis);
+    }
+
+    /**
+     * Determines if the expired entry can be returned while it is revalidated in the background.
+     *
+     * @param entry the entry retrieved from the cache
+     * @return True if the entry expired within the stale-while-revalidate window.
+     */
+    public boolean isWithinStaleWhileRevalidate(final Entry entry) {
+        return clock.millis() < entry.expiresAt + staleWhileRevalidateMillis;
+    }
+
+    /**
+     * Determines if the expired entry can be returned when the config server is unable to provide the resource.
+     *
+     * @param entry the entry retrieved from the cache
+     * @return True if the entry expired within the stale-if-error window.
+     */
+    public boolean isWithinStaleIfError(final Entry entry) {
+        return clock.millis() < entry.expiresAt + staleIfErrorMillis;
+    }
+
+    /**
+     * Marks the resource as being revalidated in the background, so only one revalidation is in flight at a time.
+     *
+     * @param key the key of the resource
+     * @return True if no other revalidation of the resource is in flight and the caller must revalidate it.
+     */
+    public boolean tryStartRefresh(final ConfigCacheKey key) {
+        return refreshing.add(key);
+    }
+
+    /**
+     * Marks the background revalidation of the resource as complete.
+     *
+     * @param key the key of the resource
+     */
+    public void finishRefresh(final ConfigCacheKey key) {
+        refreshing.remove(key);
+    }
+
+    /**
+     * Retrieves the number of entries in the cache, including expired entries that have not been evicted yet.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Retrieves the estimated number of bytes held by the cache.
+     *
+     * @return The estimated number of bytes.
+     */
+    public long getEstimatedBytes() {
+        synchronized (entries) {
+            return estimatedBytes;
+        }
+    }
+
+    /**
+     * Retrieves the number of lookups that returned a cached value.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Retrieves the number of lookups that did not return a cached value.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Retrieves the number of entries evicted to stay within the maximum entries and bytes.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<ConfigCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || estimatedBytes > maxBytes) && iterator.hasNext()) {
+            final Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            estimatedBytes -= eldest.getSize();
+            evictionCount.increment();
+        }
+    }
+
+    static Entry createEntry(final Object value, final String eTag, final long lastModified) {
+        return new Entry(value, estimateSize(value), 0, eTag, lastModified);
+    }
+
+    static long estimateSize(final Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() * 2L;
+        }
+        return 0;
+    }
+
+    /**
+     * A cached value and the validators of the resource it was retrieved from.
+     */
+    public static final class Entry {
+        private final Object value;
+        private final long size;
+        private final long expiresAt;
+        private final String eTag;
+        private final long lastModified;
+
+        private Entry(final Object value,
+                      final long size,
+                      final long expiresAt,
+                      final String eTag,
+                      final long lastModified) {
+            this.value = value;
+            this.size = size;
+            this.expiresAt = expiresAt;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Retrieves the cached value.
+         *
+         * @return The cached value.
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * Retrieves the {@code ETag} of the resource.
+         *
+         * @return The ETag or null if the config server did not return one.
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Retrieves the {@code Last-Modified} date of the resource.
+         *
+         * @return The date in milliseconds or -1 if the config server did not return one.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Determines if the entry has validators that can be used to revalidate the resource.
+         *
+         * @return True if the entry has an ETag or Last-Modified date.
+         */
+        public boolean hasValidators() {
+            return eTag != null || lastModified >= 0;
+        }
+
+        private long getSize() {
+            return size;
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import java.util.Objects;
+
+/**
+ * Identifies a resource retrieved from the config server. Two keys are equal when they were requested for the same
+ * application, profile, label, directory, file and target type.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class ConfigCacheKey {
+    private final String name;
+    private final String profile;
+    private final String label;
+    private final String directory;
+    private final String file;
+    private final Class<?> classType;
+    private final int hashCode;
+
+    /**
+     * Creates a new cache key.
+     *
+     * @param name      the application name
+     * @param profile   the profile of the application
+     * @param label     the label (GIT branch) or null when the config server's default label is used
+     * @param directory the directory of the file or null when the file is at the root
+     * @param file      the name of the file
+     * @param classType the class type the file is converted to
+     */
+    public ConfigCacheKey(final String name,
+                          final String profile,
+                          final String label,
+                          final String directory,
+                          final String file,
+                          final Class<?> classType) {
+        this.name = name;
+        this.profile = profile;
+        this.label = label;
+        this.directory = directory;
+        this.file = file;
+        this.classType = classType;
+        this.hashCode = Objects.hash(name, profile, label, directory, file, classType);
+    }
+
+    /**
+     * Retrieves the application name.
+     *
+     * @return The application name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the profile of the application.
+     *
+     * @return The profile.
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * Retrieves the label.
+     *
+     * @return The label or null if the default label is used.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Retrieves the directory of the file.
+     *
+     * @return The directory or null if the file is at the root.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retrieves the name of the file.
+     *
+     * @return The name of the file.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the class type the file is converted to.
+     *
+     * @return The class type.
+     */
+    public Class<?> getClassType() {
+        return classType;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConfigCacheKey)) {
+            return false;
+        }
+        final ConfigCacheKey that = (ConfigCacheKey) o;
+        return Objects.equals(name, that.name)
+                && Objects.equals(profile, that.profile)
+                && Objects.equals(label, that.label)
+                && Objects.equals(directory, that.directory)
+                && Objects.equals(file, that.file)
+                && Objects.equals(classType, that.classType);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return name + "/" + profile + "/" + label + "/" + directory + "/" + file + " (" + classType + ")";
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * Persistent cache of files retrieved from the config server, kept in a local directory so the files survive a restart
+ * of the application and can be served when the config server is unavailable.
+ * <p>
+ * Files are stored at {@code <directory>/<name>/<profile>/<label>/<path>/<file>} with a {@code .meta} file alongside
+ * holding the {@code ETag} and {@code Last-Modified} validators. Both are written to a temporary file first and moved
+ * into place, so a reader never sees a partially written file.
+ * <p>
+ * Only {@code String} and {@code byte[]} values are stored since they are the only types that can be recreated from
+ * the bytes of a file. Strings are stored as UTF-8. Failing to read or write the cache is not an error, the file is
+ * retrieved from the config server instead.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class ConfigDiskCache {
+    private static final String DEFAULT_LABEL = "~default";
+    private static final String SUFFIX_STRING = ".string";
+    private static final String SUFFIX_BYTES = ".bytes";
+    private static final String SUFFIX_META = ".meta";
+    private static final String SUFFIX_TEMPORARY = ".tmp";
+    private static final String PROPERTY_ETAG = "etag";
+    private static final String PROPERTY_LAST_MODIFIED = "lastModified";
+
+    private final Path directory;
+
+    /**
+     * Creates a disk cache that stores files in the specified directory. The directory is created when the first file
+     * is stored.
+     *
+     * @param directory the directory to store the files in
+     */
+    public ConfigDiskCache(final Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("The directory of the disk cache must be specified.");
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Retrieves the directory the files are stored in.
+     *
+     * @return The directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Determines if values of the class type can be stored.
+     *
+     * @param classType the class type the file is converted to
+     * @return True if the class type is {@code String} or {@code byte[]}.
+     */
+    public boolean supports(final Class<?> classType) {
+        return classType == String.class || classType == byte[].class;
+    }
+
+    /**
+     * Retrieves the stored file for the key.
+     *
+     * @param key the key of the resource
+     * @return The entry of the file or null if there is no file stored or it is unable to be read.
+     */
+    public ConfigCache.Entry get(final ConfigCacheKey key) {
+        if (!supports(key.getClassType())) {
+            return null;
+        }
+        final Path file = resolve(key);
+        try {
+            final byte[] bytes = Files.readAllBytes(file);
+            final Properties meta = readMeta(metaFile(file));
+            final Object value;
+            if (key.getClassType() == String.class) {
+                value = new String(bytes, StandardCharsets.UTF_8);
+            } else {
+                value = bytes;
+            }
+            return ConfigCache.createEntry(value,
+                    meta.getProperty(PROPERTY_ETAG),
+                    Long.parseLong(meta.getProperty(PROPERTY_LAST_MODIFIED, "-1")));
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the file for the key along with the validators the config server returned for it. Null values and values
+     * of unsupported types are not stored.
+     *
+     * @param key          the key of the resource
+     * @param value        the value to store
+     * @param eTag         the {@code ETag} of the resource or null if there is none
+     * @param lastModified the {@code Last-Modified} date of the resource in milliseconds or -1 if there is none
+     */
+    public void put(final ConfigCacheKey key, final Object value, final String eTag, final long lastModified) {
+        if (value == null || !supports(key.getClassType())) {
+            return;
+        }
+        final byte[] bytes;
+        if (value instanceof String) {
+            bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+        } else {
+            bytes = (byte[]) value;
+        }
+        final Properties meta = new Properties();
+        if (eTag != null) {
+            meta.setProperty(PROPERTY_ETAG, eTag);
+        }
+        meta.setProperty(PROPERTY_LAST_MODIFIED, Long.toString(lastModified));
+        final Path file = resolve(key);
+        try {
+            Files.createDirectories(file.getParent());
+            //
+            // Write the file before its validators. Until the validators are written, the new file may briefly be
+            // paired with the old validators, which only causes a full fetch rather than serving an outdated file
+            //
+            writeAtomically(file, bytes);
+            writeMetaAtomically(metaFile(file), meta);
+        } catch (IOException e) {
+            //
+            // The cache is best effort, the file is retrieved from the config server next time
+            //
+        }
+    }
+
+    /**
+     * Removes the stored file for the key.
+     *
+     * @param key the key of the resource
+     */
+    public void invalidate(final ConfigCacheKey key) {
+        if (!supports(key.getClassType())) {
+            return;
+        }
+        final Path file = resolve(key);
+        try {
+            Files.deleteIfExists(metaFile(file));
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            //
+            // A file that is unable to be deleted is replaced when the resource is next retrieved
+            //
+        }
+    }
+
+    Path resolve(final ConfigCacheKey key) {
+        final String label = key.getLabel() == null ? DEFAULT_LABEL : encode(key.getLabel());
+        Path path = directory.resolve(encode(key.getName())).resolve(encode(key.getProfile())).resolve(label);
+        if (key.getDirectory() != null) {
+            for (final String segment : key.getDirectory().split("/")) {
+                if (!segment.isEmpty()) {
+                    path = path.resolve(encode(segment));
+                }
+            }
+        }
+        final String suffix = key.getClassType() == String.class ? SUFFIX_STRING : SUFFIX_BYTES;
+        return path.resolve(encode(key.getFile()) + suffix);
+    }
+
+    private static String encode(final String segment) {
+        //
+        // Encode separators and leading dots so a segment is unable to leave its directory
+        //
+        final String encoded = URLEncoder.encode(segment, StandardCharsets.UTF_8);
+        if (encoded.startsWith(".")) {
+            return "%2E" + encoded.substring(1);
+        }
+        return encoded;
+    }
+
+    private static Path metaFile(final Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX_META);
+    }
+
+    private static Properties readMeta(final Path file) throws IOException {
+        final Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            meta.load(reader);
+        } catch (NoSuchFileException e) {
+            //
+            // The file was stored without validators or its validators are still being written
+            //
+        }
+        return meta;
+    }
+
+    private static void writeAtomically(final Path file, final byte[] bytes) throws IOException {
+        final Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), SUFFIX_TEMPORARY);
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            move(temporaryFile, file);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void writeMetaAtomically(final Path file, final Properties meta) throws IOException {
+        final Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), SUFFIX_TEMPORARY);
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                meta.store(writer, null);
+            }
+            move(temporaryFile, file);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of values decrypted by the config server, keyed by the encrypted value, application name and
+ * profile. Entries expire after the configured time to live and the least recently used entries are evicted once the
+ * maximum number of entries is exceeded.
+ * <p>
+ * Decrypted values are held as {@code char[]} so they can be cleared. Whenever an entry leaves the cache -- it
+ * expires, is evicted, is replaced or is invalidated -- its characters are overwritten. Callers receive a copy of the
+ * characters and should clear it once it is no longer needed.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class DecryptCache {
+    /**
+     * The default time an entry is valid for.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final long timeToLiveMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a cache using the default time to live and maximum entries.
+     */
+    public DecryptCache() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param timeToLive the time an entry is valid for after it is stored
+     * @param maxEntries the maximum number of entries to keep
+     */
+    public DecryptCache(final Duration timeToLive, final int maxEntries) {
+        this(timeToLive, maxEntries, Clock.systemUTC());
+    }
+
+    DecryptCache(final Duration timeToLive, final int maxEntries, final Clock clock) {
+        if (timeToLive == null || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("The time to live must be zero or greater.");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of entries must be greater than zero.");
+        }
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Retrieves the decrypted value cached for the encrypted value if it has not expired.
+     *
+     * @param cipherText      the encrypted value
+     * @param applicationName the application name the value was decrypted for
+     * @param profile         the profile the value was decrypted for
+     * @return A copy of the decrypted value or null if there is no valid entry.
+     */
+    public char[] get(final String cipherText, final String applicationName, final String profile) {
+        final Key key = new Key(cipherText, applicationName, profile);
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (entry.isExpired(clock.millis())) {
+                entries.remove(key);
+                entry.clear();
+                evictionCount.increment();
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.plainText.clone();
+        }
+    }
+
+    /**
+     * Stores the decrypted value for the encrypted value. The cache takes ownership of the array and clears it when
+     * the entry leaves the cache, so the caller must not modify it afterwards.
+     *
+     * @param cipherText      the encrypted value
+     * @param applicationName the application name the value was decrypted for
+     * @param profile         the profile the value was decrypted for
+     * @param plainText       the decrypted value
+     */
+    public void put(final String cipherText, final String applicationName, final String profile, final char[] plainText) {
+        if (cipherText == null || plainText == null) {
+            return;
+        }
+        final Entry entry = new Entry(plainText, clock.millis() + timeToLiveMillis);
+        synchronized (entries) {
+            final Entry previous = entries.put(new Key(cipherText, applicationName, profile), entry);
+            if (previous != null && previous.plainText != plainText) {
+                previous.clear();
+            }
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entry for the encrypted value and clears its decrypted value.
+     *
+     * @param cipherText      the encrypted value
+     * @param applicationName the application name the value was decrypted for
+     * @param profile         the profile the value was decrypted for
+     */
+    public void invalidate(final String cipherText, final String applicationName, final String profile) {
+        synchronized (entries) {
+            final Entry removed = entries.remove(new Key(cipherText, applicationName, profile));
+            if (removed != null) {
+                removed.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries and clears their decrypted values.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (final Entry entry : entries.values()) {
+                entry.clear();
+            }
+            entries.clear();
+        }
+    }
+
+    /**
+     * Retrieves the number of entries in the cache, including expired entries that have not been evicted yet.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Retrieves the number of lookups that returned a cached value.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Retrieves the number of lookups that did not return a cached value.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Retrieves the number of entries evicted because they expired or to stay within the maximum entries.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            final Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            eldest.clear();
+            evictionCount.increment();
+        }
+    }
+
+    private static final class Entry {
+        private final char[] plainText;
+        private final long expiresAt;
+
+        private Entry(final char[] plainText, final long expiresAt) {
+            this.plainText = plainText;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+
+        private void clear() {
+            Arrays.fill(plainText, '\0');
+        }
+    }
+
+    private static final class Key {
+        private final String cipherText;
+        private final String applicationName;
+        private final String profile;
+        private final int hashCode;
+
+        private Key(final String cipherText, final String applicationName, final String profile) {
+            this.cipherText = cipherText;
+            this.applicationName = applicationName;
+            this.profile = profile;
+            this.hashCode = Objects.hash(cipherText, applicationName, profile);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return Objects.equals(cipherText, that.cipherText)
+                    && Objects.equals(applicationName, that.applicationName)
+                    && Objects.equals(profile, that.profile);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
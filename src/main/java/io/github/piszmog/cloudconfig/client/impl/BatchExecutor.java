@@ -0,0 +1,126 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performs an operation on many values concurrently with a bounded number of operations in flight. Duplicate values
+ * are only operated on once.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class BatchExecutor {
+    private final ConfigTemplate configTemplate;
+    private final int parallelism;
+
+    /**
+     * Creates a new batch executor.
+     *
+     * @param configTemplate the template the operations are performed asynchronously with
+     * @param parallelism    the maximum number of operations in flight
+     */
+    BatchExecutor(final ConfigTemplate configTemplate, final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero.");
+        }
+        this.configTemplate = configTemplate;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Performs the operation on every value. When the maximum number of operations are in flight, the calling thread
+     * waits until one completes before starting the next.
+     *
+     * @param values    the values to operate on
+     * @param operation the operation to perform on each value
+     * @return The results in the same order as the values.
+     * @throws ConfigException when the calling thread is interrupted while waiting
+     */
+    List<BatchResult> execute(final Collection<String> values, final Operation operation) throws ConfigException {
+        return execute(values, operation, null);
+    }
+
+    /**
+     * Performs the operation on every value. When the maximum number of operations are in flight, the calling thread
+     * waits until one completes before starting the next.
+     *
+     * @param values    the values to operate on
+     * @param operation the operation to perform on each value
+     * @param listener  the listener notified as each distinct value completes or null to not be notified
+     * @return The results in the same order as the values.
+     * @throws ConfigException when the calling thread is interrupted while waiting
+     */
+    List<BatchResult> execute(final Collection<String> values,
+                              final Operation operation,
+                              final BatchProgressListener listener) throws ConfigException {
+        final Set<String> distinctValues = new LinkedHashSet<>(values);
+        final int total = distinctValues.size();
+        final AtomicInteger completed = new AtomicInteger();
+        final Map<String, CompletableFuture<BatchResult>> futures = new HashMap<>();
+        final Semaphore permits = new Semaphore(parallelism);
+        for (final String value : distinctValues) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConfigException("Interrupted while waiting to operate on the remaining values.", e);
+            }
+            final CompletableFuture<BatchResult> future = configTemplate.executeAsync(() -> operation.apply(value))
+                    .handle((result, error) -> {
+                        permits.release();
+                        final BatchResult batchResult = toResult(value, result, error);
+                        if (listener != null) {
+                            listener.onProgress(batchResult, completed.incrementAndGet(), total);
+                        }
+                        return batchResult;
+                    });
+            futures.put(value, future);
+        }
+        final List<BatchResult> results = new ArrayList<>(values.size());
+        for (final String value : values) {
+            results.add(futures.get(value).join());
+        }
+        return results;
+    }
+
+    private static BatchResult toResult(final String value, final String result, final Throwable error) {
+        if (error == null) {
+            return BatchResult.success(value, result);
+        }
+        Throwable cause = error;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+            return BatchResult.failure(value, (Exception) cause);
+        }
+        return BatchResult.failure(value, new CompletionException(cause));
+    }
+
+    /**
+     * An operation performed on a single value.
+     */
+    @FunctionalInterface
+    interface Operation {
+        /**
+         * Performs the operation on the value.
+         *
+         * @param value the value to operate on
+         * @return The result of the operation.
+         * @throws ConfigException when an error occurs when operating on the value
+         */
+        String apply(String value) throws ConfigException;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+/**
+ * Listener notified as the values of a batch operation complete.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+@FunctionalInterface
+public interface BatchProgressListener {
+    /**
+     * Invoked when the operation on a distinct value completes. Invoked on the thread that performed the operation.
+     *
+     * @param result    the result of the value
+     * @param completed the number of distinct values completed so far
+     * @param total     the total number of distinct values
+     */
+    void onProgress(BatchResult result, int completed, int total);
+}
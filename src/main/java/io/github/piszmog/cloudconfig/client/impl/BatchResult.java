@@ -0,0 +1,62 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+/**
+ * The result of a single value of a batch operation against the config server.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class BatchResult {
+    private final String input;
+    private final String value;
+    private final Exception error;
+
+    private BatchResult(final String input, final String value, final Exception error) {
+        this.input = input;
+        this.value = value;
+        this.error = error;
+    }
+
+    static BatchResult success(final String input, final String value) {
+        return new BatchResult(input, value, null);
+    }
+
+    static BatchResult failure(final String input, final Exception error) {
+        return new BatchResult(input, null, error);
+    }
+
+    /**
+     * Retrieves the value that was sent to the config server.
+     *
+     * @return The input value.
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * Retrieves the value returned by the config server.
+     *
+     * @return The resulting value or null if the operation failed or the config server returned nothing.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Retrieves the error that occurred when operating on the value.
+     *
+     * @return The error or null if the operation succeeded.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Determines if the operation on the value succeeded.
+     *
+     * @return True if no error occurred.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
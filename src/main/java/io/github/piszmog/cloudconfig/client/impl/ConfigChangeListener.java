@@ -0,0 +1,30 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+
+/**
+ * Listener notified when a resource watched by a {@link ConfigWatcher} changes.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ *
+ * @param <T> the type of the resource
+ */
+@FunctionalInterface
+public interface ConfigChangeListener<T> {
+    /**
+     * Invoked with the first value of the resource and again every time the content of the resource changes.
+     * Invoked on the thread of the watcher.
+     *
+     * @param value the new value of the resource or null if the resource no longer exists
+     */
+    void onChange(T value);
+
+    /**
+     * Invoked when the config server is unable to provide the resource. The watcher keeps watching the resource and
+     * backs off before the next attempt.
+     *
+     * @param e the error that occurred
+     */
+    default void onError(final ConfigException e) {
+    }
+}
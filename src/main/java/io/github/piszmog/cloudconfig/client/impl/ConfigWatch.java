@@ -0,0 +1,122 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A resource watched by a {@link ConfigWatcher}. Cancel the watch to stop checking the resource for changes.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ *
+ * @param <T> the type of the resource
+ */
+public final class ConfigWatch<T> {
+    private final ConfigWatcher watcher;
+    private final Source<T> source;
+    private final ConfigChangeListener<T> listener;
+    private volatile boolean cancelled;
+    private ScheduledFuture<?> scheduledPoll;
+    //
+    // Only accessed by the thread of the watcher
+    //
+    private String eTag;
+    private long lastModified = -1;
+    private Object fingerprint;
+    private long delayMillis;
+
+    ConfigWatch(final ConfigWatcher watcher, final Source<T> source, final ConfigChangeListener<T> listener) {
+        this.watcher = watcher;
+        this.source = source;
+        this.listener = listener;
+    }
+
+    /**
+     * Stops watching the resource. The listener is not notified afterwards, unless it is being notified right now.
+     */
+    public void cancel() {
+        cancelled = true;
+        synchronized (this) {
+            if (scheduledPoll != null) {
+                scheduledPoll.cancel(false);
+            }
+        }
+        watcher.unwatch(this);
+    }
+
+    /**
+     * Determines if the watch has been cancelled.
+     *
+     * @return True if the resource is no longer watched.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    synchronized void setScheduledPoll(final ScheduledFuture<?> scheduledPoll) {
+        this.scheduledPoll = scheduledPoll;
+    }
+
+    Source<T> getSource() {
+        return source;
+    }
+
+    ConfigChangeListener<T> getListener() {
+        return listener;
+    }
+
+    String getETag() {
+        return eTag;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    void setValidators(final String eTag, final long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    Object getFingerprint() {
+        return fingerprint;
+    }
+
+    void setFingerprint(final Object fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    long getDelayMillis() {
+        return delayMillis;
+    }
+
+    void setDelayMillis(final long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Requests the watched resource from the config server.
+     *
+     * @param <T> the type of the resource
+     */
+    interface Source<T> {
+        /**
+         * Requests the resource.
+         *
+         * @param httpHeaders the conditional headers to send or null
+         * @return The response of the config server or null if the resource does not exist.
+         * @throws ConfigException when an error occurs when retrieving the resource
+         */
+        ResponseEntity<T> fetch(HttpHeaders httpHeaders) throws ConfigException;
+
+        /**
+         * Computes the value used to determine if the content of the resource changed.
+         *
+         * @param value the value of the resource
+         * @return The fingerprint of the value.
+         */
+        Object fingerprint(T value);
+    }
+}
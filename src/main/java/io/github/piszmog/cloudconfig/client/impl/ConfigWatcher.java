@@ -0,0 +1,319 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Watches environments and files on the config server and notifies listeners when they change. All watched resources
+ * are checked by a single background thread.
+ * <p>
+ * Each resource is revalidated with the {@code ETag} and {@code Last-Modified} validators of the previous response,
+ * so an unchanged resource is not transferred again when the config server supports conditional requests. Listeners
+ * are only notified when the content of the resource changes. The time between checks grows while a resource is
+ * unchanged or the config server is failing, up to the maximum interval, and returns to the interval once the resource
+ * changes. Every delay is randomized by {@value JITTER_PERCENT}% so watchers started together do not check together.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class ConfigWatcher implements AutoCloseable {
+    /**
+     * The default time between checks of a resource.
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+    /**
+     * The default maximum time between checks of a resource.
+     */
+    public static final Duration DEFAULT_MAX_INTERVAL = Duration.ofMinutes(5);
+
+    private static final int JITTER_PERCENT = 20;
+    private static final double UNCHANGED_MULTIPLIER = 1.5;
+    private static final double ERROR_MULTIPLIER = 2;
+
+    private final EnvironmentConfigClient environmentClient;
+    private final FileConfigClient fileClient;
+    private final long intervalMillis;
+    private final long maxIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final DoubleSupplier random;
+    private final Set<ConfigWatch<?>> watches = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Creates a watcher using the default interval and maximum interval.
+     *
+     * @param configTemplate the config server template
+     */
+    public ConfigWatcher(final ConfigTemplate configTemplate) {
+        this(configTemplate, DEFAULT_INTERVAL, DEFAULT_MAX_INTERVAL);
+    }
+
+    /**
+     * Creates a watcher.
+     *
+     * @param configTemplate the config server template
+     * @param interval       the time between checks of a resource that recently changed
+     * @param maxInterval    the maximum time between checks of a resource
+     */
+    public ConfigWatcher(final ConfigTemplate configTemplate, final Duration interval, final Duration maxInterval) {
+        this(new EnvironmentConfigClient(configTemplate), new FileConfigClient(configTemplate), interval, maxInterval,
+                createScheduler(), () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    ConfigWatcher(final EnvironmentConfigClient environmentClient,
+                  final FileConfigClient fileClient,
+                  final Duration interval,
+                  final Duration maxInterval,
+                  final ScheduledExecutorService scheduler,
+                  final DoubleSupplier random) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("The interval must be greater than zero.");
+        }
+        if (maxInterval == null || maxInterval.compareTo(interval) < 0) {
+            throw new IllegalArgumentException("The maximum interval must not be less than the interval.");
+        }
+        this.environmentClient = environmentClient;
+        this.fileClient = fileClient;
+        this.intervalMillis = interval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.scheduler = scheduler;
+        this.random = random;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "config-client-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Watches the environment of the specified application. The listener is notified with the first snapshot of the
+     * environment and again every time a property is added, removed or changed.
+     *
+     * @param applicationName the application name
+     * @param profile         the profiles of the application, comma separated
+     * @param label           the label (GIT branch) or null to use the config server's default label
+     * @param listener        the listener to notify
+     * @return The watch of the environment.
+     */
+    public ConfigWatch<EnvironmentSnapshot> watch(final String applicationName,
+                                                  final String profile,
+                                                  final String label,
+                                                  final ConfigChangeListener<EnvironmentSnapshot> listener) {
+        return watch(new ConfigWatch.Source<EnvironmentSnapshot>() {
+            @Override
+            public ResponseEntity<EnvironmentSnapshot> fetch(final HttpHeaders httpHeaders) throws ConfigException {
+                final ResponseEntity<Environment> responseEntity = environmentClient.fetchEnvironment(applicationName,
+                        profile, label, httpHeaders);
+                if (responseEntity == null) {
+                    return null;
+                }
+                final EnvironmentSnapshot snapshot;
+                if (responseEntity.getBody() == null) {
+                    snapshot = null;
+                } else {
+                    snapshot = EnvironmentSnapshot.of(responseEntity.getBody());
+                }
+                return new ResponseEntity<>(snapshot, responseEntity.getHeaders(), responseEntity.getStatusCode());
+            }
+
+            @Override
+            public Object fingerprint(final EnvironmentSnapshot value) {
+                return value.getProperties();
+            }
+        }, listener);
+    }
+
+    /**
+     * Watches the file on the specified branch. The listener is notified with the first contents of the file and
+     * again every time the contents change.
+     *
+     * @param fileName      the name of the file to watch
+     * @param branch        the GIT branch of the file
+     * @param directoryPath the directory of the file or null when the file is at the root
+     * @param listener      the listener to notify
+     * @return The watch of the file.
+     */
+    public ConfigWatch<byte[]> watchFileFromBranch(final String fileName,
+                                                   final String branch,
+                                                   final String directoryPath,
+                                                   final ConfigChangeListener<byte[]> listener) {
+        return watch(new FileSource() {
+            @Override
+            public ResponseEntity<byte[]> fetch(final HttpHeaders httpHeaders) throws ConfigException {
+                return fileClient.fetchFileFromBranch(fileName, branch, directoryPath, httpHeaders);
+            }
+        }, listener);
+    }
+
+    /**
+     * Watches the file in the Config Server's default branch. The listener is notified with the first contents of the
+     * file and again every time the contents change.
+     *
+     * @param fileName      the name of the file to watch
+     * @param directoryPath the directory of the file
+     * @param listener      the listener to notify
+     * @return The watch of the file.
+     */
+    public ConfigWatch<byte[]> watchFileFromDefaultBranch(final String fileName,
+                                                          final String directoryPath,
+                                                          final ConfigChangeListener<byte[]> listener) {
+        return watch(new FileSource() {
+            @Override
+            public ResponseEntity<byte[]> fetch(final HttpHeaders httpHeaders) throws ConfigException {
+                return fileClient.fetchFileFromDefaultBranch(fileName, directoryPath, httpHeaders);
+            }
+        }, listener);
+    }
+
+    private <T> ConfigWatch<T> watch(final ConfigWatch.Source<T> source, final ConfigChangeListener<T> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("No listener supplied to notify of changes.");
+        }
+        if (closed) {
+            throw new IllegalStateException("The watcher has been closed.");
+        }
+        final ConfigWatch<T> watch = new ConfigWatch<>(this, source, listener);
+        watch.setDelayMillis(intervalMillis);
+        watches.add(watch);
+        schedule(watch, 0);
+        return watch;
+    }
+
+    /**
+     * Retrieves the number of resources being watched.
+     *
+     * @return The number of watches.
+     */
+    public int getWatchCount() {
+        return watches.size();
+    }
+
+    /**
+     * Cancels all watches and stops the background thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (final ConfigWatch<?> watch : watches) {
+            watch.cancel();
+        }
+        scheduler.shutdownNow();
+    }
+
+    void unwatch(final ConfigWatch<?> watch) {
+        watches.remove(watch);
+    }
+
+    /**
+     * Checks the resource for changes and schedules the next check.
+     *
+     * @param watch the watch of the resource
+     * @param <T>   the type of the resource
+     */
+    <T> void poll(final ConfigWatch<T> watch) {
+        if (watch.isCancelled()) {
+            return;
+        }
+        long delay;
+        try {
+            if (revalidate(watch)) {
+                delay = intervalMillis;
+            } else {
+                delay = grow(watch.getDelayMillis(), UNCHANGED_MULTIPLIER);
+            }
+        } catch (ConfigException e) {
+            delay = grow(watch.getDelayMillis(), ERROR_MULTIPLIER);
+            notifyListener(() -> watch.getListener().onError(e));
+        } catch (RuntimeException e) {
+            //
+            // Server errors are thrown as is by the template, the watch must keep polling regardless
+            //
+            delay = grow(watch.getDelayMillis(), ERROR_MULTIPLIER);
+            final ConfigException exception = new ConfigException("Failed to check the watched resource for changes.", e);
+            notifyListener(() -> watch.getListener().onError(exception));
+        }
+        watch.setDelayMillis(delay);
+        if (!watch.isCancelled() && !closed) {
+            schedule(watch, jitter(delay));
+        }
+    }
+
+    private <T> boolean revalidate(final ConfigWatch<T> watch) throws ConfigException {
+        final ResponseEntity<T> responseEntity = watch.getSource().fetch(
+                FileConfigClient.createConditionalHeaders(watch.getETag(), watch.getLastModified()));
+        if (responseEntity != null && responseEntity.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            return false;
+        }
+        final T value;
+        if (responseEntity == null) {
+            value = null;
+            watch.setValidators(null, -1);
+        } else {
+            value = responseEntity.getBody();
+            watch.setValidators(responseEntity.getHeaders().getETag(), responseEntity.getHeaders().getLastModified());
+        }
+        final Object fingerprint = value == null ? null : watch.getSource().fingerprint(value);
+        if (Objects.equals(fingerprint, watch.getFingerprint())) {
+            return false;
+        }
+        watch.setFingerprint(fingerprint);
+        notifyListener(() -> watch.getListener().onChange(value));
+        return true;
+    }
+
+    private static void notifyListener(final Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException e) {
+            //
+            // A failing listener must not stop the resource from being watched
+            //
+        }
+    }
+
+    private long grow(final long delay, final double multiplier) {
+        return Math.min((long) (delay * multiplier), maxIntervalMillis);
+    }
+
+    long jitter(final long delay) {
+        final double factor = 1 + (random.getAsDouble() * 2 - 1) * JITTER_PERCENT / 100;
+        return Math.round(delay * factor);
+    }
+
+    private void schedule(final ConfigWatch<?> watch, final long delay) {
+        watch.setScheduledPoll(scheduler.schedule(() -> poll(watch), delay, TimeUnit.MILLISECONDS));
+    }
+
+    private abstract static class FileSource implements ConfigWatch.Source<byte[]> {
+        @Override
+        public Object fingerprint(final byte[] value) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+            } catch (NoSuchAlgorithmException e) {
+                //
+                // Every JVM is required to support SHA-256
+                //
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.cache.DecryptCache;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Handles decryption using the config server.
  * <p>
@@ -11,8 +18,44 @@ import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 public class DecryptConfigClient extends SecurityConfigClient {
     private static final String PATH_DECRYPT = "/decrypt/{name}/{profiles}";
 
+    private final DecryptCache cache;
+
     public DecryptConfigClient(final ConfigTemplate configTemplate) {
+        this(configTemplate, null);
+    }
+
+    /**
+     * Creates a new decrypt client that caches the decrypted values. Values found in the cache are returned without
+     * calling the config server.
+     *
+     * @param configTemplate the config server template
+     * @param cache          the cache of decrypted values or null to always call the config server
+     */
+    public DecryptConfigClient(final ConfigTemplate configTemplate, final DecryptCache cache) {
         super(configTemplate);
+        this.cache = cache;
+    }
+
+    @Override
+    String encryptOrDecrypt(final String path, final String value, final String applicationName, final String profile) throws ConfigException {
+        if (cache == null || value == null) {
+            return super.encryptOrDecrypt(path, value, applicationName, profile);
+        }
+        final String name = resolveApplicationName(applicationName);
+        final String applicationProfile = resolveProfile(profile);
+        final char[] cached = cache.get(value, name, applicationProfile);
+        if (cached != null) {
+            try {
+                return new String(cached);
+            } finally {
+                Arrays.fill(cached, '\0');
+            }
+        }
+        final String decrypted = super.encryptOrDecrypt(path, value, name, applicationProfile);
+        if (decrypted != null) {
+            cache.put(value, name, applicationProfile, decrypted.toCharArray());
+        }
+        return decrypted;
     }
 
     /**
@@ -51,4 +94,91 @@ public class DecryptConfigClient extends SecurityConfigClient {
     public String decrypt(final String value, final String applicationName, final String profile) throws ConfigException {
         return encryptOrDecrypt(PATH_DECRYPT, value, applicationName, profile);
     }
+
+    /**
+     * Decrypts the provided values concurrently by using the Config Server's Decryption. At most
+     * {@code DEFAULT_BATCH_PARALLELISM} requests are in flight at once and duplicate values are only decrypted once.
+     *
+     * @param values the values to decrypt
+     * @return The results in the same order as the values. Each result holds either the decrypted value or the error
+     * that occurred when decrypting it.
+     * @throws ConfigException when interrupted while waiting to decrypt the remaining values
+     */
+    public List<BatchResult> decryptAll(final Collection<String> values) throws ConfigException {
+        return decryptAll(values, configTemplate.getName(), configTemplate.getProfile(), DEFAULT_BATCH_PARALLELISM);
+    }
+
+    /**
+     * Decrypts the provided values concurrently by using the Config Server's Decryption for the specified application
+     * and profile. Duplicate values are only decrypted once.
+     *
+     * @param values          the values to decrypt
+     * @param applicationName the application name
+     * @param profile         the profile of the application
+     * @param parallelism     the maximum number of requests in flight
+     * @return The results in the same order as the values. Each result holds either the decrypted value or the error
+     * that occurred when decrypting it.
+     * @throws ConfigException when interrupted while waiting to decrypt the remaining values
+     */
+    public List<BatchResult> decryptAll(final Collection<String> values,
+                                        final String applicationName,
+                                        final String profile,
+                                        final int parallelism) throws ConfigException {
+        return encryptOrDecryptAll(PATH_DECRYPT, values, applicationName, profile, parallelism);
+    }
+
+    /**
+     * Decrypts the values of the provided map concurrently by using the Config Server's Decryption. At most
+     * {@code DEFAULT_BATCH_PARALLELISM} requests are in flight at once and duplicate values are only decrypted once.
+     *
+     * @param values the values to decrypt, keyed by name -- e.g. the property name
+     * @return The results keyed by the same names and in the same iteration order as the values.
+     * @throws ConfigException when interrupted while waiting to decrypt the remaining values
+     */
+    public Map<String, BatchResult> decryptAll(final Map<String, String> values) throws ConfigException {
+        return decryptAll(values, configTemplate.getName(), configTemplate.getProfile(), DEFAULT_BATCH_PARALLELISM);
+    }
+
+    /**
+     * Decrypts the values of the provided map concurrently by using the Config Server's Decryption for the specified
+     * application and profile. Duplicate values are only decrypted once.
+     *
+     * @param values          the values to decrypt, keyed by name -- e.g. the property name
+     * @param applicationName the application name
+     * @param profile         the profile of the application
+     * @param parallelism     the maximum number of requests in flight
+     * @return The results keyed by the same names and in the same iteration order as the values.
+     * @throws ConfigException when interrupted while waiting to decrypt the remaining values
+     */
+    public Map<String, BatchResult> decryptAll(final Map<String, String> values,
+                                               final String applicationName,
+                                               final String profile,
+                                               final int parallelism) throws ConfigException {
+        return encryptOrDecryptAll(PATH_DECRYPT, values, applicationName, profile, parallelism);
+    }
+
+    /**
+     * Decrypts the provided value by using the Config Server's Decryption without blocking the calling thread.
+     *
+     * @param value the value to decrypt
+     * @return The future of the decrypted value. The future completes exceptionally with a {@link ConfigException}
+     * when an error occurs when decrypting the value.
+     */
+    public CompletableFuture<String> decryptAsync(final String value) {
+        return configTemplate.executeAsync(() -> decrypt(value));
+    }
+
+    /**
+     * Decrypts the provided value by using the Config Server's Decryption for the specified application and profile
+     * without blocking the calling thread.
+     *
+     * @param value           the value to decrypt
+     * @param applicationName the application name
+     * @param profile         the profile of the application
+     * @return The future of the decrypted value. The future completes exceptionally with a {@link ConfigException}
+     * when an error occurs when decrypting the value.
+     */
+    public CompletableFuture<String> decryptAsync(final String value, final String applicationName, final String profile) {
+        return configTemplate.executeAsync(() -> decrypt(value, applicationName, profile));
+    }
 }
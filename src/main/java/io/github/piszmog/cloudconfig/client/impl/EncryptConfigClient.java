@@ -2,9 +2,16 @@ package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Handles encryption using the config server.
  * <p>
@@ -14,8 +21,27 @@ public class EncryptConfigClient extends SecurityConfigClient {
     private static final String PATH_ENCRYPT_STATUS = "/encrypt/status";
     private static final String PATH_ENCRYPT = "/encrypt/{name}/{profiles}";
 
+    private final PublicKeyClient publicKeyClient;
+    private final ConcurrentMap<String, RsaEncryptor> encryptors = new ConcurrentHashMap<>();
+
     public EncryptConfigClient(final ConfigTemplate configTemplate) {
+        this(configTemplate, false);
+    }
+
+    /**
+     * Creates a new encrypt client.
+     * <p>
+     * When local encryption is enabled, values are encrypted with the Config Server's RSA public key rather than by
+     * the Config Server. The public key is retrieved once per application and profile and the resulting cipher text
+     * has the same format as the Config Server's RSA encryptor. Local encryption requires the Config Server to use an
+     * RSA key with the default algorithm and salt.
+     *
+     * @param configTemplate  the template used to call the config server
+     * @param localEncryption true to encrypt locally with the public key
+     */
+    public EncryptConfigClient(final ConfigTemplate configTemplate, final boolean localEncryption) {
         super(configTemplate);
+        this.publicKeyClient = localEncryption ? new PublicKeyClient(configTemplate) : null;
     }
 
     /**
@@ -68,6 +94,96 @@ public class EncryptConfigClient extends SecurityConfigClient {
      * @throws ConfigException when an error occurs when encrypting the value
      */
     public String encrypt(final String value, final String applicationName, final String profile) throws ConfigException {
-        return encryptOrDecrypt(PATH_ENCRYPT, value, applicationName, profile);
+        if (publicKeyClient == null) {
+            return encryptOrDecrypt(PATH_ENCRYPT, value, applicationName, profile);
+        }
+        return getEncryptor(applicationName, profile).encrypt(value);
+    }
+
+    /**
+     * Removes the cached public keys used for local encryption. The public keys are retrieved again on the next
+     * encryption -- e.g. after the Config Server's key has been rotated.
+     */
+    public void clearPublicKeys() {
+        encryptors.clear();
+    }
+
+    private RsaEncryptor getEncryptor(final String applicationName, final String profile) throws ConfigException {
+        final String name = StringUtils.defaultIfBlank(applicationName, DEFAULT_APPLICATION);
+        final String applicationProfile = StringUtils.defaultIfBlank(profile, DEFAULT_PROFILE);
+        final String key = name + "/" + applicationProfile;
+        RsaEncryptor encryptor = encryptors.get(key);
+        if (encryptor == null) {
+            final String publicKey = publicKeyClient.getPublicKey(name, applicationProfile);
+            if (StringUtils.isBlank(publicKey)) {
+                throw new ConfigException("No public key available for " + key + " to encrypt with.");
+            }
+            encryptor = new RsaEncryptor(RsaEncryptor.parsePublicKey(publicKey));
+            encryptors.put(key, encryptor);
+        }
+        return encryptor;
+    }
+
+    /**
+     * Encrypts the provided values concurrently by using the Config Server's Encryption. At most
+     * {@code DEFAULT_BATCH_PARALLELISM} requests are in flight at once and duplicate values are only encrypted once.
+     *
+     * @param values the values to encrypt
+     * @return The results in the same order as the values. Each result holds either the encrypted value or the error
+     * that occurred when encrypting it.
+     * @throws ConfigException when interrupted while waiting to encrypt the remaining values
+     */
+    public List<BatchResult> encryptAll(final Collection<String> values) throws ConfigException {
+        return encryptAll(values, configTemplate.getName(), configTemplate.getProfile(), DEFAULT_BATCH_PARALLELISM, null);
+    }
+
+    /**
+     * Encrypts the provided values concurrently by using the Config Server's Encryption for the specified application
+     * and profile. Duplicate values are only encrypted once.
+     * <p>
+     * When the maximum number of requests are in flight, the calling thread waits for one to complete before sending
+     * the next value, so values are never queued faster than the config server can encrypt them.
+     *
+     * @param values          the values to encrypt
+     * @param applicationName the application name
+     * @param profile         the profile of the application
+     * @param parallelism     the maximum number of requests in flight
+     * @param listener        the listener notified as each distinct value is encrypted or null to not be notified
+     * @return The results in the same order as the values. Each result holds either the encrypted value or the error
+     * that occurred when encrypting it.
+     * @throws ConfigException when interrupted while waiting to encrypt the remaining values
+     */
+    public List<BatchResult> encryptAll(final Collection<String> values,
+                                        final String applicationName,
+                                        final String profile,
+                                        final int parallelism,
+                                        final BatchProgressListener listener) throws ConfigException {
+        return new BatchExecutor(configTemplate, parallelism)
+                .execute(values, value -> encrypt(value, applicationName, profile), listener);
+    }
+
+    /**
+     * Encrypts the provided value by using the Config Server's Encryption without blocking the calling thread.
+     *
+     * @param value the value to encrypt
+     * @return The future of the encrypted value. The future completes exceptionally with a {@link ConfigException}
+     * when an error occurs when encrypting the value.
+     */
+    public CompletableFuture<String> encryptAsync(final String value) {
+        return configTemplate.executeAsync(() -> encrypt(value));
+    }
+
+    /**
+     * Encrypts the provided value by using the Config Server's Encryption for the specified application and profile
+     * without blocking the calling thread.
+     *
+     * @param value           the value to encrypt
+     * @param applicationName the application name
+     * @param profile         the profile of the application
+     * @return The future of the encrypted value. The future completes exceptionally with a {@link ConfigException}
+     * when an error occurs when encrypting the value.
+     */
+    public CompletableFuture<String> encryptAsync(final String value, final String applicationName, final String profile) {
+        return configTemplate.executeAsync(() -> encrypt(value, applicationName, profile));
     }
 }
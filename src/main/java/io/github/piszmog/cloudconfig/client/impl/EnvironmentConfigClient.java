@@ -0,0 +1,178 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.cache.ConfigCache;
+import io.github.piszmog.cloudconfig.cache.ConfigCacheKey;
+import io.github.piszmog.cloudconfig.client.ConfigClient;
+import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handles retrieving the environment of an application from the config server. The environment is returned as an
+ * {@link EnvironmentSnapshot} with the property sources already flattened, so properties are read with map lookups
+ * rather than by walking the property sources.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class EnvironmentConfigClient extends ConfigClient {
+    private static final String PATH_ENVIRONMENT = "/{name}/{profile}";
+    private static final String PATH_ENVIRONMENT_LABEL = "/{name}/{profile}/{label}";
+    private static final String DEFAULT_APPLICATION = "application";
+    private static final String DEFAULT_PROFILE = "default";
+
+    private final ConfigCache cache;
+
+    /**
+     * Creates a new environment config client.
+     *
+     * @param configTemplate the config server template
+     */
+    public EnvironmentConfigClient(final ConfigTemplate configTemplate) {
+        this(configTemplate, null);
+    }
+
+    /**
+     * Creates a new environment config client that caches the retrieved environments. Environments found in the cache
+     * are returned without calling the config server.
+     *
+     * @param configTemplate the config server template
+     * @param cache          the cache of retrieved environments or null to always call the config server
+     */
+    public EnvironmentConfigClient(final ConfigTemplate configTemplate, final ConfigCache cache) {
+        super(configTemplate);
+        this.cache = cache;
+    }
+
+    /**
+     * Retrieves the environment of the application name, profile and label of the config template.
+     *
+     * @return The snapshot of the environment or null if the environment does not exist.
+     * @throws ConfigException when an error occurs when retrieving the environment
+     */
+    public EnvironmentSnapshot getEnvironment() throws ConfigException {
+        return getEnvironment(configTemplate.getName(), configTemplate.getProfile(), configTemplate.getLabel());
+    }
+
+    /**
+     * Retrieves the environment of the specified application. Blank values fall back to
+     * {@value DEFAULT_APPLICATION}, {@value DEFAULT_PROFILE} and the config server's default label.
+     *
+     * @param applicationName the application name
+     * @param profile         the profiles of the application, comma separated
+     * @param label           the label (GIT branch) or null to use the config server's default label
+     * @return The snapshot of the environment or null if the environment does not exist.
+     * @throws ConfigException when an error occurs when retrieving the environment
+     */
+    public EnvironmentSnapshot getEnvironment(final String applicationName, final String profile, final String label) throws ConfigException {
+        if (cache == null) {
+            final ResponseEntity<Environment> responseEntity = fetchEnvironment(applicationName, profile, label, null);
+            if (responseEntity == null || responseEntity.getBody() == null) {
+                return null;
+            }
+            return EnvironmentSnapshot.of(responseEntity.getBody());
+        }
+        final ConfigCacheKey key = new ConfigCacheKey(StringUtils.defaultIfBlank(applicationName, DEFAULT_APPLICATION),
+                StringUtils.defaultIfBlank(profile, DEFAULT_PROFILE),
+                StringUtils.defaultIfBlank(label, null),
+                null,
+                null,
+                EnvironmentSnapshot.class);
+        final Object cached = cache.get(key);
+        if (cached != null) {
+            return (EnvironmentSnapshot) cached;
+        }
+        final ConfigCache.Entry staleEntry = cache.getEntry(key);
+        //
+        // Return the expired environment right away and revalidate it in the background
+        //
+        if (staleEntry != null && cache.isWithinStaleWhileRevalidate(staleEntry)) {
+            if (cache.tryStartRefresh(key)) {
+                configTemplate.executeAsync(() -> fetchAndCache(key, staleEntry))
+                        .whenComplete((snapshot, e) -> cache.finishRefresh(key));
+            }
+            return (EnvironmentSnapshot) staleEntry.getValue();
+        }
+        return fetchAndCache(key, staleEntry);
+    }
+
+    private EnvironmentSnapshot fetchAndCache(final ConfigCacheKey key, final ConfigCache.Entry staleEntry) throws ConfigException {
+        final ResponseEntity<Environment> responseEntity;
+        try {
+            responseEntity = fetchEnvironment(key.getName(), key.getProfile(), key.getLabel(),
+                    FileConfigClient.createConditionalHeaders(staleEntry));
+        } catch (ConfigException | RestClientException e) {
+            //
+            // The config server is unreachable or erroring, fall back to the expired copy
+            //
+            if (FileConfigClient.isServerFailure(e) && staleEntry != null && cache.isWithinStaleIfError(staleEntry)) {
+                return (EnvironmentSnapshot) staleEntry.getValue();
+            }
+            throw e;
+        }
+        if (responseEntity == null) {
+            cache.invalidate(key);
+            return null;
+        }
+        //
+        // The environment has not changed since it was cached
+        //
+        if (staleEntry != null && responseEntity.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            cache.revalidate(key, staleEntry);
+            return (EnvironmentSnapshot) staleEntry.getValue();
+        }
+        if (responseEntity.getBody() == null) {
+            return null;
+        }
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(responseEntity.getBody());
+        cache.put(key, snapshot, responseEntity.getHeaders().getETag(), responseEntity.getHeaders().getLastModified());
+        return snapshot;
+    }
+
+    /**
+     * Requests the environment of the specified application from the config server.
+     *
+     * @param applicationName the application name
+     * @param profile         the profiles of the application, comma separated
+     * @param label           the label (GIT branch) or null to use the config server's default label
+     * @param httpHeaders     the headers to send, such as conditional headers, or null
+     * @return The response of the config server or null if the environment does not exist.
+     * @throws ConfigException when an error occurs when retrieving the environment
+     */
+    ResponseEntity<Environment> fetchEnvironment(final String applicationName,
+                                                 final String profile,
+                                                 final String label,
+                                                 final HttpHeaders httpHeaders) throws ConfigException {
+        final String name = StringUtils.defaultIfBlank(applicationName, DEFAULT_APPLICATION);
+        final String applicationProfile = StringUtils.defaultIfBlank(profile, DEFAULT_PROFILE);
+        if (StringUtils.isBlank(label)) {
+            return configTemplate.sendAndReceive(HttpMethod.GET, PATH_ENVIRONMENT, null, httpHeaders,
+                    Environment.class, name, applicationProfile);
+        }
+        //
+        // The config server expects slashes in labels to be replaced, e.g. 'feature/a' is 'feature(_)a'
+        //
+        return configTemplate.sendAndReceive(HttpMethod.GET, PATH_ENVIRONMENT_LABEL, null, httpHeaders,
+                Environment.class, name, applicationProfile, label.replace("/", "(_)"));
+    }
+
+    /**
+     * Retrieves the environment of the specified application without blocking the calling thread.
+     *
+     * @param applicationName the application name
+     * @param profile         the profiles of the application, comma separated
+     * @param label           the label (GIT branch) or null to use the config server's default label
+     * @return The future of the snapshot of the environment. The future completes exceptionally with a
+     * {@link ConfigException} when an error occurs when retrieving the environment.
+     */
+    public CompletableFuture<EnvironmentSnapshot> getEnvironmentAsync(final String applicationName, final String profile, final String label) {
+        return configTemplate.executeAsync(() -> getEnvironment(applicationName, profile, label));
+    }
+}
@@ -0,0 +1,269 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An immutable view of an environment retrieved from the config server. The property sources of the environment are
+ * flattened into a single set of properties where a property of an earlier property source takes precedence over the
+ * same property of a later one, matching how the config server orders them.
+ * <p>
+ * Properties are indexed by name for constant time lookups and are also kept sorted so properties sharing a prefix or
+ * falling within a range of names can be read without scanning every property.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class EnvironmentSnapshot {
+    private final String name;
+    private final List<String> profiles;
+    private final String label;
+    private final String version;
+    private final String state;
+    private final List<String> propertySourceNames;
+    private final Map<String, Object> properties;
+    private final Map<String, String> origins;
+    private final NavigableMap<String, Object> sortedProperties;
+
+    private EnvironmentSnapshot(final String name,
+                                final List<String> profiles,
+                                final String label,
+                                final String version,
+                                final String state,
+                                final List<String> propertySourceNames,
+                                final Map<String, Object> properties,
+                                final Map<String, String> origins) {
+        this.name = name;
+        this.profiles = profiles;
+        this.label = label;
+        this.version = version;
+        this.state = state;
+        this.propertySourceNames = propertySourceNames;
+        this.properties = properties;
+        this.origins = origins;
+        this.sortedProperties = Collections.unmodifiableNavigableMap(new TreeMap<>(properties));
+    }
+
+    /**
+     * Creates a snapshot of the environment. Properties with null values are ignored.
+     *
+     * @param environment the environment retrieved from the config server
+     * @return The snapshot of the environment.
+     */
+    public static EnvironmentSnapshot of(final Environment environment) {
+        if (environment == null) {
+            throw new IllegalArgumentException("No environment supplied to create a snapshot of.");
+        }
+        final List<String> propertySourceNames = new ArrayList<>();
+        final Map<String, Object> properties = new HashMap<>();
+        final Map<String, String> origins = new HashMap<>();
+        //
+        // The config server lists the property sources from highest to lowest precedence, so the first value wins
+        //
+        for (final PropertySource propertySource : environment.getPropertySources()) {
+            propertySourceNames.add(propertySource.getName());
+            for (final Map.Entry<?, ?> property : propertySource.getSource().entrySet()) {
+                if (property.getValue() == null) {
+                    continue;
+                }
+                final String key = String.valueOf(property.getKey());
+                if (properties.putIfAbsent(key, property.getValue()) == null) {
+                    origins.put(key, propertySource.getName());
+                }
+            }
+        }
+        final List<String> profiles;
+        if (environment.getProfiles() == null) {
+            profiles = Collections.emptyList();
+        } else {
+            profiles = Collections.unmodifiableList(Arrays.asList(environment.getProfiles().clone()));
+        }
+        return new EnvironmentSnapshot(environment.getName(),
+                profiles,
+                environment.getLabel(),
+                environment.getVersion(),
+                environment.getState(),
+                Collections.unmodifiableList(propertySourceNames),
+                Collections.unmodifiableMap(properties),
+                Collections.unmodifiableMap(origins));
+    }
+
+    /**
+     * Retrieves the application name of the environment.
+     *
+     * @return The application name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the profiles of the environment.
+     *
+     * @return The profiles.
+     */
+    public List<String> getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * Retrieves the label of the environment.
+     *
+     * @return The label or null if the config server did not return one.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Retrieves the version of the environment, such as the GIT commit it was read from.
+     *
+     * @return The version or null if the config server did not return one.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the state of the environment.
+     *
+     * @return The state or null if the config server did not return one.
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the names of the property sources the snapshot was created from, from highest to lowest precedence.
+     *
+     * @return The names of the property sources.
+     */
+    public List<String> getPropertySourceNames() {
+        return propertySourceNames;
+    }
+
+    /**
+     * Determines if the environment has the property.
+     *
+     * @param key the name of the property
+     * @return True if the property exists.
+     */
+    public boolean containsProperty(final String key) {
+        return properties.containsKey(key);
+    }
+
+    /**
+     * Retrieves the value of the property as returned by the config server.
+     *
+     * @param key the name of the property
+     * @return The value or null if the property does not exist.
+     */
+    public Object getRawProperty(final String key) {
+        return properties.get(key);
+    }
+
+    /**
+     * Retrieves the value of the property as a string.
+     *
+     * @param key the name of the property
+     * @return The value or null if the property does not exist.
+     */
+    public String getProperty(final String key) {
+        return getProperty(key, null);
+    }
+
+    /**
+     * Retrieves the value of the property as a string.
+     *
+     * @param key          the name of the property
+     * @param defaultValue the value to return if the property does not exist
+     * @return The value or the default value if the property does not exist.
+     */
+    public String getProperty(final String key, final String defaultValue) {
+        final Object value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value.toString();
+    }
+
+    /**
+     * Retrieves the name of the property source the value of the property was taken from.
+     *
+     * @param key the name of the property
+     * @return The name of the property source or null if the property does not exist.
+     */
+    public String getPropertySourceName(final String key) {
+        return origins.get(key);
+    }
+
+    /**
+     * Retrieves the names of all properties in sorted order.
+     *
+     * @return The names of the properties.
+     */
+    public NavigableSet<String> getPropertyNames() {
+        return sortedProperties.navigableKeySet();
+    }
+
+    /**
+     * Retrieves all properties in sorted order.
+     *
+     * @return The properties.
+     */
+    public NavigableMap<String, Object> getProperties() {
+        return sortedProperties;
+    }
+
+    /**
+     * Retrieves the properties whose names start with the prefix, such as {@code "spring.datasource."}.
+     *
+     * @param prefix the prefix of the property names
+     * @return The matching properties in sorted order.
+     */
+    public SortedMap<String, Object> getPropertiesWithPrefix(final String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return sortedProperties;
+        }
+        //
+        // Every name starting with the prefix sorts before the prefix followed by the highest character
+        //
+        return sortedProperties.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Retrieves the properties whose names fall within the range.
+     *
+     * @param fromKey the lowest property name, inclusive
+     * @param toKey   the highest property name, exclusive
+     * @return The matching properties in sorted order.
+     */
+    public SortedMap<String, Object> getProperties(final String fromKey, final String toKey) {
+        if (fromKey == null || toKey == null) {
+            throw new IllegalArgumentException("A range requires both a lowest and highest property name.");
+        }
+        if (fromKey.compareTo(toKey) > 0) {
+            throw new IllegalArgumentException("The lowest property name must not sort after the highest property name.");
+        }
+        return sortedProperties.subMap(fromKey, true, toKey, false);
+    }
+
+    /**
+     * Retrieves the number of properties.
+     *
+     * @return The number of properties.
+     */
+    public int size() {
+        return properties.size();
+    }
+}
@@ -1,11 +1,40 @@
 package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.cache.ConfigCache;
+import io.github.piszmog.cloudconfig.cache.ConfigCacheKey;
+import io.github.piszmog.cloudconfig.cache.ConfigDiskCache;
 import io.github.piszmog.cloudconfig.client.ConfigClient;
+import io.github.piszmog.cloudconfig.template.ConfigStreamHandler;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * Handles retrieving any file types from the config server.
@@ -13,10 +42,18 @@ import org.springframework.http.ResponseEntity;
  * Created by Piszmog on 4/15/2018
  */
 public class FileConfigClient extends ConfigClient {
-    private static final String PATH_NAME_PROFILE = "/{name}/{profile}/";
-    private static final String PATH_FILE = "/{file}";
+    /**
+     * The default maximum number of files prefetched at once. Matches the default maximum connections per route.
+     */
+    public static final int DEFAULT_PREFETCH_PARALLELISM = 10;
+
     private static final String VALUE_DEFAULT = "default";
     private static final String VALUE_DEFAULT_BRANCH = "master";
+    private static final long TRANSFER_SIZE = 1024L * 1024;
+
+    private final ConfigCache cache;
+    private final ConfigDiskCache diskCache;
+    private final FileUriTemplates uriTemplates = new FileUriTemplates();
 
     /**
      * Creates a new file config client.
@@ -24,7 +61,33 @@ public class FileConfigClient extends ConfigClient {
      * @param configTemplate the config server template
      */
     public FileConfigClient(final ConfigTemplate configTemplate) {
+        this(configTemplate, null);
+    }
+
+    /**
+     * Creates a new file config client that caches the retrieved files. Files found in the cache are returned
+     * without calling the config server.
+     *
+     * @param configTemplate the config server template
+     * @param cache          the cache of retrieved files or null to always call the config server
+     */
+    public FileConfigClient(final ConfigTemplate configTemplate, final ConfigCache cache) {
+        this(configTemplate, cache, null);
+    }
+
+    /**
+     * Creates a new file config client that caches the retrieved files in memory and on disk. Files stored on disk
+     * are revalidated with the config server and are returned when the config server is unable to provide the file,
+     * such as when it is unavailable when the application starts.
+     *
+     * @param configTemplate the config server template
+     * @param cache          the cache of retrieved files or null to not cache files in memory
+     * @param diskCache      the disk cache of retrieved files or null to not store files on disk
+     */
+    public FileConfigClient(final ConfigTemplate configTemplate, final ConfigCache cache, final ConfigDiskCache diskCache) {
         super(configTemplate);
+        this.cache = cache;
+        this.diskCache = diskCache;
     }
 
     /**
@@ -69,103 +132,506 @@ public class FileConfigClient extends ConfigClient {
      * @throws ConfigException when an error occurs when retrieving the specified file
      */
     public <T> T getFileFromBranch(final String fileName, final String branch, final String directoryPath, final Class<T> classType) throws ConfigException {
-        if (!StringUtils.isNotBlank(fileName)) {
-            throw new IllegalArgumentException("No file supplied to look up.");
-        }
-        String applicationName = configTemplate.getName();
-        String profile = configTemplate.getProfile();
-        //
-        // If the application name is not specified, use 'default'
-        //
-        if (StringUtils.isBlank(applicationName)) {
-            applicationName = VALUE_DEFAULT;
+        final FileLocation location = locateFileOnBranch(fileName, branch, directoryPath, classType);
+        return getFile(location, classType);
+    }
+
+    /**
+     * Retrieves the file matching the specified file name and in the Config Server's default branch in the specified
+     * directory.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param directoryPath the directory to retrieve the file from
+     * @param classType     the class type the data of the file will be converted to
+     * @param <T>           the class type
+     * @return The file converted to the specified class type.
+     * @throws ConfigException when an error occurs when retrieving the specified file
+     */
+    public <T> T getFileFromDefaultBranch(final String fileName, final String directoryPath, final Class<T> classType) throws ConfigException {
+        final FileLocation location = locateFileOnDefaultBranch(fileName, directoryPath, classType);
+        return getFile(location, classType);
+    }
+
+    /**
+     * Streams the file matching the specified file name and on the specified branch in the specified directory to the
+     * handler. The file is not held in memory or cached, which makes this suitable for large files.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param branch        the GIT branch to retrieve the file from
+     * @param directoryPath the directory to retrieve the file from or null when the file is at the root
+     * @param handler       the handler of the contents of the file
+     * @param <T>           the type of the result of the handler
+     * @return The result of the handler or null if the file does not exist.
+     * @throws ConfigException when an error occurs when retrieving the specified file or when the handler fails
+     */
+    public <T> T streamFileFromBranch(final String fileName, final String branch, final String directoryPath, final ConfigStreamHandler<T> handler) throws ConfigException {
+        return streamFile(locateFileOnBranch(fileName, branch, directoryPath, null), handler);
+    }
+
+    /**
+     * Streams the file matching the specified file name and in the Config Server's default branch in the specified
+     * directory to the handler. The file is not held in memory or cached, which makes this suitable for large files.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param directoryPath the directory to retrieve the file from
+     * @param handler       the handler of the contents of the file
+     * @param <T>           the type of the result of the handler
+     * @return The result of the handler or null if the file does not exist.
+     * @throws ConfigException when an error occurs when retrieving the specified file or when the handler fails
+     */
+    public <T> T streamFileFromDefaultBranch(final String fileName, final String directoryPath, final ConfigStreamHandler<T> handler) throws ConfigException {
+        return streamFile(locateFileOnDefaultBranch(fileName, directoryPath, null), handler);
+    }
+
+    /**
+     * Downloads the file matching the specified file name and on the specified branch in the specified directory to the
+     * target path. The file is written to a temporary file next to the target and moved over the target once it is
+     * complete, so the target is never left partially written.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param branch        the GIT branch to retrieve the file from
+     * @param directoryPath the directory to retrieve the file from or null when the file is at the root
+     * @param target        the path to write the file to
+     * @return True if the file was downloaded or false if the file does not exist.
+     * @throws ConfigException when an error occurs when retrieving or writing the specified file
+     */
+    public boolean downloadFileFromBranch(final String fileName, final String branch, final String directoryPath, final Path target) throws ConfigException {
+        return downloadFile(locateFileOnBranch(fileName, branch, directoryPath, null), target);
+    }
+
+    /**
+     * Downloads the file matching the specified file name and in the Config Server's default branch in the specified
+     * directory to the target path. The file is written to a temporary file next to the target and moved over the
+     * target once it is complete, so the target is never left partially written.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param directoryPath the directory to retrieve the file from
+     * @param target        the path to write the file to
+     * @return True if the file was downloaded or false if the file does not exist.
+     * @throws ConfigException when an error occurs when retrieving or writing the specified file
+     */
+    public boolean downloadFileFromDefaultBranch(final String fileName, final String directoryPath, final Path target) throws ConfigException {
+        return downloadFile(locateFileOnDefaultBranch(fileName, directoryPath, null), target);
+    }
+
+    /**
+     * Retrieves the file matching the specified file name and on the specified branch in the specified directory
+     * without blocking the calling thread.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param branch        the GIT branch to retrieve the file from
+     * @param directoryPath the directory to retrieve the file from
+     * @param classType     the class type the data of the file will be converted to
+     * @param <T>           the class type
+     * @return The future of the file converted to the specified class type. The future completes exceptionally with a
+     * {@link ConfigException} when an error occurs when retrieving the specified file.
+     */
+    public <T> CompletableFuture<T> getFileFromBranchAsync(final String fileName, final String branch, final String directoryPath, final Class<T> classType) {
+        return configTemplate.executeAsync(() -> getFileFromBranch(fileName, branch, directoryPath, classType));
+    }
+
+    /**
+     * Retrieves the file matching the specified file name and in the Config Server's default branch in the specified
+     * directory without blocking the calling thread.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param directoryPath the directory to retrieve the file from
+     * @param classType     the class type the data of the file will be converted to
+     * @param <T>           the class type
+     * @return The future of the file converted to the specified class type. The future completes exceptionally with a
+     * {@link ConfigException} when an error occurs when retrieving the specified file.
+     */
+    public <T> CompletableFuture<T> getFileFromDefaultBranchAsync(final String fileName, final String directoryPath, final Class<T> classType) {
+        return configTemplate.executeAsync(() -> getFileFromDefaultBranch(fileName, directoryPath, classType));
+    }
+
+    /**
+     * Retrieves the files concurrently so they are cached before they are needed, such as when the application starts.
+     * At most {@value DEFAULT_PREFETCH_PARALLELISM} files are retrieved at once.
+     *
+     * @param files the files to retrieve
+     * @return The summary with the result of every file.
+     * @throws ConfigException when interrupted while waiting to retrieve the remaining files
+     */
+    public PrefetchSummary prefetch(final List<FileSpec> files) throws ConfigException {
+        return prefetch(files, DEFAULT_PREFETCH_PARALLELISM);
+    }
+
+    /**
+     * Retrieves the files concurrently so they are cached before they are needed, such as when the application starts.
+     * The files are stored in the caches of the client, so prefetching is only useful when the client has a cache.
+     * When the maximum number of files are being retrieved, the calling thread waits until one completes before
+     * starting the next.
+     *
+     * @param files       the files to retrieve
+     * @param parallelism the maximum number of files retrieved at once
+     * @return The summary with the result of every file, in the same order as the files.
+     * @throws ConfigException when interrupted while waiting to retrieve the remaining files
+     */
+    public PrefetchSummary prefetch(final List<FileSpec> files, final int parallelism) throws ConfigException {
+        if (files == null) {
+            throw new IllegalArgumentException("No files supplied to prefetch.");
         }
-        //
-        // If no profile is specified, use 'default'
-        //
-        if (StringUtils.isBlank(profile)) {
-            profile = VALUE_DEFAULT;
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero.");
         }
-        String label = branch;
-        if (StringUtils.isBlank(branch)) {
-            label = configTemplate.getLabel();
+        final long start = System.nanoTime();
+        final Semaphore permits = new Semaphore(parallelism);
+        final List<CompletableFuture<PrefetchResult>> futures = new ArrayList<>(files.size());
+        for (final FileSpec file : files) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConfigException("Interrupted while waiting to prefetch the remaining files.", e);
+            }
+            futures.add(configTemplate.executeAsync(() -> prefetch(file))
+                    .handle((result, error) -> {
+                        permits.release();
+                        if (error == null) {
+                            return result;
+                        }
+                        //
+                        // Only reached when the executor rejects the prefetch, as prefetching itself never throws
+                        //
+                        return new PrefetchResult(file, false, Duration.ZERO,
+                                error instanceof Exception ? (Exception) error : new CompletionException(error));
+                    }));
         }
-        if (StringUtils.isBlank(label)) {
-            label = VALUE_DEFAULT_BRANCH;
+        final List<PrefetchResult> results = new ArrayList<>(futures.size());
+        for (final CompletableFuture<PrefetchResult> future : futures) {
+            results.add(future.join());
         }
-        if (StringUtils.isNotBlank(directoryPath)) {
-            final String path;
-            if (StringUtils.startsWith(directoryPath, "/")) {
-                path = directoryPath;
+        return new PrefetchSummary(results, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private PrefetchResult prefetch(final FileSpec file) {
+        final long start = System.nanoTime();
+        try {
+            final Object value;
+            if (file.isDefaultBranch()) {
+                value = getFileFromDefaultBranch(file.getFileName(), file.getDirectoryPath(), file.getClassType());
             } else {
-                path = "/" + directoryPath;
+                value = getFileFromBranch(file.getFileName(), file.getBranch(), file.getDirectoryPath(), file.getClassType());
             }
-            label = label + path;
-        }
-        final String finalPath = PATH_NAME_PROFILE + label + PATH_FILE;
-        final ResponseEntity<T> responseEntity = configTemplate.sendAndReceive(HttpMethod.GET, finalPath,
-                null,
-                null,
-                classType,
-                applicationName,
-                profile,
-                fileName);
-        if (responseEntity == null) {
-            return null;
+            return new PrefetchResult(file, value != null, Duration.ofNanos(System.nanoTime() - start), null);
+        } catch (ConfigException | RuntimeException e) {
+            return new PrefetchResult(file, false, Duration.ofNanos(System.nanoTime() - start), e);
         }
-        return responseEntity.getBody();
     }
 
     /**
-     * Retrieves the file matching the specified file name and in the Config Server's default branch in the specified
-     * directory.
+     * Requests the raw bytes of the file on the specified branch from the config server. The file is not cached.
+     *
+     * @param fileName      the name of the file to retrieve
+     * @param branch        the GIT branch to retrieve the file from
+     * @param directoryPath the directory to retrieve the file from or null when the file is at the root
+     * @param httpHeaders   the headers to send, such as conditional headers, or null
+     * @return The response of the config server or null if the file does not exist.
+     * @throws ConfigException when an error occurs when retrieving the specified file
+     */
+    ResponseEntity<byte[]> fetchFileFromBranch(final String fileName, final String branch, final String directoryPath, final HttpHeaders httpHeaders) throws ConfigException {
+        final FileLocation location = locateFileOnBranch(fileName, branch, directoryPath, byte[].class);
+        return configTemplate.sendAndReceive(HttpMethod.GET, location.uriTemplate, location.uri, null, httpHeaders,
+                byte[].class);
+    }
+
+    /**
+     * Requests the raw bytes of the file in the Config Server's default branch from the config server. The file is
+     * not cached.
      *
      * @param fileName      the name of the file to retrieve
      * @param directoryPath the directory to retrieve the file from
-     * @param classType     the class type the data of the file will be converted to
-     * @param <T>           the class type
-     * @return The file converted to the specified class type.
+     * @param httpHeaders   the headers to send, such as conditional headers, or null
+     * @return The response of the config server or null if the file does not exist.
      * @throws ConfigException when an error occurs when retrieving the specified file
      */
-    public <T> T getFileFromDefaultBranch(final String fileName, final String directoryPath, final Class<T> classType) throws ConfigException {
+    ResponseEntity<byte[]> fetchFileFromDefaultBranch(final String fileName, final String directoryPath, final HttpHeaders httpHeaders) throws ConfigException {
+        final FileLocation location = locateFileOnDefaultBranch(fileName, directoryPath, byte[].class);
+        return configTemplate.sendAndReceive(HttpMethod.GET, location.uriTemplate, location.uri, null, httpHeaders,
+                byte[].class);
+    }
+
+    private FileLocation locateFileOnBranch(final String fileName, final String branch, final String directoryPath, final Class<?> classType) {
+        if (!StringUtils.isNotBlank(fileName)) {
+            throw new IllegalArgumentException("No file supplied to look up.");
+        }
+        final String applicationName = getApplicationName();
+        final String profile = getProfile();
+        String label = branch;
+        if (StringUtils.isBlank(branch)) {
+            label = configTemplate.getLabel();
+        }
+        if (StringUtils.isBlank(label)) {
+            label = VALUE_DEFAULT_BRANCH;
+        }
+        final URI uri = uriTemplates.expandBranch(applicationName, profile, label, directoryPath, fileName);
+        final ConfigCacheKey key = new ConfigCacheKey(applicationName, profile, label, directoryPath, fileName, classType);
+        return new FileLocation(key, FileUriTemplates.TEMPLATE_BRANCH, uri);
+    }
+
+    private FileLocation locateFileOnDefaultBranch(final String fileName, final String directoryPath, final Class<?> classType) {
         if (!StringUtils.isNotBlank(fileName)) {
             throw new IllegalArgumentException("No file supplied to look up.");
         }
         if (!StringUtils.isNotBlank(directoryPath)) {
             throw new IllegalArgumentException("Files are unable to be located at the root. A directory path must be specified.");
         }
-        String applicationName = configTemplate.getName();
-        String profile = configTemplate.getProfile();
+        final String applicationName = getApplicationName();
+        final String profile = getProfile();
+        final String path;
+        if (StringUtils.startsWith(directoryPath, "/")) {
+            path = StringUtils.removeStart(directoryPath, "/");
+        } else {
+            path = directoryPath;
+        }
+        final URI uri = uriTemplates.expandDefaultBranch(applicationName, profile, path, fileName);
+        final ConfigCacheKey key = new ConfigCacheKey(applicationName, profile, null, path, fileName, classType);
+        return new FileLocation(key, FileUriTemplates.TEMPLATE_DEFAULT_BRANCH, uri);
+    }
+
+    private String getApplicationName() {
         //
         // If the application name is not specified, use 'default'
         //
+        final String applicationName = configTemplate.getName();
         if (StringUtils.isBlank(applicationName)) {
-            applicationName = VALUE_DEFAULT;
+            return VALUE_DEFAULT;
         }
+        return applicationName;
+    }
+
+    private String getProfile() {
         //
         // If no profile is specified, use 'default'
         //
+        final String profile = configTemplate.getProfile();
         if (StringUtils.isBlank(profile)) {
-            profile = VALUE_DEFAULT;
+            return VALUE_DEFAULT;
         }
-        final String path;
-        if (StringUtils.startsWith(directoryPath, "/")) {
-            path = StringUtils.removeStart(directoryPath, "/");
-        } else {
-            path = directoryPath;
+        return profile;
+    }
+
+    private <T> T streamFile(final FileLocation location, final ConfigStreamHandler<T> handler) throws ConfigException {
+        if (handler == null) {
+            throw new IllegalArgumentException("No stream handler supplied.");
+        }
+        //
+        // Request the raw bytes of the file
+        //
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_OCTET_STREAM));
+        return configTemplate.sendAndReceiveStream(HttpMethod.GET, location.uriTemplate, location.uri, httpHeaders,
+                handler);
+    }
+
+    private boolean downloadFile(final FileLocation location, final Path target) throws ConfigException {
+        if (target == null) {
+            throw new IllegalArgumentException("No target path supplied.");
+        }
+        final Path absoluteTarget = target.toAbsolutePath();
+        final Path temporaryFile;
+        try {
+            temporaryFile = Files.createTempFile(absoluteTarget.getParent(), absoluteTarget.getFileName().toString(), ".tmp");
+        } catch (IOException e) {
+            throw new ConfigException("Failed to create a temporary file for " + target + ".", e);
+        }
+        boolean moved = false;
+        try {
+            final Boolean found = streamFile(location, (body, headers) -> {
+                transfer(body, temporaryFile);
+                return Boolean.TRUE;
+            });
+            if (found == null) {
+                return false;
+            }
+            move(temporaryFile, absoluteTarget);
+            moved = true;
+            return true;
+        } finally {
+            if (!moved) {
+                deleteTemporaryFile(temporaryFile);
+            }
         }
-        final String finalPath = PATH_NAME_PROFILE + path + PATH_FILE;
+    }
+
+    private static void transfer(final InputStream body, final Path file) throws IOException {
+        //
+        // Let the file channel pull from the response so the bytes are not copied through a heap buffer of our own
+        //
+        try (ReadableByteChannel source = Channels.newChannel(body);
+             FileChannel destination = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = destination.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+                position += transferred;
+            }
+        }
+    }
+
+    private static void move(final Path source, final Path target) throws ConfigException {
+        try {
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new ConfigException("Failed to move the downloaded file to " + target + ".", e);
+        }
+    }
+
+    private static void deleteTemporaryFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            //
+            // Nothing more can be done, the temporary file is left behind
+            //
+        }
+    }
+
+    private <T> T getFile(final FileLocation location, final Class<T> classType) throws ConfigException {
+        final ConfigCacheKey key = location.key;
+        ConfigCache.Entry memoryEntry = null;
+        if (cache != null) {
+            final Object cached = cache.get(key);
+            if (cached != null) {
+                return classType.cast(cached);
+            }
+            memoryEntry = cache.getEntry(key);
+            //
+            // Return the expired file right away and revalidate it in the background
+            //
+            if (memoryEntry != null && cache.isWithinStaleWhileRevalidate(memoryEntry)) {
+                refreshInBackground(location, classType, memoryEntry);
+                return classType.cast(memoryEntry.getValue());
+            }
+        }
+        return fetchFile(location, classType, memoryEntry);
+    }
+
+    private <T> void refreshInBackground(final FileLocation location, final Class<T> classType, final ConfigCache.Entry memoryEntry) {
+        if (!cache.tryStartRefresh(location.key)) {
+            return;
+        }
+        configTemplate.executeAsync(() -> fetchFile(location, classType, memoryEntry))
+                .whenComplete((file, e) -> cache.finishRefresh(location.key));
+    }
+
+    private <T> T fetchFile(final FileLocation location, final Class<T> classType, final ConfigCache.Entry memoryEntry) throws ConfigException {
+        final ConfigCacheKey key = location.key;
+        //
+        // Only read the copy on disk when there is no copy in memory to revalidate
+        //
+        final ConfigCache.Entry diskEntry = memoryEntry == null ? getFromDisk(key) : null;
+        final ConfigCache.Entry staleEntry = memoryEntry == null ? diskEntry : memoryEntry;
+        final HttpHeaders httpHeaders = createConditionalHeaders(staleEntry);
         final ResponseEntity<T> responseEntity;
-        responseEntity = configTemplate.sendAndReceive(HttpMethod.GET, finalPath + "?useDefaultLabel=true",
-                null,
-                null,
-                classType,
-                applicationName,
-                profile,
-                fileName);
+        try {
+            responseEntity = configTemplate.sendAndReceive(HttpMethod.GET, location.uriTemplate, location.uri, null,
+                    httpHeaders, classType);
+        } catch (ConfigException | RestClientException e) {
+            //
+            // The config server is unreachable or erroring, fall back to the expired copy in memory or on disk
+            //
+            if (!isServerFailure(e)) {
+                throw e;
+            }
+            if (memoryEntry != null && cache.isWithinStaleIfError(memoryEntry)) {
+                return classType.cast(memoryEntry.getValue());
+            }
+            final ConfigCache.Entry fallbackEntry = memoryEntry == null ? diskEntry : getFromDisk(key);
+            if (fallbackEntry == null) {
+                throw e;
+            }
+            return classType.cast(fallbackEntry.getValue());
+        }
         if (responseEntity == null) {
+            if (cache != null) {
+                cache.invalidate(key);
+            }
+            if (diskCache != null) {
+                diskCache.invalidate(key);
+            }
+            return null;
+        }
+        //
+        // The file has not changed since it was cached, use the cached value rather than a new body
+        //
+        if (staleEntry != null && responseEntity.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            if (cache != null) {
+                cache.revalidate(key, staleEntry);
+            }
+            return classType.cast(staleEntry.getValue());
+        }
+        final T body = responseEntity.getBody();
+        final HttpHeaders responseHeaders = responseEntity.getHeaders();
+        if (cache != null) {
+            cache.put(key, body, responseHeaders.getETag(), responseHeaders.getLastModified());
+        }
+        if (diskCache != null) {
+            diskCache.put(key, body, responseHeaders.getETag(), responseHeaders.getLastModified());
+        }
+        return body;
+    }
+
+    private ConfigCache.Entry getFromDisk(final ConfigCacheKey key) {
+        if (diskCache == null) {
+            return null;
+        }
+        return diskCache.get(key);
+    }
+
+    /**
+     * Checks if the request failed because no config server could be reached or a config server responded with a
+     * server error. Client errors, such as a rejected authorization, are not server failures.
+     *
+     * @param e the failure of the request
+     * @return True if the config server failed, otherwise false.
+     */
+    static boolean isServerFailure(final Exception e) {
+        final Throwable failure = e instanceof ConfigException && e.getCause() != null ? e.getCause() : e;
+        return failure instanceof ResourceAccessException || failure instanceof HttpServerErrorException;
+    }
+
+    static HttpHeaders createConditionalHeaders(final ConfigCache.Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        return createConditionalHeaders(entry.getETag(), entry.getLastModified());
+    }
+
+    /**
+     * Creates the headers revalidating a resource with the validators of its previous response.
+     *
+     * @param eTag         the {@code ETag} of the resource or null
+     * @param lastModified the {@code Last-Modified} date of the resource in milliseconds or -1
+     * @return The conditional headers or null if there are no validators.
+     */
+    static HttpHeaders createConditionalHeaders(final String eTag, final long lastModified) {
+        if (eTag == null && lastModified < 0) {
             return null;
         }
-        return responseEntity.getBody();
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        if (eTag != null) {
+            httpHeaders.setIfNoneMatch(eTag);
+        }
+        if (lastModified >= 0) {
+            httpHeaders.setIfModifiedSince(lastModified);
+        }
+        return httpHeaders;
+    }
+
+    private static final class FileLocation {
+        private final ConfigCacheKey key;
+        private final String uriTemplate;
+        private final URI uri;
+
+        private FileLocation(final ConfigCacheKey key, final String uriTemplate, final URI uri) {
+            this.key = key;
+            this.uriTemplate = uriTemplate;
+            this.uri = uri;
+        }
     }
 }
@@ -0,0 +1,128 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import java.util.Objects;
+
+/**
+ * Identifies a file to retrieve from the config server, such as a file to prefetch when the application starts.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class FileSpec {
+    private final String fileName;
+    private final String branch;
+    private final String directoryPath;
+    private final Class<?> classType;
+    private final boolean defaultBranch;
+
+    private FileSpec(final String fileName,
+                     final String branch,
+                     final String directoryPath,
+                     final Class<?> classType,
+                     final boolean defaultBranch) {
+        if (classType == null) {
+            throw new IllegalArgumentException("No class type supplied to convert the file to.");
+        }
+        this.fileName = fileName;
+        this.branch = branch;
+        this.directoryPath = directoryPath;
+        this.classType = classType;
+        this.defaultBranch = defaultBranch;
+    }
+
+    /**
+     * Creates a spec of the file on the specified branch.
+     *
+     * @param fileName      the name of the file
+     * @param branch        the GIT branch of the file or null to use the label of the config template
+     * @param directoryPath the directory of the file or null when the file is at the root
+     * @param classType     the class type the data of the file will be converted to
+     * @return The spec of the file.
+     */
+    public static FileSpec onBranch(final String fileName, final String branch, final String directoryPath, final Class<?> classType) {
+        return new FileSpec(fileName, branch, directoryPath, classType, false);
+    }
+
+    /**
+     * Creates a spec of the file in the Config Server's default branch.
+     *
+     * @param fileName      the name of the file
+     * @param directoryPath the directory of the file
+     * @param classType     the class type the data of the file will be converted to
+     * @return The spec of the file.
+     */
+    public static FileSpec onDefaultBranch(final String fileName, final String directoryPath, final Class<?> classType) {
+        return new FileSpec(fileName, null, directoryPath, classType, true);
+    }
+
+    /**
+     * Retrieves the name of the file.
+     *
+     * @return The name of the file.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Retrieves the GIT branch of the file.
+     *
+     * @return The branch or null if the file is in the default branch or the label of the config template is used.
+     */
+    public String getBranch() {
+        return branch;
+    }
+
+    /**
+     * Retrieves the directory of the file.
+     *
+     * @return The directory or null if the file is at the root.
+     */
+    public String getDirectoryPath() {
+        return directoryPath;
+    }
+
+    /**
+     * Retrieves the class type the data of the file will be converted to.
+     *
+     * @return The class type.
+     */
+    public Class<?> getClassType() {
+        return classType;
+    }
+
+    /**
+     * Determines if the file is in the Config Server's default branch.
+     *
+     * @return True if the file is in the default branch.
+     */
+    public boolean isDefaultBranch() {
+        return defaultBranch;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FileSpec)) {
+            return false;
+        }
+        final FileSpec that = (FileSpec) o;
+        return defaultBranch == that.defaultBranch
+                && Objects.equals(fileName, that.fileName)
+                && Objects.equals(branch, that.branch)
+                && Objects.equals(directoryPath, that.directoryPath)
+                && Objects.equals(classType, that.classType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileName, branch, directoryPath, classType, defaultBranch);
+    }
+
+    @Override
+    public String toString() {
+        final String location = defaultBranch ? "(default)" : branch;
+        return location + "/" + directoryPath + "/" + fileName + " (" + classType.getName() + ")";
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builds the encoded URIs of files on the config server. The encoded path up to the file name is compiled once per
+ * application name, profile, label and directory and kept in a bounded cache, so a lookup only encodes the file name
+ * rather than parsing and expanding a URI template.
+ * <p>
+ * The URIs are encoded the same way as the {@code /{name}/{profile}/{label}/{file}} templates expanded by the
+ * {@code RestTemplate}.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class FileUriTemplates {
+    /**
+     * The default maximum number of compiled paths to keep.
+     */
+    static final int DEFAULT_MAX_ENTRIES = 256;
+    /**
+     * The path template of files on a branch, recorded in the metrics of the requests.
+     */
+    static final String TEMPLATE_BRANCH = "/{name}/{profile}/{label}/{file}";
+    /**
+     * The path template of files on the config server's default branch, recorded in the metrics of the requests.
+     */
+    static final String TEMPLATE_DEFAULT_BRANCH = "/{name}/{profile}/{directory}/{file}?useDefaultLabel=true";
+    private static final String QUERY_DEFAULT_LABEL = "?useDefaultLabel=true";
+
+    private final Map<Key, String> prefixes;
+
+    FileUriTemplates() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    FileUriTemplates(final int maxEntries) {
+        this.prefixes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Builds the URI of the file on the branch.
+     *
+     * @param name          the application name
+     * @param profile       the profile of the application
+     * @param label         the label (GIT branch)
+     * @param directoryPath the directory of the file or null when the file is at the root
+     * @param file          the name of the file
+     * @return The encoded URI, relative to the config server URI.
+     */
+    URI expandBranch(final String name, final String profile, final String label, final String directoryPath, final String file) {
+        final Key key = new Key(name, profile, label, directoryPath);
+        String prefix = getPrefix(key);
+        if (prefix == null) {
+            String labelPath = label;
+            if (StringUtils.isNotBlank(directoryPath)) {
+                final String path;
+                if (StringUtils.startsWith(directoryPath, "/")) {
+                    path = directoryPath;
+                } else {
+                    path = "/" + directoryPath;
+                }
+                labelPath = label + path;
+            }
+            prefix = putPrefix(key, name, profile, labelPath);
+        }
+        return URI.create(prefix + encode(file));
+    }
+
+    /**
+     * Builds the URI of the file on the config server's default branch.
+     *
+     * @param name          the application name
+     * @param profile       the profile of the application
+     * @param directoryPath the directory of the file, without a leading slash
+     * @param file          the name of the file
+     * @return The encoded URI, relative to the config server URI.
+     */
+    URI expandDefaultBranch(final String name, final String profile, final String directoryPath, final String file) {
+        final Key key = new Key(name, profile, null, directoryPath);
+        String prefix = getPrefix(key);
+        if (prefix == null) {
+            prefix = putPrefix(key, name, profile, directoryPath);
+        }
+        return URI.create(prefix + encode(file) + QUERY_DEFAULT_LABEL);
+    }
+
+    /**
+     * Retrieves the number of compiled paths that are cached.
+     *
+     * @return The number of compiled paths.
+     */
+    int size() {
+        synchronized (prefixes) {
+            return prefixes.size();
+        }
+    }
+
+    private String getPrefix(final Key key) {
+        synchronized (prefixes) {
+            return prefixes.get(key);
+        }
+    }
+
+    private String putPrefix(final Key key, final String name, final String profile, final String labelPath) {
+        final String prefix = "/" + encode(name) + "/" + encode(profile) + "/" + encode(labelPath) + "/";
+        synchronized (prefixes) {
+            prefixes.put(key, prefix);
+        }
+        return prefix;
+    }
+
+    private static String encode(final String path) {
+        return UriUtils.encodePath(path, StandardCharsets.UTF_8);
+    }
+
+    private static final class Key {
+        private final String name;
+        private final String profile;
+        private final String label;
+        private final String directoryPath;
+        private final int hashCode;
+
+        private Key(final String name, final String profile, final String label, final String directoryPath) {
+            this.name = name;
+            this.profile = profile;
+            this.label = label;
+            this.directoryPath = directoryPath;
+            this.hashCode = Objects.hash(name, profile, label, directoryPath);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return Objects.equals(name, that.name)
+                    && Objects.equals(profile, that.profile)
+                    && Objects.equals(label, that.label)
+                    && Objects.equals(directoryPath, that.directoryPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
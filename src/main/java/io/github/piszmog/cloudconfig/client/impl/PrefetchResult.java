@@ -0,0 +1,67 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import java.time.Duration;
+
+/**
+ * The result of prefetching a single file.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class PrefetchResult {
+    private final FileSpec file;
+    private final boolean found;
+    private final Duration duration;
+    private final Exception error;
+
+    PrefetchResult(final FileSpec file, final boolean found, final Duration duration, final Exception error) {
+        this.file = file;
+        this.found = found;
+        this.duration = duration;
+        this.error = error;
+    }
+
+    /**
+     * Retrieves the file that was prefetched.
+     *
+     * @return The spec of the file.
+     */
+    public FileSpec getFile() {
+        return file;
+    }
+
+    /**
+     * Determines if the config server returned the file.
+     *
+     * @return True if the file was retrieved, false if it does not exist or an error occurred.
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * Retrieves how long retrieving the file took, excluding the time waiting for a free slot.
+     *
+     * @return The duration of the retrieval.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Retrieves the error that occurred when retrieving the file.
+     *
+     * @return The error or null if the retrieval succeeded.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Determines if the file was retrieved without an error.
+     *
+     * @return True if no error occurred.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The summary of prefetching files.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class PrefetchSummary {
+    private final List<PrefetchResult> results;
+    private final Duration duration;
+
+    PrefetchSummary(final List<PrefetchResult> results, final Duration duration) {
+        this.results = Collections.unmodifiableList(results);
+        this.duration = duration;
+    }
+
+    /**
+     * Retrieves the results of the files, in the same order as the files were provided.
+     *
+     * @return The results.
+     */
+    public List<PrefetchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Retrieves the results of the files that failed to be retrieved.
+     *
+     * @return The failed results.
+     */
+    public List<PrefetchResult> getFailures() {
+        final List<PrefetchResult> failures = new ArrayList<>();
+        for (final PrefetchResult result : results) {
+            if (!result.isSuccess()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Retrieves how long prefetching all the files took.
+     *
+     * @return The total duration.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Retrieves the longest time retrieving a single file took.
+     *
+     * @return The longest duration or zero if no files were prefetched.
+     */
+    public Duration getSlowestDuration() {
+        Duration slowest = Duration.ZERO;
+        for (final PrefetchResult result : results) {
+            if (result.getDuration().compareTo(slowest) > 0) {
+                slowest = result.getDuration();
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * Retrieves the number of files retrieved without an error.
+     *
+     * @return The number of successful files.
+     */
+    public int getSuccessCount() {
+        return results.size() - getFailureCount();
+    }
+
+    /**
+     * Retrieves the number of files that failed to be retrieved.
+     *
+     * @return The number of failed files.
+     */
+    public int getFailureCount() {
+        return getFailures().size();
+    }
+
+    /**
+     * Determines if every file was retrieved without an error.
+     *
+     * @return True if no errors occurred.
+     */
+    public boolean isSuccess() {
+        return getFailureCount() == 0;
+    }
+}
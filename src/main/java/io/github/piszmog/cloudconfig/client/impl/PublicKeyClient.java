@@ -7,6 +7,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Handles retrieving the public key from the config server.
  * <p>
@@ -70,4 +72,26 @@ public class PublicKeyClient extends ConfigClient {
         }
         return responseEntity.getBody();
     }
+
+    /**
+     * Retrieves the public key for the configured application and profile without blocking the calling thread.
+     *
+     * @return The future of the public key. The future completes exceptionally with a {@link ConfigException} when an
+     * error occurs when getting the the public key.
+     */
+    public CompletableFuture<String> getPublicKeyAsync() {
+        return configTemplate.executeAsync(this::getPublicKey);
+    }
+
+    /**
+     * Retrieves the public key for the specified application and profile without blocking the calling thread.
+     *
+     * @param applicationName the application name
+     * @param profile         the profile of the application
+     * @return The future of the public key. The future completes exceptionally with a {@link ConfigException} when an
+     * error occurs when getting the the public key.
+     */
+    public CompletableFuture<String> getPublicKeyAsync(final String applicationName, final String profile) {
+        return configTemplate.executeAsync(() -> getPublicKey(applicationName, profile));
+    }
 }
@@ -0,0 +1,151 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Encrypts values locally with the config server's public key. The cipher text has the same format as the config
+ * server's default RSA encryptor, so the config server is able to decrypt it.
+ * <p>
+ * The cipher text is the Base64 encoding of the length of the RSA encrypted secret as two bytes, the RSA encrypted
+ * secret, and the value encrypted with AES/CBC using a key derived from the hex encoded secret.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class RsaEncryptor {
+    private static final String SSH_RSA = "ssh-rsa";
+    private static final String PEM_BEGIN = "-----BEGIN PUBLIC KEY-----";
+    private static final String PEM_END = "-----END PUBLIC KEY-----";
+    private static final String RSA_ALGORITHM = "RSA";
+    private static final String AES_ALGORITHM = "AES/CBC/PKCS5Padding";
+    private static final String KEY_DERIVATION_ALGORITHM = "PBKDF2WithHmacSHA1";
+    private static final byte[] SALT = HexFormat.of().parseHex("deadbeef");
+    private static final int KEY_DERIVATION_ITERATIONS = 1024;
+    private static final int KEY_LENGTH = 256;
+    private static final int SECRET_LENGTH = 16;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final RSAPublicKey publicKey;
+
+    /**
+     * Creates a new encryptor.
+     *
+     * @param publicKey the public key of the config server
+     */
+    RsaEncryptor(final RSAPublicKey publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * Encrypts the value.
+     *
+     * @param value the value to encrypt
+     * @return The Base64 encoded cipher text.
+     * @throws ConfigException when an error occurs when encrypting the value
+     */
+    String encrypt(final String value) throws ConfigException {
+        final byte[] secret = new byte[SECRET_LENGTH];
+        secureRandom.nextBytes(secret);
+        final byte[] iv = new byte[SECRET_LENGTH];
+        secureRandom.nextBytes(iv);
+        try {
+            final Cipher rsa = Cipher.getInstance(RSA_ALGORITHM);
+            rsa.init(Cipher.ENCRYPT_MODE, publicKey);
+            final byte[] encryptedSecret = rsa.doFinal(secret);
+            final Cipher aes = Cipher.getInstance(AES_ALGORITHM);
+            aes.init(Cipher.ENCRYPT_MODE, deriveKey(secret), new IvParameterSpec(iv));
+            final byte[] encryptedValue = aes.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(2 + encryptedSecret.length + iv.length + encryptedValue.length);
+            result.write((encryptedSecret.length >> 8) & 0xFF);
+            result.write(encryptedSecret.length & 0xFF);
+            result.write(encryptedSecret, 0, encryptedSecret.length);
+            result.write(iv, 0, iv.length);
+            result.write(encryptedValue, 0, encryptedValue.length);
+            return Base64.getEncoder().encodeToString(result.toByteArray());
+        } catch (GeneralSecurityException e) {
+            throw new ConfigException("Failed to encrypt the value with the public key.", e);
+        }
+    }
+
+    /**
+     * Derives the AES key from the secret the same way as the config server.
+     *
+     * @param secret the random secret
+     * @return The AES key.
+     * @throws GeneralSecurityException when the key cannot be derived
+     */
+    static SecretKeySpec deriveKey(final byte[] secret) throws GeneralSecurityException {
+        final char[] password = HexFormat.of().formatHex(secret).toCharArray();
+        final PBEKeySpec keySpec = new PBEKeySpec(password, SALT, KEY_DERIVATION_ITERATIONS, KEY_LENGTH);
+        final byte[] key = SecretKeyFactory.getInstance(KEY_DERIVATION_ALGORITHM).generateSecret(keySpec).getEncoded();
+        keySpec.clearPassword();
+        return new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Parses the public key returned by the config server. Both the OpenSSH format -- {@code ssh-rsa AAAA...} -- and
+     * the PEM format are supported.
+     *
+     * @param key the public key
+     * @return The RSA public key.
+     * @throws ConfigException when the public key is not a supported RSA public key
+     */
+    static RSAPublicKey parsePublicKey(final String key) throws ConfigException {
+        final String trimmedKey = key.trim();
+        try {
+            final KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
+            if (trimmedKey.startsWith(SSH_RSA)) {
+                final String[] parts = trimmedKey.split("\\s+");
+                if (parts.length < 2) {
+                    throw new ConfigException("The public key is missing the key data.");
+                }
+                final DataInputStream input = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(parts[1])));
+                final String type = new String(readField(input), StandardCharsets.US_ASCII);
+                if (!SSH_RSA.equals(type)) {
+                    throw new ConfigException("The public key is not a RSA key.");
+                }
+                final BigInteger exponent = new BigInteger(readField(input));
+                final BigInteger modulus = new BigInteger(readField(input));
+                return (RSAPublicKey) keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent));
+            }
+            if (trimmedKey.startsWith(PEM_BEGIN)) {
+                final String encoded = trimmedKey.replace(PEM_BEGIN, "")
+                        .replace(PEM_END, "")
+                        .replaceAll("\\s", "");
+                return (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+            }
+        } catch (GeneralSecurityException | IOException | IllegalArgumentException e) {
+            throw new ConfigException("Failed to parse the public key.", e);
+        }
+        throw new ConfigException("The public key is not in a supported format.");
+    }
+
+    private static byte[] readField(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Invalid field length " + length + " in the public key.");
+        }
+        final byte[] field = new byte[length];
+        input.readFully(field);
+        return field;
+    }
+}
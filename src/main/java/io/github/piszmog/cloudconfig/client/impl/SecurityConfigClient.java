@@ -7,14 +7,26 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Handles encryption and decryption using the config server.
  * <p>
  * Created by Piszmog on 5/5/2018
  */
 abstract class SecurityConfigClient extends ConfigClient {
-    private static final String DEFAULT_PROFILE = "default";
-    private static final String DEFAULT_APPLICATION = "application";
+    /**
+     * The default maximum number of requests in flight for batch operations. Matches the default number of pooled
+     * connections per config server.
+     */
+    public static final int DEFAULT_BATCH_PARALLELISM = 10;
+    static final String DEFAULT_PROFILE = "default";
+    static final String DEFAULT_APPLICATION = "application";
 
     /**
      * Creates a new security client.
@@ -36,23 +48,88 @@ abstract class SecurityConfigClient extends ConfigClient {
      * @throws ConfigException when an error occurs when encrypting or decrypting the value
      */
     String encryptOrDecrypt(final String path, final String value, final String applicationName, final String profile) throws ConfigException {
-        String name = applicationName;
-        String applicationProfile = profile;
-        if (StringUtils.isBlank(name)) {
-            name = DEFAULT_APPLICATION;
-        }
-        if (StringUtils.isBlank(applicationProfile)) {
-            applicationProfile = DEFAULT_PROFILE;
-        }
         final ResponseEntity<String> responseEntity = configTemplate.sendAndReceive(HttpMethod.POST, path,
                 value,
                 null,
                 String.class,
-                name,
-                applicationProfile);
+                resolveApplicationName(applicationName),
+                resolveProfile(profile));
         if (responseEntity == null) {
             return null;
         }
         return responseEntity.getBody();
     }
+
+    /**
+     * Resolves the application name to send to the config server.
+     *
+     * @param applicationName the application's name
+     * @return The application name or {@value DEFAULT_APPLICATION} if it is blank.
+     */
+    static String resolveApplicationName(final String applicationName) {
+        if (StringUtils.isBlank(applicationName)) {
+            return DEFAULT_APPLICATION;
+        }
+        return applicationName;
+    }
+
+    /**
+     * Resolves the profile to send to the config server.
+     *
+     * @param profile the profile of the application
+     * @return The profile or {@value DEFAULT_PROFILE} if it is blank.
+     */
+    static String resolveProfile(final String profile) {
+        if (StringUtils.isBlank(profile)) {
+            return DEFAULT_PROFILE;
+        }
+        return profile;
+    }
+
+    /**
+     * Encrypts or decrypts the provided values concurrently. Duplicate values are only sent to the config server once.
+     *
+     * @param path            the path security path to call on the config server
+     * @param values          the values to encrypt or decrypt
+     * @param applicationName the application's name
+     * @param profile         the profile of the application
+     * @param parallelism     the maximum number of requests in flight
+     * @return The results in the same order as the values.
+     * @throws ConfigException when interrupted while waiting to send the remaining values
+     */
+    List<BatchResult> encryptOrDecryptAll(final String path,
+                                          final Collection<String> values,
+                                          final String applicationName,
+                                          final String profile,
+                                          final int parallelism) throws ConfigException {
+        return new BatchExecutor(configTemplate, parallelism)
+                .execute(values, value -> encryptOrDecrypt(path, value, applicationName, profile));
+    }
+
+    /**
+     * Encrypts or decrypts the values of the provided map concurrently. Duplicate values are only sent to the config
+     * server once.
+     *
+     * @param path            the path security path to call on the config server
+     * @param values          the values to encrypt or decrypt, keyed by name
+     * @param applicationName the application's name
+     * @param profile         the profile of the application
+     * @param parallelism     the maximum number of requests in flight
+     * @return The results keyed by the same names and in the same iteration order as the values.
+     * @throws ConfigException when interrupted while waiting to send the remaining values
+     */
+    Map<String, BatchResult> encryptOrDecryptAll(final String path,
+                                                 final Map<String, String> values,
+                                                 final String applicationName,
+                                                 final String profile,
+                                                 final int parallelism) throws ConfigException {
+        final List<BatchResult> results = encryptOrDecryptAll(path, new ArrayList<>(values.values()), applicationName,
+                profile, parallelism);
+        final Map<String, BatchResult> resultMap = new LinkedHashMap<>();
+        final Iterator<BatchResult> resultIterator = results.iterator();
+        for (final String name : values.keySet()) {
+            resultMap.put(name, resultIterator.next());
+        }
+        return resultMap;
+    }
 }
@@ -0,0 +1,62 @@
+package io.github.piszmog.cloudconfig.metrics;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.http.HttpMethod;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Records metrics of the calls made to the config server. All methods do nothing by default.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public interface ConfigMetrics {
+    /**
+     * Metrics that are not recorded.
+     */
+    ConfigMetrics NOOP = new ConfigMetrics() {
+    };
+
+    /**
+     * Records a request sent to a config server URI.
+     *
+     * @param uriTemplate   the url path template of the request -- e.g. {@code /decrypt/{name}/{profiles}}
+     * @param method        the HTTP method of the request
+     * @param configUri     the config server URI the request was sent to
+     * @param status        the status code of the response or 0 if no response was received
+     * @param durationNanos the time the request took in nanoseconds
+     */
+    default void recordRequest(final String uriTemplate,
+                               final HttpMethod method,
+                               final String configUri,
+                               final int status,
+                               final long durationNanos) {
+    }
+
+    /**
+     * Records a request moving on to the next config server URI because the config server could not be reached.
+     *
+     * @param configUri the config server URI that could not be reached
+     */
+    default void recordFailover(final String configUri) {
+    }
+
+    /**
+     * Registers metrics of the connection pool used to call the config server.
+     *
+     * @param client            the name of the HTTP client the pool belongs to
+     * @param connectionManager the connection manager of the pool
+     */
+    default void bindConnectionPool(final String client, final PoolingHttpClientConnectionManager connectionManager) {
+    }
+
+    /**
+     * Registers metrics of the response body bytes read from the config server.
+     *
+     * @param client        the name of the HTTP client the bytes are read by
+     * @param bytesReceived the bytes received, as sent over the wire
+     * @param bytesDecoded  the bytes read after compressed responses are decompressed
+     */
+    default void bindResponseBytes(final String client, final LongSupplier bytesReceived, final LongSupplier bytesDecoded) {
+    }
+}
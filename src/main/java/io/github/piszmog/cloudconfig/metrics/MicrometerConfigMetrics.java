@@ -0,0 +1,138 @@
+package io.github.piszmog.cloudconfig.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Records the metrics of the calls made to the config server with Micrometer. Requires {@code micrometer-core} on the
+ * classpath.
+ * <ul>
+ * <li>{@code config.client.requests} -- timer tagged by {@code uri}, {@code method}, {@code target},
+ * {@code status} and {@code outcome}</li>
+ * <li>{@code config.client.failovers} -- counter tagged by the {@code target} that could not be reached</li>
+ * <li>{@code config.client.connections.leased}, {@code available}, {@code pending} and {@code max} -- gauges of the
+ * connection pool tagged by {@code client}</li>
+ * <li>{@code config.client.response.bytes} -- counter of response body bytes tagged by {@code client} and
+ * {@code stage}, either {@code received} over the wire or {@code decoded} after decompression</li>
+ * </ul>
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class MicrometerConfigMetrics implements ConfigMetrics {
+    static final String METRIC_REQUESTS = "config.client.requests";
+    static final String METRIC_FAILOVERS = "config.client.failovers";
+    static final String METRIC_CONNECTIONS = "config.client.connections";
+    static final String METRIC_RESPONSE_BYTES = "config.client.response.bytes";
+    private static final String STATUS_IO_ERROR = "IO_ERROR";
+    private static final String OUTCOME_SUCCESS = "SUCCESS";
+    private static final String OUTCOME_UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates metrics recording to the registry.
+     *
+     * @param meterRegistry the registry to record to
+     */
+    public MicrometerConfigMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recordRequest(final String uriTemplate,
+                              final HttpMethod method,
+                              final String configUri,
+                              final int status,
+                              final long durationNanos) {
+        Timer.builder(METRIC_REQUESTS)
+                .description("Requests sent to the Config Server")
+                .tags(Tags.of("uri", stripQuery(uriTemplate),
+                        "method", method.name(),
+                        "target", configUri,
+                        "status", status == 0 ? STATUS_IO_ERROR : String.valueOf(status),
+                        "outcome", outcome(status)))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFailover(final String configUri) {
+        Counter.builder(METRIC_FAILOVERS)
+                .description("Requests moved to the next Config Server because the server could not be reached")
+                .tag("target", configUri)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void bindConnectionPool(final String client, final PoolingHttpClientConnectionManager connectionManager) {
+        registerPoolGauge(client, connectionManager, "leased", "Connections in use", PoolStats::getLeased);
+        registerPoolGauge(client, connectionManager, "available", "Idle connections in the pool", PoolStats::getAvailable);
+        registerPoolGauge(client, connectionManager, "pending", "Requests waiting for a connection", PoolStats::getPending);
+        registerPoolGauge(client, connectionManager, "max", "Maximum connections of the pool", PoolStats::getMax);
+    }
+
+    @Override
+    public void bindResponseBytes(final String client, final LongSupplier bytesReceived, final LongSupplier bytesDecoded) {
+        registerResponseBytes(client, bytesReceived, "received", "Response body bytes received from the Config Server");
+        registerResponseBytes(client, bytesDecoded, "decoded", "Response body bytes after decompression");
+    }
+
+    private void registerResponseBytes(final String client,
+                                       final LongSupplier bytes,
+                                       final String stage,
+                                       final String description) {
+        //
+        // The supplier is usually a method reference held by nothing else, keep it from being garbage collected
+        //
+        FunctionCounter.builder(METRIC_RESPONSE_BYTES, bytes, LongSupplier::getAsLong)
+                .strongReference(true)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(Tags.of("client", client, "stage", stage))
+                .register(meterRegistry);
+    }
+
+    private void registerPoolGauge(final String client,
+                                   final PoolingHttpClientConnectionManager connectionManager,
+                                   final String name,
+                                   final String description,
+                                   final ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(METRIC_CONNECTIONS + "." + name, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .description(description)
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    private static String stripQuery(final String uriTemplate) {
+        final int queryIndex = uriTemplate.indexOf('?');
+        if (queryIndex < 0) {
+            return uriTemplate;
+        }
+        return uriTemplate.substring(0, queryIndex);
+    }
+
+    private static String outcome(final int status) {
+        final HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        if (series == null) {
+            return OUTCOME_UNKNOWN;
+        }
+        if (series == HttpStatus.Series.SUCCESSFUL) {
+            return OUTCOME_SUCCESS;
+        }
+        return series.name();
+    }
+}
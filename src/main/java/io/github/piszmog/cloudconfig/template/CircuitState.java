@@ -0,0 +1,21 @@
+package io.github.piszmog.cloudconfig.template;
+
+/**
+ * The state of the circuit breaker of a config server URI.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public enum CircuitState {
+    /**
+     * Requests are sent to the config server.
+     */
+    CLOSED,
+    /**
+     * The config server recently failed too many times in a row and is skipped until the open duration has elapsed.
+     */
+    OPEN,
+    /**
+     * The open duration has elapsed and a single probe request is being sent to check if the config server recovered.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,21 @@
+package io.github.piszmog.cloudconfig.template;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+
+/**
+ * An operation against the config server that produces a result.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ *
+ * @param <T> the type of the result
+ */
+@FunctionalInterface
+public interface ConfigCallable<T> {
+    /**
+     * Performs the operation.
+     *
+     * @return The result of the operation.
+     * @throws ConfigException when an error occurs when operating on the config server
+     */
+    T call() throws ConfigException;
+}
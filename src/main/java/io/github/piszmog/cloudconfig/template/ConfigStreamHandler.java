@@ -0,0 +1,24 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Handles the body of a response from the config server as a stream, rather than reading it into memory.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+@FunctionalInterface
+public interface ConfigStreamHandler<T> {
+    /**
+     * Handles the body of the response. The stream is closed once the handler returns.
+     *
+     * @param body    the body of the response
+     * @param headers the headers of the response
+     * @return The result of handling the body.
+     * @throws IOException when the body fails to be read or handled
+     */
+    T handle(InputStream body, HttpHeaders headers) throws IOException;
+}
@@ -1,25 +1,57 @@
 package io.github.piszmog.cloudconfig.template;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.metrics.ConfigMetrics;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.cloud.config.client.ConfigClientStateHolder;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Base64;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.springframework.cloud.config.client.ConfigClientProperties.*;
 
@@ -29,13 +61,27 @@ import static org.springframework.cloud.config.client.ConfigClientProperties.*;
  * Created by Piszmog on 5/5/2018
  */
 public abstract class ConfigTemplate {
-    private static final String HEADER_AUTHORIZATION = "Authorization";
-    private static final int DEFAULT_MAX_PER_ROUTE = 10;
-    private static final int DEFAULT_TOTAL_CONNECTIONS = 100;
+    private static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(500);
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
 
-    private final ThreadLocal<HttpHeaders> httpHeadersThreadLocal = new ThreadLocal<>();
     protected final ConfigClientProperties configClientProperties;
     protected RestTemplate restTemplate;
+    private final HttpClientSettings httpClientSettings;
+    private final ConcurrentMap<String, EndpointStatistics> endpointStatistics = new ConcurrentHashMap<>();
+    private volatile Executor asyncExecutor;
+    private volatile FailoverStrategy failoverStrategy = FailoverStrategy.SEQUENTIAL;
+    private volatile Duration hedgeDelay = DEFAULT_HEDGE_DELAY;
+    private volatile int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    private volatile Duration openDuration = DEFAULT_OPEN_DURATION;
+    private volatile Duration slowCallThreshold;
+    private volatile ConfigMetrics metrics = ConfigMetrics.NOOP;
+    private volatile PoolingHttpClientConnectionManager connectionManager;
+    private final ConcurrentMap<CoalescingKey, CompletableFuture<ResponseEntity<?>>> inFlightRequests = new ConcurrentHashMap<>();
+    private volatile boolean requestCoalescing;
+    private volatile EndpointHeaders endpointHeaders;
+    private final LongAdder responseBytesReceived = new LongAdder();
+    private final LongAdder responseBytesDecoded = new LongAdder();
 
     /**
      * creates a new template using the properties provided.
@@ -43,7 +89,22 @@ public abstract class ConfigTemplate {
      * @param configClientProperties the config server properties
      */
     public ConfigTemplate(final ConfigClientProperties configClientProperties) {
+        this(configClientProperties, new HttpClientSettings());
+    }
+
+    /**
+     * creates a new template using the properties and HTTP client settings provided.
+     *
+     * @param configClientProperties the config server properties
+     * @param httpClientSettings     the settings of the pooled HTTP client
+     */
+    public ConfigTemplate(final ConfigClientProperties configClientProperties,
+                          final HttpClientSettings httpClientSettings) {
+        if (httpClientSettings == null) {
+            throw new IllegalArgumentException("The HTTP client settings must be provided.");
+        }
         this.configClientProperties = configClientProperties;
+        this.httpClientSettings = httpClientSettings;
     }
 
     /**
@@ -53,10 +114,11 @@ public abstract class ConfigTemplate {
      * @param method       the operation to perform
      * @param urlPath      the url path to perform the request at -- adds to the config server url
      * @param requestBody  the request body to send in request
-     * @param httpHeaders  http headers to send in request
+     * @param httpHeaders  http headers to send in request -- e.g. {@code If-None-Match} to revalidate a resource
      * @param classType    the class type to convert response to
      * @param urlVariables the URL path variables
-     * @return The response entity from the HTTP call. Return null if an error occurred.
+     * @return The response entity from the HTTP call. Return null if an error occurred. A {@code 304 Not Modified}
+     * response is returned as is, without a body, along with its {@code ETag} and {@code Last-Modified} headers.
      * @throws ConfigException exception occurs when an error occurs when operating on the config server or when the
      *                         status code is not a 2xx
      */
@@ -66,113 +128,784 @@ public abstract class ConfigTemplate {
                                                 final HttpHeaders httpHeaders,
                                                 final Class<T> classType,
                                                 final Object... urlVariables) throws ConfigException {
+        final ConfigRequest<T> request = new ConfigRequest<>(method, urlPath, urlVariables, null, httpHeaders,
+                requestBody, classType, null);
+        return sendAndReceive(request);
+    }
+
+    /**
+     * Send the HTTP request to the Config Server and return the response from the Server. The URI is used as is, so
+     * no URI template is parsed or expanded for the request.
+     *
+     * @param <T>         the class type the response is converted to
+     * @param method      the operation to perform
+     * @param uriTemplate the url path template the URI was built from -- e.g. {@code /{name}/{profile}/{label}/{file}},
+     *                    recorded in the metrics instead of the URI so they are not tagged by every file requested
+     * @param uri         the encoded path, and optional query, to perform the request at -- adds to the config server
+     *                    url
+     * @param requestBody the request body to send in request
+     * @param httpHeaders http headers to send in request -- e.g. {@code If-None-Match} to revalidate a resource
+     * @param classType   the class type to convert response to
+     * @return The response entity from the HTTP call. Return null if an error occurred. A {@code 304 Not Modified}
+     * response is returned as is, without a body, along with its {@code ETag} and {@code Last-Modified} headers.
+     * @throws ConfigException exception occurs when an error occurs when operating on the config server or when the
+     *                         status code is not a 2xx
+     */
+    public <T> ResponseEntity<T> sendAndReceive(final HttpMethod method,
+                                                final String uriTemplate,
+                                                final URI uri,
+                                                final Object requestBody,
+                                                final HttpHeaders httpHeaders,
+                                                final Class<T> classType) throws ConfigException {
+        final ConfigRequest<T> request = new ConfigRequest<>(method, uriTemplate, new Object[0], uri, httpHeaders,
+                requestBody, classType, null);
+        return sendAndReceive(request);
+    }
+
+    private <T> ResponseEntity<T> sendAndReceive(final ConfigRequest<T> request) throws ConfigException {
+        if (requestCoalescing && request.method == HttpMethod.GET && request.requestBody == null) {
+            return sendAndReceiveCoalesced(request);
+        }
+        return sendAndReceiveToEndpoints(request);
+    }
+
+    private <T> ResponseEntity<T> sendAndReceiveToEndpoints(final ConfigRequest<T> request) throws ConfigException {
+        final int[] endpoints = selectEndpoints();
+        if (failoverStrategy == FailoverStrategy.HEDGED && endpoints.length > 1) {
+            return sendAndReceiveHedged(request, endpoints);
+        }
+        return sendAndReceiveSequential(request, endpoints);
+    }
+
+    /**
+     * Send the HTTP request to the Config Server and pass the body of the response to the handler as a stream, so the
+     * body is never held in memory as a whole. The config server URIs are tried in order, a stream is not hedged
+     * across them.
+     *
+     * @param <T>          the type of the result of the handler
+     * @param method       the operation to perform
+     * @param urlPath      the url path to perform the request at -- adds to the config server url
+     * @param httpHeaders  http headers to send in request -- e.g. an {@code Accept} header, defaults to JSON
+     * @param handler      the handler of the response body
+     * @param urlVariables the URL path variables
+     * @return The result of the handler or null if no config server has the resource.
+     * @throws ConfigException exception occurs when an error occurs when operating on the config server, when the
+     *                         status code is not a 2xx or when the handler fails to handle the body
+     */
+    public <T> T sendAndReceiveStream(final HttpMethod method,
+                                      final String urlPath,
+                                      final HttpHeaders httpHeaders,
+                                      final ConfigStreamHandler<T> handler,
+                                      final Object... urlVariables) throws ConfigException {
+        final ConfigRequest<T> request = new ConfigRequest<>(method, urlPath, urlVariables, null, httpHeaders, null,
+                null, handler);
+        return sendAndReceiveStream(request);
+    }
+
+    /**
+     * Send the HTTP request to the Config Server and pass the body of the response to the handler as a stream. The URI
+     * is used as is, so no URI template is parsed or expanded for the request.
+     *
+     * @param <T>         the type of the result of the handler
+     * @param method      the operation to perform
+     * @param uriTemplate the url path template the URI was built from -- e.g. {@code /{name}/{profile}/{label}/{file}},
+     *                    recorded in the metrics instead of the URI
+     * @param uri         the encoded path, and optional query, to perform the request at -- adds to the config server
+     *                    url
+     * @param httpHeaders http headers to send in request -- e.g. an {@code Accept} header, defaults to JSON
+     * @param handler     the handler of the response body
+     * @return The result of the handler or null if no config server has the resource.
+     * @throws ConfigException exception occurs when an error occurs when operating on the config server, when the
+     *                         status code is not a 2xx or when the handler fails to handle the body
+     * @see #sendAndReceiveStream(HttpMethod, String, HttpHeaders, ConfigStreamHandler, Object...)
+     */
+    public <T> T sendAndReceiveStream(final HttpMethod method,
+                                      final String uriTemplate,
+                                      final URI uri,
+                                      final HttpHeaders httpHeaders,
+                                      final ConfigStreamHandler<T> handler) throws ConfigException {
+        final ConfigRequest<T> request = new ConfigRequest<>(method, uriTemplate, new Object[0], uri, httpHeaders,
+                null, null, handler);
+        return sendAndReceiveStream(request);
+    }
+
+    private <T> T sendAndReceiveStream(final ConfigRequest<T> request) throws ConfigException {
+        final ResponseEntity<T> responseEntity;
+        try {
+            responseEntity = sendAndReceiveSequential(request, selectEndpoints());
+        } catch (StreamException e) {
+            throw new ConfigException("Failed to read the response of " + request.method.name() + " at " +
+                    request.describe() + " from the Config Server.", e.getCause());
+        }
+        if (responseEntity == null) {
+            return null;
+        }
+        return responseEntity.getBody();
+    }
+
+    /**
+     * Send the HTTP request to the Config Server without blocking the calling thread. The request is performed on the
+     * {@link #getAsyncExecutor() async executor}.
+     *
+     * @param <T>          the class type the response is converted to
+     * @param method       the operation to perform
+     * @param urlPath      the url path to perform the request at -- adds to the config server url
+     * @param requestBody  the request body to send in request
+     * @param httpHeaders  http headers to send in request
+     * @param classType    the class type to convert response to
+     * @param urlVariables the URL path variables
+     * @return The future of the response entity. The future completes with null if no config server returned the
+     * resource or exceptionally with a {@link ConfigException} when an error occurs.
+     * @see #sendAndReceive(HttpMethod, String, Object, HttpHeaders, Class, Object...)
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> sendAndReceiveAsync(final HttpMethod method,
+                                                                       final String urlPath,
+                                                                       final Object requestBody,
+                                                                       final HttpHeaders httpHeaders,
+                                                                       final Class<T> classType,
+                                                                       final Object... urlVariables) {
+        return executeAsync(() -> sendAndReceive(method, urlPath, requestBody, httpHeaders, classType, urlVariables));
+    }
+
+    /**
+     * Performs the operation on the {@link #getAsyncExecutor() async executor}.
+     *
+     * @param <T>      the type of the result
+     * @param callable the operation to perform
+     * @return The future of the result. The future completes exceptionally with the exception thrown by the operation
+     * or a {@link RejectedExecutionException} if the executor did not accept the operation.
+     */
+    public <T> CompletableFuture<T> executeAsync(final ConfigCallable<T> callable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            getAsyncExecutor().execute(() -> {
+                try {
+                    future.complete(callable.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sets the executor the asynchronous operations are performed on.
+     *
+     * @param asyncExecutor the executor to use
+     */
+    public void setAsyncExecutor(final Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Performs the asynchronous operations, and the requests hedged across config servers, on virtual threads. Each
+     * operation runs on its own virtual thread, so many blocking requests can be in flight at once without a large pool
+     * of platform threads. Requires Java 21 or greater.
+     *
+     * @throws IllegalStateException when the JVM does not support virtual threads
+     */
+    public void useVirtualThreads() {
+        setAsyncExecutor(VirtualThreads.newExecutor("config-client-virtual-"));
+    }
+
+    /**
+     * Retrieves the executor the asynchronous operations are performed on. If no executor has been set, a cached pool
+     * of daemon threads is created on first use.
+     *
+     * @return The executor.
+     */
+    public Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    executor = createDefaultAsyncExecutor();
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService createDefaultAsyncExecutor() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "config-client-async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> sendAndReceiveCoalesced(final ConfigRequest<T> request) throws ConfigException {
+        final CoalescingKey key = new CoalescingKey(request.describe(),
+                request.httpHeaders,
+                request.classType);
+        final CompletableFuture<ResponseEntity<?>> future = new CompletableFuture<>();
+        final CompletableFuture<ResponseEntity<?>> inFlight = inFlightRequests.putIfAbsent(key, future);
+        //
+        // An identical request is already being sent, share its response rather than sending another
+        //
+        if (inFlight != null) {
+            return (ResponseEntity<T>) awaitInFlight(inFlight);
+        }
+        try {
+            final ResponseEntity<T> responseEntity = sendAndReceiveToEndpoints(request);
+            future.complete(responseEntity);
+            return responseEntity;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, future);
+        }
+    }
+
+    private static ResponseEntity<?> awaitInFlight(final CompletableFuture<ResponseEntity<?>> inFlight) throws ConfigException {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ConfigException) {
+                throw (ConfigException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ConfigException(cause);
+        }
+    }
+
+    private int[] selectEndpoints() {
         final String[] configUris = configClientProperties.getUri();
-        final int numberOfUris = configUris.length;
-        for (int i = 0; i < numberOfUris; i++) {
-            Credentials credentials = configClientProperties.getCredentials(i);
-            final ResponseEntity<T> responseEntity = sendAndReceiveToConfigServer(method,
-                    urlPath,
-                    urlVariables,
-                    httpHeaders,
-                    requestBody,
-                    credentials,
-                    classType);
-            if (responseEntity != null) {
-                return responseEntity;
+        final int[] endpoints = IntStream.range(0, configUris.length).toArray();
+        if (failoverStrategy != FailoverStrategy.FASTEST) {
+            return endpoints;
+        }
+        //
+        // Config servers that recently failed go last, the rest are ordered by their average latency
+        //
+        return Arrays.stream(endpoints)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> getEndpointStatistics(configUris[i]).getConsecutiveFailures() > 0 ? 1 : 0)
+                        .thenComparingLong(i -> getEndpointStatistics(configUris[i]).getAverageLatencyNanos()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Finds the next config server whose circuit allows a request, starting at the index. The circuit is only acquired
+     * right before the request is sent, so a half open config server is not left waiting on a probe that never runs.
+     *
+     * @param endpoints      the config servers in the order they are tried
+     * @param index          the index of the first config server to check
+     * @param bypassCircuits true if every config server is tried regardless of its circuit
+     * @return The index of the config server or the length of the endpoints if no config server allows a request.
+     */
+    private int acquireNext(final int[] endpoints, final int index, final boolean bypassCircuits) {
+        if (bypassCircuits) {
+            return index;
+        }
+        final String[] configUris = configClientProperties.getUri();
+        final long openDurationNanos = openDuration.toNanos();
+        int next = index;
+        while (next < endpoints.length
+                && !getEndpointStatistics(configUris[endpoints[next]]).tryAcquire(System.nanoTime(), openDurationNanos)) {
+            next++;
+        }
+        return next;
+    }
+
+    private <T> ResponseEntity<T> sendAndReceiveSequential(final ConfigRequest<T> request,
+                                                           final int[] endpoints) throws ConfigException {
+        int next = acquireNext(endpoints, 0, false);
+        //
+        // When every circuit is open, try all the config servers anyway rather than failing without a request
+        //
+        final boolean bypassCircuits = next == endpoints.length;
+        if (bypassCircuits) {
+            next = 0;
+        }
+        ResourceAccessException accessException = null;
+        boolean responded = false;
+        while (next < endpoints.length) {
+            final int endpoint = endpoints[next];
+            try {
+                final ResponseEntity<T> responseEntity = sendAndReceiveToConfigServer(request, endpoint);
+                if (responseEntity != null) {
+                    return responseEntity;
+                }
+                responded = true;
+            } catch (ResourceAccessException e) {
+                //
+                // The config server could not be reached, fail over to the next one
+                //
+                accessException = e;
+                metrics.recordFailover(configClientProperties.getUri()[endpoint]);
+            }
+            next = acquireNext(endpoints, next + 1, bypassCircuits);
+        }
+        return noResponse(request, accessException, responded);
+    }
+
+    private <T> ResponseEntity<T> sendAndReceiveHedged(final ConfigRequest<T> request,
+                                                       final int[] endpoints) throws ConfigException {
+        final BlockingQueue<Attempt<T>> completedAttempts = new LinkedBlockingQueue<>();
+        final long hedgeDelayNanos = hedgeDelay.toNanos();
+        ResourceAccessException accessException = null;
+        boolean responded = false;
+        int next = acquireNext(endpoints, 0, false);
+        //
+        // When every circuit is open, try all the config servers anyway rather than failing without a request
+        //
+        final boolean bypassCircuits = next == endpoints.length;
+        if (bypassCircuits) {
+            next = 0;
+        }
+        int pending = 0;
+        try {
+            startAttempt(request, endpoints[next++], completedAttempts);
+            pending++;
+            while (pending > 0) {
+                final Attempt<T> attempt;
+                if (next < endpoints.length) {
+                    attempt = completedAttempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    attempt = completedAttempts.take();
+                }
+                if (attempt == null) {
+                    //
+                    // No response within the hedge delay, also send the request to the next config server
+                    //
+                    next = acquireNext(endpoints, next, bypassCircuits);
+                    if (next < endpoints.length) {
+                        startAttempt(request, endpoints[next++], completedAttempts);
+                        pending++;
+                    }
+                    continue;
+                }
+                pending--;
+                if (attempt.responseEntity != null) {
+                    return attempt.responseEntity;
+                }
+                if (attempt.configException != null) {
+                    throw attempt.configException;
+                }
+                if (attempt.runtimeException instanceof ResourceAccessException) {
+                    accessException = (ResourceAccessException) attempt.runtimeException;
+                    metrics.recordFailover(attempt.configUri);
+                } else if (attempt.runtimeException != null) {
+                    throw attempt.runtimeException;
+                } else {
+                    responded = true;
+                }
+                if (pending == 0) {
+                    next = acquireNext(endpoints, next, bypassCircuits);
+                    if (next < endpoints.length) {
+                        startAttempt(request, endpoints[next++], completedAttempts);
+                        pending++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigException("Interrupted while waiting for a response from the Config Server.", e);
+        }
+        return noResponse(request, accessException, responded);
+    }
+
+    private <T> void startAttempt(final ConfigRequest<T> request,
+                                  final int endpoint,
+                                  final BlockingQueue<Attempt<T>> completedAttempts) {
+        final String configUri = configClientProperties.getUri()[endpoint];
+        getAsyncExecutor().execute(() -> {
+            final Attempt<T> attempt = new Attempt<>(configUri);
+            try {
+                attempt.responseEntity = sendAndReceiveToConfigServer(request, endpoint);
+            } catch (ConfigException e) {
+                attempt.configException = e;
+            } catch (RuntimeException e) {
+                attempt.runtimeException = e;
             }
+            completedAttempts.add(attempt);
+        });
+    }
+
+    private <T> ResponseEntity<T> noResponse(final ConfigRequest<T> request,
+                                             final ResourceAccessException accessException,
+                                             final boolean responded) throws ConfigException {
+        //
+        // Only an error if no config server could be reached, otherwise none of them have the resource
+        //
+        if (accessException != null && !responded) {
+            throw new ConfigException("Failed to access resource at " + request.describe(),
+                    accessException);
         }
         return null;
     }
 
-    private <T> ResponseEntity<T> sendAndReceiveToConfigServer(final HttpMethod method,
-                                                               final String urlPath,
-                                                               final Object[] urlVariables,
-                                                               final HttpHeaders httpHeaders,
-                                                               final Object requestBody,
-                                                               final Credentials credentials,
-                                                               final Class<T> classType) throws ConfigException {
-        String configUri = credentials.getUri();
-        String username = credentials.getUsername();
-        String password = credentials.getPassword();
+    private <T> ResponseEntity<T> sendAndReceiveToConfigServer(final ConfigRequest<T> request,
+                                                               final int endpoint) throws ConfigException {
+        final EndpointHeaders headers = getEndpointHeaders();
+        final Credentials credentials = headers.getCredentials(endpoint);
+        //
+        // Resolve the headers before timing the request, so a configuration error is not counted against the circuit
+        //
+        final HttpHeaders endpointHeaders = headers.getHeaders(endpoint);
+        final EndpointStatistics statistics = getEndpointStatistics(credentials.getUri());
+        final long start = System.nanoTime();
+        boolean reachable = false;
+        int status = 0;
+        try {
+            final ResponseEntity<T> responseEntity = sendAndReceiveToConfigServer(request,
+                    credentials.getUri(),
+                    endpointHeaders);
+            reachable = true;
+            status = responseEntity == null ? HttpStatus.NOT_FOUND.value() : responseEntity.getStatusCode().value();
+            return responseEntity;
+        } catch (ConfigException e) {
+            //
+            // The config server responded with a client error status, it is still reachable
+            //
+            reachable = true;
+            status = getStatus(e.getCause());
+            throw e;
+        } catch (StreamException e) {
+            //
+            // The config server responded, but the body failed to be handled
+            //
+            reachable = true;
+            status = e.status;
+            throw e;
+        } catch (RestClientResponseException e) {
+            status = e.getStatusCode().value();
+            throw e;
+        } finally {
+            final long now = System.nanoTime();
+            recordOutcome(statistics, now - start, now, reachable);
+            metrics.recordRequest(request.urlPath, request.method, credentials.getUri(), status, now - start);
+        }
+    }
+
+    private static int getStatus(final Throwable cause) {
+        if (cause instanceof RestClientResponseException) {
+            return ((RestClientResponseException) cause).getStatusCode().value();
+        }
+        return 0;
+    }
+
+    private void recordOutcome(final EndpointStatistics statistics,
+                               final long latency,
+                               final long now,
+                               final boolean reachable) {
+        final Duration slowCall = slowCallThreshold;
+        if (!reachable) {
+            statistics.recordFailure(now, failureThreshold);
+        } else if (slowCall != null && latency > slowCall.toNanos()) {
+            statistics.recordSlowCall(latency, now, failureThreshold);
+        } else {
+            statistics.recordSuccess(latency);
+        }
+    }
+
+    private <T> ResponseEntity<T> sendAndReceiveToConfigServer(final ConfigRequest<T> request,
+                                                               final String configUri,
+                                                               final HttpHeaders securityHeaders) throws ConfigException {
         HttpEntity<Object> entity;
-        HttpHeaders headers = addSecurityHeaders(httpHeaders, username, password);
-        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpHeaders headers = addSecurityHeaders(request.httpHeaders, securityHeaders);
+        if (headers.getAccept().isEmpty()) {
+            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        }
         addStateHeader(headers);
-        if (requestBody == null) {
+        if (request.requestBody == null) {
             entity = new HttpEntity<>(headers);
         } else {
-            entity = new HttpEntity<>(requestBody, headers);
+            entity = new HttpEntity<>(request.requestBody, headers);
         }
-        return sendAndReceive(method, urlPath, urlVariables, entity, configUri, classType);
+        if (request.streamHandler != null) {
+            return receiveStream(request, entity, configUri);
+        }
+        return sendAndReceive(request, entity, configUri);
     }
 
-    private HttpHeaders addSecurityHeaders(final HttpHeaders httpHeaders, final String username, final String password) {
-        HttpHeaders headers = httpHeaders;
-        if (headers == null) {
-            HttpHeaders localHttpHeaders = httpHeadersThreadLocal.get();
-            if (localHttpHeaders == null) {
-                localHttpHeaders = new HttpHeaders();
-                httpHeadersThreadLocal.set(localHttpHeaders);
-            }
-            localHttpHeaders.clear();
-            headers = localHttpHeaders;
-        }
-        String authorization = configClientProperties.getHeaders().get(AUTHORIZATION);
-        final String token = configClientProperties.getToken();
+    EndpointStatistics getEndpointStatistics(final String configUri) {
+        return endpointStatistics.computeIfAbsent(configUri, EndpointStatistics::new);
+    }
+
+    /**
+     * Retrieves a snapshot of the health of each configured config server URI, in the order they are configured.
+     *
+     * @return The health of the config server URIs.
+     */
+    public List<EndpointHealth> getEndpointHealth() {
+        return Arrays.stream(configClientProperties.getUri())
+                .map(uri -> getEndpointStatistics(uri).toHealth())
+                .collect(Collectors.toList());
+    }
+
+    private EndpointHeaders getEndpointHeaders() {
         //
-        // Set the token header if need to authenticate
+        // Only rebuild the headers when the properties they are built from have changed
         //
-        if (StringUtils.isNotBlank(token)) {
-            headers.add(TOKEN_HEADER, token);
+        EndpointHeaders headers = endpointHeaders;
+        if (headers == null || !headers.isCurrent(configClientProperties)) {
+            headers = new EndpointHeaders(configClientProperties);
+            endpointHeaders = headers;
         }
-        if (password != null && authorization != null) {
-            throw new IllegalArgumentException("You must set either 'password' or 'authorization.' Both cannot be used.");
-        }
-        if (password != null) {
-            byte[] credentialsEncoded = Base64.getEncoder().encode((username + ":" + password).getBytes());
-            headers.add(HEADER_AUTHORIZATION, "Basic " + new String(credentialsEncoded));
-        } else if (authorization != null) {
-            headers.add(HEADER_AUTHORIZATION, authorization);
+        return headers;
+    }
+
+    private HttpHeaders addSecurityHeaders(final HttpHeaders httpHeaders, final HttpHeaders securityHeaders) {
+        //
+        // A new instance per request is cheap and, unlike a ThreadLocal, is not retained by every virtual thread
+        //
+        final HttpHeaders headers = new HttpHeaders();
+        //
+        // Copy the provided headers so they are left untouched -- e.g. conditional headers are reused for each URI
+        //
+        if (httpHeaders != null) {
+            headers.addAll(httpHeaders);
         }
+        headers.addAll(securityHeaders);
         return headers;
     }
 
     private void addStateHeader(final HttpHeaders headers) {
+        if (!configClientProperties.isSendState()) {
+            return;
+        }
         final String state = ConfigClientStateHolder.getState();
-        if (StringUtils.isNotBlank(state) && configClientProperties.isSendState()) {
+        if (StringUtils.isNotBlank(state)) {
             headers.add(STATE_HEADER, state);
         }
     }
 
-    private <T> ResponseEntity<T> sendAndReceive(final HttpMethod method,
-                                                 final String urlPath,
-                                                 final Object[] urlVariables,
+    private <T> ResponseEntity<T> sendAndReceive(final ConfigRequest<T> request,
                                                  final HttpEntity<Object> entity,
-                                                 final String configUri,
-                                                 final Class<T> classType) throws ConfigException {
+                                                 final String configUri) throws ConfigException {
         ResponseEntity<T> responseEntity = null;
         try {
-            responseEntity = restTemplate.exchange(configUri + urlPath,
-                    method,
-                    entity,
-                    classType,
-                    urlVariables);
+            if (request.uri != null) {
+                responseEntity = restTemplate.exchange(toUri(configUri, request.uri),
+                        request.method,
+                        entity,
+                        request.classType);
+            } else {
+                responseEntity = restTemplate.exchange(configUri + request.urlPath,
+                        request.method,
+                        entity,
+                        request.classType,
+                        request.urlVariables);
+            }
         } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
-                throw new ConfigException("Failed to perform " + method.name() + " at " +
-                        expandUrl(urlPath, urlVariables) + " on the Config Server. " +
-                        "Received Status " + e.getStatusCode(), e);
+            handleClientError(request, e);
+        }
+        return responseEntity;
+    }
+
+    private <T> ResponseEntity<T> receiveStream(final ConfigRequest<T> request,
+                                                final HttpEntity<Object> entity,
+                                                final String configUri) throws ConfigException {
+        final RequestCallback requestCallback = clientRequest -> clientRequest.getHeaders().putAll(entity.getHeaders());
+        final ResponseExtractor<ResponseEntity<T>> responseExtractor = response ->
+                new ResponseEntity<>(handleStream(request.streamHandler, response),
+                        response.getHeaders(),
+                        response.getStatusCode());
+        ResponseEntity<T> responseEntity = null;
+        try {
+            if (request.uri != null) {
+                responseEntity = restTemplate.execute(toUri(configUri, request.uri),
+                        request.method,
+                        requestCallback,
+                        responseExtractor);
+            } else {
+                responseEntity = restTemplate.execute(configUri + request.urlPath,
+                        request.method,
+                        requestCallback,
+                        responseExtractor,
+                        request.urlVariables);
             }
-        } catch (ResourceAccessException e) {
-            throw new ConfigException("Failed to access resource at " + expandUrl(urlPath, urlVariables), e);
+        } catch (HttpClientErrorException e) {
+            handleClientError(request, e);
         }
         return responseEntity;
     }
 
-    private String expandUrl(final String url, final Object... urlVariables) {
+    private static URI toUri(final String configUri, final URI uri) {
+        //
+        // The URI is already encoded, so it is only appended to the config server URI rather than expanded
+        //
+        return URI.create(configUri + uri.toString());
+    }
+
+    private static <T> T handleStream(final ConfigStreamHandler<T> handler, final ClientHttpResponse response) {
+        //
+        // Wrap the failure so it is not mistaken for the config server being unreachable and retried elsewhere
+        //
+        try (InputStream body = response.getBody()) {
+            return handler.handle(body, response.getHeaders());
+        } catch (IOException e) {
+            throw new StreamException(getStatus(response), e);
+        }
+    }
+
+    private static int getStatus(final ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().value();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void handleClientError(final ConfigRequest<?> request,
+                                          final HttpClientErrorException e) throws ConfigException {
+        if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
+            throw new ConfigException("Failed to perform " + request.method.name() + " at " +
+                    request.describe() + " on the Config Server. " +
+                    "Received Status " + e.getStatusCode(), e);
+        }
+    }
+
+    private static String expandUrl(final String url, final Object... urlVariables) {
         return UriComponentsBuilder.fromPath(url).buildAndExpand(urlVariables).toUriString();
     }
 
+    /**
+     * Sets how requests are spread across the configured config server URIs. Defaults to
+     * {@link FailoverStrategy#SEQUENTIAL}.
+     *
+     * @param failoverStrategy the strategy to use
+     */
+    public void setFailoverStrategy(final FailoverStrategy failoverStrategy) {
+        this.failoverStrategy = failoverStrategy;
+    }
+
+    /**
+     * Retrieves how requests are spread across the configured config server URIs.
+     *
+     * @return The failover strategy.
+     */
+    public FailoverStrategy getFailoverStrategy() {
+        return failoverStrategy;
+    }
+
+    /**
+     * Sets the time to wait for a config server to respond before also sending the request to the next config server
+     * when using the {@link FailoverStrategy#HEDGED} strategy. Defaults to 500 milliseconds.
+     *
+     * @param hedgeDelay the time to wait
+     */
+    public void setHedgeDelay(final Duration hedgeDelay) {
+        if (hedgeDelay == null || hedgeDelay.isNegative()) {
+            throw new IllegalArgumentException("The hedge delay must be zero or greater.");
+        }
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * Retrieves the time to wait for a config server to respond before also sending the request to the next config
+     * server when using the {@link FailoverStrategy#HEDGED} strategy.
+     *
+     * @return The hedge delay.
+     */
+    public Duration getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Sets whether identical {@code GET} requests sent at the same time share a single request to the config server.
+     * Requests are identical when they have the same expanded URL, headers and class type. Every caller receives the
+     * same response, so a mutable body, such as a {@code byte[]}, is shared between them. Defaults to false.
+     *
+     * @param requestCoalescing true to share identical concurrent requests
+     */
+    public void setRequestCoalescing(final boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    /**
+     * Determines whether identical {@code GET} requests sent at the same time share a single request to the config
+     * server.
+     *
+     * @return True if identical concurrent requests are shared.
+     */
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Sets the number of consecutive failures after which a config server URI is skipped for the
+     * {@link #setCircuitOpenDuration(Duration) open duration}. Connection failures, server errors and
+     * {@link #setSlowCallThreshold(Duration) slow calls} count as failures. Defaults to 5.
+     *
+     * @param failureThreshold the number of consecutive failures or 0 to never skip a config server URI
+     */
+    public void setCircuitFailureThreshold(final int failureThreshold) {
+        if (failureThreshold < 0) {
+            throw new IllegalArgumentException("The failure threshold must be zero or greater.");
+        }
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Retrieves the number of consecutive failures after which a config server URI is skipped.
+     *
+     * @return The failure threshold.
+     */
+    public int getCircuitFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets the time a config server URI is skipped after reaching the failure threshold. Once elapsed, a single probe
+     * request is sent to the config server to check if it recovered. Defaults to 30 seconds.
+     *
+     * @param openDuration the time to skip the config server URI
+     */
+    public void setCircuitOpenDuration(final Duration openDuration) {
+        if (openDuration == null || openDuration.isNegative()) {
+            throw new IllegalArgumentException("The open duration must be zero or greater.");
+        }
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Retrieves the time a config server URI is skipped after reaching the failure threshold.
+     *
+     * @return The open duration.
+     */
+    public Duration getCircuitOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Sets the time after which a response counts as a failure towards the failure threshold. Disabled by default.
+     *
+     * @param slowCallThreshold the time after which a response is slow or null to disable
+     */
+    public void setSlowCallThreshold(final Duration slowCallThreshold) {
+        if (slowCallThreshold != null && slowCallThreshold.isNegative()) {
+            throw new IllegalArgumentException("The slow call threshold must be zero or greater.");
+        }
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    /**
+     * Retrieves the time after which a response counts as a failure towards the failure threshold.
+     *
+     * @return The slow call threshold or null if disabled.
+     */
+    public Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
     /**
      * Retrieves the name of the application.
      *
@@ -201,8 +934,79 @@ public abstract class ConfigTemplate {
     }
 
     /**
-     * Creates a pooling request factory with the provided timeout. The pool of connections allow for 10 max connections
-     * per route with a total of 100 connections.
+     * Sets the metrics the calls to the config server are recorded to -- e.g. {@code MicrometerConfigMetrics}. If the
+     * HTTP client has already been created, its connection pool and response byte counts are bound to the metrics.
+     *
+     * @param metrics the metrics to record to
+     */
+    public void setMetrics(final ConfigMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("The metrics must be provided.");
+        }
+        this.metrics = metrics;
+        final PoolingHttpClientConnectionManager manager = connectionManager;
+        if (manager != null) {
+            final String client = getMetricsClient();
+            metrics.bindConnectionPool(client, manager);
+            metrics.bindResponseBytes(client, responseBytesReceived::sum, responseBytesDecoded::sum);
+        }
+    }
+
+    /**
+     * Retrieves the name the metrics of the HTTP client are tagged by -- the {@link HttpClientSettings#getName() name}
+     * of the HTTP client settings if set, otherwise the config server URIs.
+     *
+     * @return The name of the HTTP client in the metrics.
+     */
+    public String getMetricsClient() {
+        final String name = httpClientSettings.getName();
+        if (name != null) {
+            return name;
+        }
+        return String.join(",", configClientProperties.getUri());
+    }
+
+    /**
+     * Retrieves the metrics the calls to the config server are recorded to.
+     *
+     * @return The metrics.
+     */
+    public ConfigMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Retrieves the settings of the pooled HTTP client.
+     *
+     * @return The HTTP client settings.
+     */
+    public HttpClientSettings getHttpClientSettings() {
+        return httpClientSettings;
+    }
+
+    /**
+     * Retrieves the number of response body bytes received from the config server, as sent over the wire. Only
+     * responses of the HTTP client created by {@link #createHttpClientFactory()} are counted.
+     *
+     * @return The bytes received.
+     */
+    public long getResponseBytesReceived() {
+        return responseBytesReceived.sum();
+    }
+
+    /**
+     * Retrieves the number of response body bytes read from the config server after compressed responses are
+     * decompressed. Compared to {@link #getResponseBytesReceived()}, shows how much compression saves.
+     *
+     * @return The bytes decoded.
+     */
+    public long getResponseBytesDecoded() {
+        return responseBytesDecoded.sum();
+    }
+
+    /**
+     * Creates a pooling request factory using the {@link #getHttpClientSettings() HTTP client settings}. By default,
+     * the pool of connections allow for 10 max connections per route with a total of 100 connections.
      *
      * @return The client http request factory.
      */
@@ -214,20 +1018,179 @@ public abstract class ConfigTemplate {
     }
 
     private RequestConfig buildRequestConfig() {
-        return RequestConfig.custom().build();
+        final RequestConfig.Builder builder = RequestConfig.custom()
+                .setConnectionRequestTimeout(toTimeout(httpClientSettings.getConnectionRequestTimeout()));
+        if (httpClientSettings.getResponseTimeout() != null) {
+            builder.setResponseTimeout(toTimeout(httpClientSettings.getResponseTimeout()));
+        }
+        if (httpClientSettings.getKeepAlive() != null) {
+            builder.setConnectionKeepAlive(toTimeValue(httpClientSettings.getKeepAlive()));
+        }
+        return builder.build();
     }
 
     private PoolingHttpClientConnectionManager createConnectionManager() {
         final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_PER_ROUTE);
-        connectionManager.setMaxTotal(DEFAULT_TOTAL_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(httpClientSettings.getMaxPerRoute());
+        connectionManager.setMaxTotal(httpClientSettings.getMaxTotal());
+        connectionManager.setDefaultConnectionConfig(buildConnectionConfig());
+        this.connectionManager = connectionManager;
+        metrics.bindConnectionPool(getMetricsClient(), connectionManager);
         return connectionManager;
     }
 
+    private ConnectionConfig buildConnectionConfig() {
+        final ConnectionConfig.Builder builder = ConnectionConfig.custom();
+        //
+        // Fall back to the timeouts of the config client properties
+        //
+        final Duration connectTimeout = httpClientSettings.getConnectTimeout() != null
+                ? httpClientSettings.getConnectTimeout()
+                : toDuration(configClientProperties.getRequestConnectTimeout());
+        final Duration socketTimeout = httpClientSettings.getSocketTimeout() != null
+                ? httpClientSettings.getSocketTimeout()
+                : toDuration(configClientProperties.getRequestReadTimeout());
+        if (connectTimeout != null) {
+            builder.setConnectTimeout(toTimeout(connectTimeout));
+        }
+        if (socketTimeout != null) {
+            builder.setSocketTimeout(toTimeout(socketTimeout));
+        }
+        if (httpClientSettings.getTimeToLive() != null) {
+            builder.setTimeToLive(toTimeValue(httpClientSettings.getTimeToLive()));
+        }
+        if (httpClientSettings.getValidateAfterInactivity() != null) {
+            builder.setValidateAfterInactivity(toTimeValue(httpClientSettings.getValidateAfterInactivity()));
+        }
+        return builder.build();
+    }
+
     private CloseableHttpClient buildHttpClient(final RequestConfig requestConfig, final HttpClientConnectionManager connectionManager) {
-        return HttpClients.custom()
+        final HttpClientBuilder builder = HttpClients.custom()
                 .setConnectionManager(connectionManager)
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+                .setDefaultRequestConfig(requestConfig);
+        if (httpClientSettings.getEvictIdleConnectionsAfter() != null) {
+            builder.evictExpiredConnections()
+                    .evictIdleConnections(toTimeValue(httpClientSettings.getEvictIdleConnectionsAfter()));
+        }
+        if (httpClientSettings.isContentCompression()) {
+            //
+            // Count the compressed bytes inside the decompression element and the decompressed bytes outside of it
+            //
+            builder.addExecInterceptorAfter(ChainElement.COMPRESS.name(), "count-received",
+                            new ResponseByteCounter(responseBytesReceived))
+                    .addExecInterceptorBefore(ChainElement.COMPRESS.name(), "count-decoded",
+                            new ResponseByteCounter(responseBytesDecoded));
+        } else {
+            builder.disableContentCompression()
+                    .addExecInterceptorFirst("count-received",
+                            new ResponseByteCounter(responseBytesReceived, responseBytesDecoded));
+        }
+        metrics.bindResponseBytes(getMetricsClient(), responseBytesReceived::sum, responseBytesDecoded::sum);
+        return builder.build();
+    }
+
+    private static Duration toDuration(final int millis) {
+        if (millis <= 0) {
+            return null;
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    private static Timeout toTimeout(final Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(final Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+
+    private static final class ConfigRequest<T> {
+        private final HttpMethod method;
+        private final String urlPath;
+        private final Object[] urlVariables;
+        private final URI uri;
+        private final HttpHeaders httpHeaders;
+        private final Object requestBody;
+        private final Class<T> classType;
+        private final ConfigStreamHandler<T> streamHandler;
+
+        private ConfigRequest(final HttpMethod method,
+                              final String urlPath,
+                              final Object[] urlVariables,
+                              final URI uri,
+                              final HttpHeaders httpHeaders,
+                              final Object requestBody,
+                              final Class<T> classType,
+                              final ConfigStreamHandler<T> streamHandler) {
+            this.method = method;
+            this.urlPath = urlPath;
+            this.urlVariables = urlVariables;
+            this.uri = uri;
+            this.httpHeaders = httpHeaders;
+            this.requestBody = requestBody;
+            this.classType = classType;
+            this.streamHandler = streamHandler;
+        }
+
+        private String describe() {
+            if (uri != null) {
+                return uri.toString();
+            }
+            return expandUrl(urlPath, urlVariables);
+        }
+    }
+
+    private static final class CoalescingKey {
+        private final String url;
+        private final HttpHeaders httpHeaders;
+        private final Class<?> classType;
+        private final int hashCode;
+
+        private CoalescingKey(final String url, final HttpHeaders httpHeaders, final Class<?> classType) {
+            this.url = url;
+            this.httpHeaders = httpHeaders;
+            this.classType = classType;
+            this.hashCode = Objects.hash(url, httpHeaders, classType);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CoalescingKey)) {
+                return false;
+            }
+            final CoalescingKey that = (CoalescingKey) o;
+            return url.equals(that.url)
+                    && Objects.equals(httpHeaders, that.httpHeaders)
+                    && Objects.equals(classType, that.classType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class StreamException extends RuntimeException {
+        private final int status;
+
+        private StreamException(final int status, final IOException cause) {
+            super(cause);
+            this.status = status;
+        }
+    }
+
+    private static final class Attempt<T> {
+        private final String configUri;
+        private ResponseEntity<T> responseEntity;
+        private ConfigException configException;
+        private RuntimeException runtimeException;
+
+        private Attempt(final String configUri) {
+            this.configUri = configUri;
+        }
     }
 }
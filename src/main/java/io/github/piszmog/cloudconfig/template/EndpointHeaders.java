@@ -0,0 +1,109 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+import static org.springframework.cloud.config.client.ConfigClientProperties.AUTHORIZATION;
+import static org.springframework.cloud.config.client.ConfigClientProperties.Credentials;
+import static org.springframework.cloud.config.client.ConfigClientProperties.TOKEN_HEADER;
+
+/**
+ * The credentials and security headers of each configured config server URI, built once from the
+ * {@link ConfigClientProperties} so requests only copy the prebuilt headers. The headers are read only.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class EndpointHeaders {
+    private static final String HEADER_AUTHORIZATION = "Authorization";
+
+    private final String[] uris;
+    private final String username;
+    private final String password;
+    private final String token;
+    private final String authorization;
+    private final Credentials[] credentials;
+    private final HttpHeaders[] headers;
+
+    EndpointHeaders(final ConfigClientProperties configClientProperties) {
+        this.uris = configClientProperties.getUri().clone();
+        this.username = configClientProperties.getUsername();
+        this.password = configClientProperties.getPassword();
+        this.token = configClientProperties.getToken();
+        this.authorization = configClientProperties.getHeaders().get(AUTHORIZATION);
+        this.credentials = new Credentials[uris.length];
+        this.headers = new HttpHeaders[uris.length];
+        for (int endpoint = 0; endpoint < uris.length; endpoint++) {
+            credentials[endpoint] = configClientProperties.getCredentials(endpoint);
+            headers[endpoint] = createHeaders(credentials[endpoint]);
+        }
+    }
+
+    private HttpHeaders createHeaders(final Credentials endpointCredentials) {
+        final String endpointPassword = endpointCredentials.getPassword();
+        //
+        // Conflicting credentials are reported when the config server URI is used, not when the headers are built
+        //
+        if (endpointPassword != null && authorization != null) {
+            return null;
+        }
+        final HttpHeaders endpointHeaders = new HttpHeaders();
+        //
+        // Set the token header if need to authenticate
+        //
+        if (StringUtils.isNotBlank(token)) {
+            endpointHeaders.add(TOKEN_HEADER, token);
+        }
+        if (endpointPassword != null) {
+            byte[] credentialsEncoded = Base64.getEncoder()
+                    .encode((endpointCredentials.getUsername() + ":" + endpointPassword).getBytes());
+            endpointHeaders.add(HEADER_AUTHORIZATION, "Basic " + new String(credentialsEncoded));
+        } else if (authorization != null) {
+            endpointHeaders.add(HEADER_AUTHORIZATION, authorization);
+        }
+        return HttpHeaders.readOnlyHttpHeaders(endpointHeaders);
+    }
+
+    /**
+     * Determines if the headers were built from the current values of the properties.
+     *
+     * @param configClientProperties the properties of the config client
+     * @return True if none of the properties the headers are built from have changed.
+     */
+    boolean isCurrent(final ConfigClientProperties configClientProperties) {
+        return Arrays.equals(uris, configClientProperties.getUri())
+                && Objects.equals(username, configClientProperties.getUsername())
+                && Objects.equals(password, configClientProperties.getPassword())
+                && Objects.equals(token, configClientProperties.getToken())
+                && Objects.equals(authorization, configClientProperties.getHeaders().get(AUTHORIZATION));
+    }
+
+    /**
+     * Retrieves the credentials of the config server URI.
+     *
+     * @param endpoint the index of the config server URI
+     * @return The credentials.
+     */
+    Credentials getCredentials(final int endpoint) {
+        return credentials[endpoint];
+    }
+
+    /**
+     * Retrieves the security headers of the config server URI.
+     *
+     * @param endpoint the index of the config server URI
+     * @return The read only headers.
+     * @throws IllegalArgumentException when both a password and an authorization header are configured
+     */
+    HttpHeaders getHeaders(final int endpoint) {
+        final HttpHeaders endpointHeaders = headers[endpoint];
+        if (endpointHeaders == null) {
+            throw new IllegalArgumentException("You must set either 'password' or 'authorization.' Both cannot be used.");
+        }
+        return endpointHeaders;
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.piszmog.cloudconfig.template;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the health of a config server URI.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class EndpointHealth {
+    private final String uri;
+    private final CircuitState state;
+    private final Duration averageLatency;
+    private final long successCount;
+    private final long failureCount;
+    private final int consecutiveFailures;
+
+    EndpointHealth(final String uri,
+                   final CircuitState state,
+                   final Duration averageLatency,
+                   final long successCount,
+                   final long failureCount,
+                   final int consecutiveFailures) {
+        this.uri = uri;
+        this.state = state;
+        this.averageLatency = averageLatency;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    /**
+     * Retrieves the config server URI.
+     *
+     * @return The URI.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Retrieves the state of the circuit breaker.
+     *
+     * @return The circuit state.
+     */
+    public CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Determines if requests are currently skipping the config server.
+     *
+     * @return True if the circuit is not closed.
+     */
+    public boolean isSkipped() {
+        return state != CircuitState.CLOSED;
+    }
+
+    /**
+     * Retrieves the exponentially weighted average latency of the successful requests.
+     *
+     * @return The average latency or zero if no request has succeeded yet.
+     */
+    public Duration getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Retrieves the total number of successful requests.
+     *
+     * @return The number of successful requests.
+     */
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    /**
+     * Retrieves the total number of failed requests.
+     *
+     * @return The number of failed requests.
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Retrieves the success rate of all requests.
+     *
+     * @return The success rate between 0 and 1 or 1 if no request has been sent yet.
+     */
+    public double getSuccessRate() {
+        final long total = successCount + failureCount;
+        if (total == 0) {
+            return 1;
+        }
+        return (double) successCount / total;
+    }
+
+    /**
+     * Retrieves the number of failures since the last successful request.
+     *
+     * @return The number of consecutive failures.
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public String toString() {
+        return uri + " " + state + " (average latency " + averageLatency.toMillis() + "ms, success rate "
+                + getSuccessRate() + ")";
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.piszmog.cloudconfig.template;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the recent latency and failures of a single config server URI, along with the circuit breaker that skips
+ * the URI after too many consecutive failures.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class EndpointStatistics {
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final String uri;
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private CircuitState state = CircuitState.CLOSED;
+    private long stateChangedNanos;
+
+    /**
+     * Creates statistics for the URI.
+     *
+     * @param uri the config server URI
+     */
+    EndpointStatistics(final String uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Determines if a request may be sent to the config server. Once the open duration has elapsed, a single probe
+     * request is allowed through. Another probe is allowed if the previous probe has not completed within the open
+     * duration.
+     *
+     * @param nowNanos            the current time in nanoseconds
+     * @param openDurationNanos   the time the circuit stays open in nanoseconds
+     * @return True if the request may be sent.
+     */
+    synchronized boolean tryAcquire(final long nowNanos, final long openDurationNanos) {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        if (nowNanos - stateChangedNanos < openDurationNanos) {
+            return false;
+        }
+        state = CircuitState.HALF_OPEN;
+        stateChangedNanos = nowNanos;
+        return true;
+    }
+
+    /**
+     * Records a request that received a response from the config server.
+     *
+     * @param latencyNanos the time the request took in nanoseconds
+     */
+    void recordSuccess(final long latencyNanos) {
+        successCount.increment();
+        consecutiveFailures.set(0);
+        updateLatency(latencyNanos);
+        synchronized (this) {
+            state = CircuitState.CLOSED;
+        }
+    }
+
+    /**
+     * Records a request that failed to reach the config server. Opens the circuit when the probe request failed or the
+     * number of consecutive failures reached the threshold.
+     *
+     * @param nowNanos         the current time in nanoseconds
+     * @param failureThreshold the number of consecutive failures that opens the circuit or 0 to never open it
+     */
+    void recordFailure(final long nowNanos, final int failureThreshold) {
+        failureCount.increment();
+        final int failures = consecutiveFailures.incrementAndGet();
+        synchronized (this) {
+            if (state == CircuitState.HALF_OPEN || (failureThreshold > 0 && failures >= failureThreshold)) {
+                state = CircuitState.OPEN;
+                stateChangedNanos = nowNanos;
+            }
+        }
+    }
+
+    /**
+     * Records a request that received a response, but slower than the slow call threshold. The latency is tracked
+     * and the request counts as a failure.
+     *
+     * @param latencyNanos     the time the request took in nanoseconds
+     * @param nowNanos         the current time in nanoseconds
+     * @param failureThreshold the number of consecutive failures that opens the circuit or 0 to never open it
+     */
+    void recordSlowCall(final long latencyNanos, final long nowNanos, final int failureThreshold) {
+        updateLatency(latencyNanos);
+        recordFailure(nowNanos, failureThreshold);
+    }
+
+    private void updateLatency(final long latencyNanos) {
+        averageLatencyNanos.updateAndGet(average -> {
+            if (average == 0) {
+                return Math.max(latencyNanos, 1);
+            }
+            return Math.max((long) (average + SMOOTHING_FACTOR * (latencyNanos - average)), 1);
+        });
+    }
+
+    /**
+     * Retrieves the exponentially weighted average latency of the successful requests.
+     *
+     * @return The average latency in nanoseconds or 0 if no request has succeeded yet.
+     */
+    long getAverageLatencyNanos() {
+        return averageLatencyNanos.get();
+    }
+
+    /**
+     * Retrieves the number of failures since the last successful request.
+     *
+     * @return The number of consecutive failures.
+     */
+    int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Retrieves the total number of successful requests.
+     *
+     * @return The number of successful requests.
+     */
+    long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    /**
+     * Retrieves the total number of failed requests.
+     *
+     * @return The number of failed requests.
+     */
+    long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * Retrieves the state of the circuit breaker.
+     *
+     * @return The circuit state.
+     */
+    synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Creates a snapshot of the health of the URI.
+     *
+     * @return The health snapshot.
+     */
+    EndpointHealth toHealth() {
+        return new EndpointHealth(uri,
+                getState(),
+                Duration.ofNanos(getAverageLatencyNanos()),
+                getSuccessCount(),
+                getFailureCount(),
+                getConsecutiveFailures());
+    }
+}
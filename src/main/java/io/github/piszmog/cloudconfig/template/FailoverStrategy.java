@@ -0,0 +1,24 @@
+package io.github.piszmog.cloudconfig.template;
+
+/**
+ * Determines how requests are spread across the configured config server URIs.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public enum FailoverStrategy {
+    /**
+     * The URIs are called one at a time in the order they are configured. The next URI is called when a config server
+     * cannot be reached or does not have the resource.
+     */
+    SEQUENTIAL,
+    /**
+     * The URIs are called in the order they are configured, but when a config server has not responded within the
+     * hedge delay the request is also sent to the next URI. The first response is used.
+     */
+    HEDGED,
+    /**
+     * The URIs are called one at a time, starting with the config server that has recently responded the fastest.
+     * Config servers that recently could not be reached are called last.
+     */
+    FASTEST
+}
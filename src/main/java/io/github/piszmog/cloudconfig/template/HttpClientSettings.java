@@ -0,0 +1,284 @@
+package io.github.piszmog.cloudconfig.template;
+
+import java.time.Duration;
+
+/**
+ * Settings of the pooled HTTP client used to call the config server.
+ * <p>
+ * When the connect or socket timeout is not set, the {@code requestConnectTimeout} and {@code requestReadTimeout} of
+ * the config client properties are used.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public class HttpClientSettings {
+    /**
+     * The default maximum number of connections per route.
+     */
+    public static final int DEFAULT_MAX_PER_ROUTE = 10;
+    /**
+     * The default maximum number of connections in total.
+     */
+    public static final int DEFAULT_MAX_TOTAL = 100;
+    /**
+     * The default time to wait to lease a connection from the pool.
+     */
+    public static final Duration DEFAULT_CONNECTION_REQUEST_TIMEOUT = Duration.ofMinutes(3);
+    /**
+     * The default time a pooled connection can be idle before it is validated.
+     */
+    public static final Duration DEFAULT_VALIDATE_AFTER_INACTIVITY = Duration.ofSeconds(2);
+
+    private int maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+    private int maxTotal = DEFAULT_MAX_TOTAL;
+    private Duration connectTimeout;
+    private Duration socketTimeout;
+    private Duration connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+    private Duration responseTimeout;
+    private Duration timeToLive;
+    private Duration evictIdleConnectionsAfter;
+    private Duration validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+    private Duration keepAlive;
+    private boolean contentCompression = true;
+    private String name;
+
+    /**
+     * Retrieves the maximum number of connections per config server.
+     *
+     * @return The maximum connections per route.
+     */
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of connections per config server. Defaults to 10.
+     *
+     * @param maxPerRoute the maximum connections per route
+     */
+    public void setMaxPerRoute(final int maxPerRoute) {
+        if (maxPerRoute <= 0) {
+            throw new IllegalArgumentException("The maximum connections per route must be greater than zero.");
+        }
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    /**
+     * Retrieves the maximum number of connections in total.
+     *
+     * @return The maximum connections.
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Sets the maximum number of connections in total. Defaults to 100.
+     *
+     * @param maxTotal the maximum connections
+     */
+    public void setMaxTotal(final int maxTotal) {
+        if (maxTotal <= 0) {
+            throw new IllegalArgumentException("The maximum connections must be greater than zero.");
+        }
+        this.maxTotal = maxTotal;
+    }
+
+    /**
+     * Retrieves the time to wait to establish a connection.
+     *
+     * @return The connect timeout or null to use the config client properties.
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Sets the time to wait to establish a connection.
+     *
+     * @param connectTimeout the connect timeout or null to use the config client properties
+     */
+    public void setConnectTimeout(final Duration connectTimeout) {
+        this.connectTimeout = requireNotNegative(connectTimeout, "connect timeout");
+    }
+
+    /**
+     * Retrieves the time to wait for data on an established connection.
+     *
+     * @return The socket timeout or null to use the config client properties.
+     */
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    /**
+     * Sets the time to wait for data on an established connection.
+     *
+     * @param socketTimeout the socket timeout or null to use the config client properties
+     */
+    public void setSocketTimeout(final Duration socketTimeout) {
+        this.socketTimeout = requireNotNegative(socketTimeout, "socket timeout");
+    }
+
+    /**
+     * Retrieves the time to wait to lease a connection from the pool.
+     *
+     * @return The connection request timeout.
+     */
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    /**
+     * Sets the time to wait to lease a connection from the pool when all connections are in use. Defaults to 3
+     * minutes.
+     *
+     * @param connectionRequestTimeout the connection request timeout
+     */
+    public void setConnectionRequestTimeout(final Duration connectionRequestTimeout) {
+        if (connectionRequestTimeout == null) {
+            throw new IllegalArgumentException("The connection request timeout must be set.");
+        }
+        this.connectionRequestTimeout = requireNotNegative(connectionRequestTimeout, "connection request timeout");
+    }
+
+    /**
+     * Retrieves the time to wait for the response of a request.
+     *
+     * @return The response timeout or null if the socket timeout applies.
+     */
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    /**
+     * Sets the time to wait for the response of a request once it has been sent.
+     *
+     * @param responseTimeout the response timeout or null if the socket timeout applies
+     */
+    public void setResponseTimeout(final Duration responseTimeout) {
+        this.responseTimeout = requireNotNegative(responseTimeout, "response timeout");
+    }
+
+    /**
+     * Retrieves the maximum time a connection is reused for.
+     *
+     * @return The time to live or null if connections are reused indefinitely.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the maximum time a connection is reused for. Useful when the config servers sit behind a load balancer
+     * that moves instances.
+     *
+     * @param timeToLive the time to live or null if connections are reused indefinitely
+     */
+    public void setTimeToLive(final Duration timeToLive) {
+        this.timeToLive = requireNotNegative(timeToLive, "time to live");
+    }
+
+    /**
+     * Retrieves the time after which idle connections are closed by a background thread.
+     *
+     * @return The idle time or null if idle connections are not evicted.
+     */
+    public Duration getEvictIdleConnectionsAfter() {
+        return evictIdleConnectionsAfter;
+    }
+
+    /**
+     * Sets the time after which idle connections are closed by a background thread. Expired connections are also
+     * closed when set.
+     *
+     * @param evictIdleConnectionsAfter the idle time or null if idle connections are not evicted
+     */
+    public void setEvictIdleConnectionsAfter(final Duration evictIdleConnectionsAfter) {
+        this.evictIdleConnectionsAfter = requireNotNegative(evictIdleConnectionsAfter, "idle eviction time");
+    }
+
+    /**
+     * Retrieves the time a pooled connection can be idle before it is validated on lease.
+     *
+     * @return The validate after inactivity time or null if connections are not validated.
+     */
+    public Duration getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * Sets the time a pooled connection can be idle before it is validated on lease. Defaults to 2 seconds.
+     *
+     * @param validateAfterInactivity the validate after inactivity time or null if connections are not validated
+     */
+    public void setValidateAfterInactivity(final Duration validateAfterInactivity) {
+        this.validateAfterInactivity = requireNotNegative(validateAfterInactivity, "validate after inactivity time");
+    }
+
+    /**
+     * Retrieves the time a connection is kept alive when the config server does not send a {@code Keep-Alive} header.
+     *
+     * @return The keep alive time or null to use the HTTP client's default of 3 minutes.
+     */
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Sets the time a connection is kept alive when the config server does not send a {@code Keep-Alive} header.
+     *
+     * @param keepAlive the keep alive time or null to use the HTTP client's default of 3 minutes
+     */
+    public void setKeepAlive(final Duration keepAlive) {
+        this.keepAlive = requireNotNegative(keepAlive, "keep alive time");
+    }
+
+    /**
+     * Determines if the HTTP client negotiates compressed responses.
+     *
+     * @return True if responses may be compressed.
+     */
+    public boolean isContentCompression() {
+        return contentCompression;
+    }
+
+    /**
+     * Sets if the HTTP client negotiates compressed responses. When enabled, requests send
+     * {@code Accept-Encoding: gzip, x-gzip, deflate} (and {@code br} when {@code org.brotli:dec} is on the classpath)
+     * and compressed responses are decompressed as they are read. Defaults to true.
+     *
+     * @param contentCompression true if responses may be compressed
+     */
+    public void setContentCompression(final boolean contentCompression) {
+        this.contentCompression = contentCompression;
+    }
+
+    /**
+     * Retrieves the name the metrics of the HTTP client are tagged by.
+     *
+     * @return The name of the HTTP client or null if the config server URIs are used.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name the connection pool and response byte metrics of the HTTP client are tagged by, to tell apart the
+     * HTTP clients of templates recording to the same registry. Defaults to the config server URIs.
+     *
+     * @param name the name of the HTTP client
+     */
+    public void setName(final String name) {
+        if (name != null && name.isBlank()) {
+            throw new IllegalArgumentException("The name must not be blank.");
+        }
+        this.name = name;
+    }
+
+    private static Duration requireNotNegative(final Duration duration, final String name) {
+        if (duration != null && duration.isNegative()) {
+            throw new IllegalArgumentException("The " + name + " must be zero or greater.");
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes of the response bodies read from the config server. Where the counter sits in the exec chain of
+ * the HTTP client decides what is counted -- placed after content decompression it counts the bytes as sent over the
+ * wire, placed before it counts the decompressed bytes.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class ResponseByteCounter implements ExecChainHandler {
+    private final LongAdder[] counters;
+
+    /**
+     * Creates a counter adding the bytes read to every counter.
+     *
+     * @param counters the counters of the bytes read
+     */
+    ResponseByteCounter(final LongAdder... counters) {
+        this.counters = counters;
+    }
+
+    @Override
+    public ClassicHttpResponse execute(final ClassicHttpRequest request,
+                                       final ExecChain.Scope scope,
+                                       final ExecChain chain) throws IOException, HttpException {
+        final ClassicHttpResponse response = chain.proceed(request, scope);
+        final HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            response.setEntity(new CountingEntity(entity));
+        }
+        return response;
+    }
+
+    private void count(final long bytes) {
+        for (final LongAdder counter : counters) {
+            counter.add(bytes);
+        }
+    }
+
+    private final class CountingEntity extends HttpEntityWrapper {
+        private CountingEntity(final HttpEntity entity) {
+            super(entity);
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            final InputStream content = super.getContent();
+            if (content == null) {
+                return null;
+            }
+            return new CountingInputStream(content);
+        }
+
+        @Override
+        public void writeTo(final OutputStream outStream) throws IOException {
+            //
+            // Read through the counting stream rather than letting the wrapped entity write itself out
+            //
+            try (InputStream inputStream = getContent()) {
+                if (inputStream != null) {
+                    inputStream.transferTo(outStream);
+                }
+            }
+        }
+    }
+
+    private final class CountingInputStream extends FilterInputStream {
+        private CountingInputStream(final InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long length) throws IOException {
+            final long skipped = super.skip(length);
+            if (skipped > 0) {
+                count(skipped);
+            }
+            return skipped;
+        }
+    }
+}
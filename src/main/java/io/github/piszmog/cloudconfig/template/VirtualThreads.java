@@ -0,0 +1,72 @@
+package io.github.piszmog.cloudconfig.template;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates executors that run each task on a new virtual thread. The library is built for Java 17, so the virtual
+ * thread API of Java 21 is looked up reflectively.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+public final class VirtualThreads {
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = findMethod(findClass("java.lang.Thread$Builder"), "name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = findMethod(findClass("java.lang.Thread$Builder"), "factory");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Determines if the JVM supports virtual threads.
+     *
+     * @return True if virtual threads are supported.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task. The threads are named with the prefix
+     * followed by a counter.
+     *
+     * @param namePrefix the prefix of the names of the threads
+     * @return The executor.
+     * @throws IllegalStateException when the JVM does not support virtual threads
+     */
+    public static ExecutorService newExecutor(final String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or greater.");
+        }
+        try {
+            final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            final ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor.", e);
+        }
+    }
+
+    private static Class<?> findClass(final String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method findMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.piszmog.cloudconfig.template.impl;
 
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import io.github.piszmog.cloudconfig.template.HttpClientSettings;
 import jakarta.annotation.PostConstruct;
 import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
@@ -27,6 +28,17 @@ public class LocalConfigTemplate extends ConfigTemplate {
         super(configClientProperties);
     }
 
+    /**
+     * Creates a local config template using the provided HTTP client settings.
+     *
+     * @param configClientProperties the config server properties.
+     * @param httpClientSettings     the settings of the pooled HTTP client
+     */
+    public LocalConfigTemplate(final ConfigClientProperties configClientProperties,
+                               final HttpClientSettings httpClientSettings) {
+        super(configClientProperties, httpClientSettings);
+    }
+
     /**
      * Initializes the template with the config server properties.
      */
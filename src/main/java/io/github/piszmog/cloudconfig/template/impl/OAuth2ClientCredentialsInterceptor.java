@@ -0,0 +1,73 @@
+package io.github.piszmog.cloudconfig.template.impl;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.endpoint.DefaultClientCredentialsTokenResponseClient;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Adds the access token of the OAuth2 client credentials grant to requests. The access token is requested from the
+ * token endpoint with the same request factory used to call the config server, so both share the connection pool.
+ * The token is cached and refreshed in the background by an {@link OAuth2TokenManager}.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class OAuth2ClientCredentialsInterceptor implements ClientHttpRequestInterceptor {
+    private final RestTemplate tokenRestTemplate;
+    private final OAuth2TokenManager tokenManager;
+
+    /**
+     * Creates an interceptor requesting access tokens with the provided request factory.
+     *
+     * @param clientRegistration the OAuth2 client registration
+     * @param requestFactory     the request factory used to call the token endpoint
+     */
+    OAuth2ClientCredentialsInterceptor(final ClientRegistration clientRegistration,
+                                       final ClientHttpRequestFactory requestFactory) {
+        this.tokenRestTemplate = createTokenRestTemplate(requestFactory);
+        final DefaultClientCredentialsTokenResponseClient tokenResponseClient = new DefaultClientCredentialsTokenResponseClient();
+        tokenResponseClient.setRestOperations(tokenRestTemplate);
+        this.tokenManager = new OAuth2TokenManager(clientRegistration, tokenResponseClient);
+    }
+
+    OAuth2ClientCredentialsInterceptor(final OAuth2TokenManager tokenManager) {
+        this.tokenRestTemplate = null;
+        this.tokenManager = tokenManager;
+    }
+
+    private static RestTemplate createTokenRestTemplate(final ClientHttpRequestFactory requestFactory) {
+        //
+        // Same converters and error handler as the default token response client, only with the pooled request factory
+        //
+        final RestTemplate restTemplate = new RestTemplate(Arrays.asList(new FormHttpMessageConverter(),
+                new OAuth2AccessTokenResponseHttpMessageConverter()));
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        restTemplate.setRequestFactory(requestFactory);
+        return restTemplate;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        request.getHeaders().setBearerAuth(tokenManager.getAccessToken().getTokenValue());
+        return execution.execute(request, body);
+    }
+
+    /**
+     * Stops refreshing the access token in the background.
+     */
+    void shutdown() {
+        tokenManager.shutdown();
+    }
+}
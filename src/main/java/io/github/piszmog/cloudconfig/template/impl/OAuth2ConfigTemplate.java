@@ -1,10 +1,12 @@
 package io.github.piszmog.cloudconfig.template.impl;
 
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import io.github.piszmog.cloudconfig.template.HttpClientSettings;
 import io.pivotal.spring.cloud.config.client.ConfigClientOAuth2Properties;
-import io.pivotal.spring.cloud.config.client.OAuth2AuthorizedClientHttpRequestInterceptor;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.web.client.RestTemplate;
@@ -16,6 +18,7 @@ import org.springframework.web.client.RestTemplate;
  */
 public class OAuth2ConfigTemplate extends ConfigTemplate {
     private final ConfigClientOAuth2Properties configClientOAuth2Properties;
+    private OAuth2ClientCredentialsInterceptor oauth2Interceptor;
 
     /**
      * Creates a config template using OAuth2 credentials.
@@ -30,17 +33,46 @@ public class OAuth2ConfigTemplate extends ConfigTemplate {
     }
 
     /**
-     * Initializes the template with the OAuth2 credentials if the template is null.
+     * Creates a config template using OAuth2 credentials and the provided HTTP client settings.
+     *
+     * @param configClientProperties       the config server properties
+     * @param configClientOAuth2Properties the OAuth2 resource details
+     * @param httpClientSettings           the settings of the pooled HTTP client
+     */
+    public OAuth2ConfigTemplate(final ConfigClientProperties configClientProperties,
+                                final ConfigClientOAuth2Properties configClientOAuth2Properties,
+                                final HttpClientSettings httpClientSettings) {
+        super(configClientProperties, httpClientSettings);
+        this.configClientOAuth2Properties = configClientOAuth2Properties;
+    }
+
+    /**
+     * Initializes the template with the OAuth2 credentials if the template is null. The config server and the token
+     * endpoint are called with the same pooled HTTP client. The access token is cached and refreshed in the background
+     * before it expires.
      */
     @PostConstruct
     public void init() {
+        final ClientHttpRequestFactory requestFactory = createHttpClientFactory();
         restTemplate = new RestTemplate();
+        restTemplate.setRequestFactory(requestFactory);
         ClientRegistration clientRegistration = ClientRegistration.withRegistrationId("cloud-config-client")
                 .clientId(configClientOAuth2Properties.getClientId())
                 .clientSecret(configClientOAuth2Properties.getClientSecret())
                 .tokenUri(configClientOAuth2Properties.getAccessTokenUri())
                 .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
                 .build();
-        restTemplate.getInterceptors().add(new OAuth2AuthorizedClientHttpRequestInterceptor(clientRegistration));
+        oauth2Interceptor = new OAuth2ClientCredentialsInterceptor(clientRegistration, requestFactory);
+        restTemplate.getInterceptors().add(oauth2Interceptor);
+    }
+
+    /**
+     * Stops refreshing the OAuth2 access token in the background.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (oauth2Interceptor != null) {
+            oauth2Interceptor.shutdown();
+        }
     }
 }
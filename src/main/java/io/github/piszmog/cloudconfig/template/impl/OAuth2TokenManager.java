@@ -0,0 +1,194 @@
+package io.github.piszmog.cloudconfig.template.impl;
+
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the access token of the OAuth2 client credentials grant and refreshes it in the background before it
+ * expires. Concurrent callers that find no valid token share a single in-flight request to the token endpoint.
+ * <p>
+ * Created by Piszmog on 10/18/2026
+ */
+final class OAuth2TokenManager {
+    static final Duration DEFAULT_REFRESH_BEFORE = Duration.ofSeconds(60);
+    static final Duration EXPIRY_SKEW = Duration.ofSeconds(10);
+    static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final ClientRegistration clientRegistration;
+    private final OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient;
+    private final Duration refreshBefore;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile OAuth2AccessToken accessToken;
+    private CompletableFuture<OAuth2AccessToken> inFlightRefresh;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * Creates a token manager refreshing the access token on a single daemon thread.
+     *
+     * @param clientRegistration  the OAuth2 client registration
+     * @param tokenResponseClient the client used to request access tokens
+     */
+    OAuth2TokenManager(final ClientRegistration clientRegistration,
+                       final OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient) {
+        this(clientRegistration, tokenResponseClient, DEFAULT_REFRESH_BEFORE, Clock.systemUTC(), createScheduler());
+    }
+
+    OAuth2TokenManager(final ClientRegistration clientRegistration,
+                       final OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient,
+                       final Duration refreshBefore,
+                       final Clock clock,
+                       final ScheduledExecutorService scheduler) {
+        this.clientRegistration = clientRegistration;
+        this.tokenResponseClient = tokenResponseClient;
+        this.refreshBefore = refreshBefore;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "config-client-oauth2-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieves the cached access token. The token endpoint is only called when there is no token yet or the token
+     * has expired because the background refresh failed.
+     *
+     * @return The access token.
+     */
+    OAuth2AccessToken getAccessToken() {
+        final OAuth2AccessToken token = accessToken;
+        if (token != null && !isExpired(token)) {
+            return token;
+        }
+        try {
+            return refresh(token).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Requests a new access token from the token endpoint to replace the current token.
+     *
+     * @return The future of the access token.
+     * @see #refresh(OAuth2AccessToken)
+     */
+    CompletableFuture<OAuth2AccessToken> refresh() {
+        return refresh(accessToken);
+    }
+
+    /**
+     * Requests a new access token from the token endpoint to replace the token provided. If a request is already in
+     * flight, its future is returned rather than sending another request. If the token was already replaced by a
+     * valid token, that token is returned.
+     *
+     * @param replacedToken the token to replace or null if there was no token
+     * @return The future of the access token.
+     */
+    CompletableFuture<OAuth2AccessToken> refresh(final OAuth2AccessToken replacedToken) {
+        final CompletableFuture<OAuth2AccessToken> future;
+        synchronized (this) {
+            if (inFlightRefresh != null) {
+                return inFlightRefresh;
+            }
+            //
+            // A refresh may have completed between the caller reading the token and entering the lock
+            //
+            final OAuth2AccessToken current = accessToken;
+            if (current != null && current != replacedToken && !isExpired(current)) {
+                return CompletableFuture.completedFuture(current);
+            }
+            future = new CompletableFuture<>();
+            inFlightRefresh = future;
+        }
+        try {
+            final OAuth2AccessToken token = tokenResponseClient
+                    .getTokenResponse(new OAuth2ClientCredentialsGrantRequest(clientRegistration))
+                    .getAccessToken();
+            accessToken = token;
+            future.complete(token);
+            scheduleRefresh(token);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                inFlightRefresh = null;
+            }
+        }
+        return future;
+    }
+
+    private void scheduleRefresh(final OAuth2AccessToken token) {
+        final Instant expiresAt = token.getExpiresAt();
+        if (expiresAt == null) {
+            return;
+        }
+        //
+        // Refresh ahead of the expiry, but no earlier than halfway through the lifetime of short-lived tokens
+        //
+        final Duration lifetime = Duration.between(clock.instant(), expiresAt);
+        final Duration ahead = refreshBefore.compareTo(lifetime.dividedBy(2)) < 0 ? refreshBefore : lifetime.dividedBy(2);
+        schedule(lifetime.minus(ahead));
+    }
+
+    private synchronized void schedule(final Duration delay) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        try {
+            scheduledRefresh = scheduler.schedule(this::refreshInBackground, Math.max(delay.toMillis(), 0), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            //
+            // Shut down, the token is no longer refreshed in the background
+            //
+            scheduledRefresh = null;
+        }
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh().join();
+        } catch (CompletionException e) {
+            //
+            // Keep using the current token and retry while it is valid, afterwards callers refresh it themselves
+            //
+            final OAuth2AccessToken token = accessToken;
+            if (token != null && !isExpired(token)) {
+                schedule(RETRY_DELAY);
+            }
+        }
+    }
+
+    private boolean isExpired(final OAuth2AccessToken token) {
+        final Instant expiresAt = token.getExpiresAt();
+        return expiresAt != null && !clock.instant().isBefore(expiresAt.minus(EXPIRY_SKEW));
+    }
+
+    /**
+     * Stops refreshing the access token in the background.
+     */
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,268 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigCacheTest {
+    private MutableClock clock;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock();
+    }
+
+    @Test
+    public void testGet_miss() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        assertNull(cache.get(key("a.txt")));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGet_hit() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello");
+        assertEquals("hello", cache.get(key("a.txt")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testGet_differentClassType() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello");
+        assertNull(cache.get(new ConfigCacheKey("app", "default", "master", null, "a.txt", byte[].class)));
+    }
+
+    @Test
+    public void testGet_expired() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello");
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals("hello", cache.get(key("a.txt")));
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(cache.get(key("a.txt")));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGetEntry_expired() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello", "\"123\"", 1000L);
+        clock.advance(Duration.ofMinutes(2));
+        final ConfigCache.Entry entry = cache.getEntry(key("a.txt"));
+        assertEquals("hello", entry.getValue());
+        assertEquals("\"123\"", entry.getETag());
+        assertEquals(1000L, entry.getLastModified());
+        assertTrue(entry.hasValidators());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testGetEntry_none() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        assertNull(cache.getEntry(key("a.txt")));
+    }
+
+    @Test
+    public void testHasValidators() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello");
+        cache.put(key("b.txt"), "hello", null, 0L);
+        cache.put(key("c.txt"), "hello", "\"123\"", -1L);
+        assertFalse(cache.getEntry(key("a.txt")).hasValidators());
+        assertTrue(cache.getEntry(key("b.txt")).hasValidators());
+        assertTrue(cache.getEntry(key("c.txt")).hasValidators());
+    }
+
+    @Test
+    public void testRevalidate() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello", "\"123\"", -1L);
+        clock.advance(Duration.ofMinutes(2));
+        assertNull(cache.get(key("a.txt")));
+        cache.revalidate(key("a.txt"), cache.getEntry(key("a.txt")));
+        assertEquals("hello", cache.get(key("a.txt")));
+        assertEquals("\"123\"", cache.getEntry(key("a.txt")).getETag());
+        assertEquals(10, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testPut_null() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), null);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_replace() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello");
+        cache.put(key("a.txt"), "hi");
+        assertEquals("hi", cache.get(key("a.txt")));
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testEvict_maxEntries() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 2, 1024, clock);
+        cache.put(key("a.txt"), "a");
+        cache.put(key("b.txt"), "b");
+        //
+        // Access 'a' so 'b' becomes the least recently used
+        //
+        cache.get(key("a.txt"));
+        cache.put(key("c.txt"), "c");
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get(key("a.txt")));
+        assertNull(cache.get(key("b.txt")));
+        assertEquals("c", cache.get(key("c.txt")));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvict_maxBytes() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 10, clock);
+        cache.put(key("a.txt"), new byte[6]);
+        cache.put(key("b.txt"), new byte[4]);
+        assertEquals(10, cache.getEstimatedBytes());
+        cache.put(key("c.txt"), new byte[1]);
+        assertNull(cache.get(key("a.txt")));
+        assertEquals(5, cache.getEstimatedBytes());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvict_tooLarge() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 10, clock);
+        cache.put(key("a.txt"), new byte[11]);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.put(key("a.txt"), "hello");
+        cache.put(key("b.txt"), "hello");
+        cache.invalidate(key("a.txt"));
+        assertNull(cache.get(key("a.txt")));
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.getEstimatedBytes());
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        assertEquals(Duration.ZERO, cache.getStaleWhileRevalidate());
+        cache.put(key("a.txt"), "hello");
+        clock.advance(Duration.ofMinutes(1));
+        assertFalse(cache.isWithinStaleWhileRevalidate(cache.getEntry(key("a.txt"))));
+        cache.setStaleWhileRevalidate(Duration.ofSeconds(30));
+        assertEquals(Duration.ofSeconds(30), cache.getStaleWhileRevalidate());
+        clock.advance(Duration.ofSeconds(29));
+        assertTrue(cache.isWithinStaleWhileRevalidate(cache.getEntry(key("a.txt"))));
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(cache.isWithinStaleWhileRevalidate(cache.getEntry(key("a.txt"))));
+    }
+
+    @Test
+    public void testStaleIfError() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        assertEquals(Duration.ZERO, cache.getStaleIfError());
+        cache.put(key("a.txt"), "hello");
+        clock.advance(Duration.ofMinutes(1));
+        assertFalse(cache.isWithinStaleIfError(cache.getEntry(key("a.txt"))));
+        cache.setStaleIfError(Duration.ofHours(1));
+        assertEquals(Duration.ofHours(1), cache.getStaleIfError());
+        clock.advance(Duration.ofMinutes(59));
+        assertTrue(cache.isWithinStaleIfError(cache.getEntry(key("a.txt"))));
+        clock.advance(Duration.ofMinutes(1));
+        assertFalse(cache.isWithinStaleIfError(cache.getEntry(key("a.txt"))));
+    }
+
+    @Test
+    public void testStale_diskEntry() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        cache.setStaleWhileRevalidate(Duration.ofDays(1));
+        cache.setStaleIfError(Duration.ofDays(1));
+        final ConfigCache.Entry entry = ConfigCache.createEntry("hello", null, -1);
+        assertFalse(cache.isWithinStaleWhileRevalidate(entry));
+        assertFalse(cache.isWithinStaleIfError(entry));
+    }
+
+    @Test
+    public void testStale_invalid() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        assertThrows(IllegalArgumentException.class, () -> cache.setStaleWhileRevalidate(null));
+        assertThrows(IllegalArgumentException.class, () -> cache.setStaleWhileRevalidate(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> cache.setStaleIfError(null));
+        assertThrows(IllegalArgumentException.class, () -> cache.setStaleIfError(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void testRefresh() {
+        final ConfigCache cache = new ConfigCache(Duration.ofMinutes(1), 10, 1024, clock);
+        assertTrue(cache.tryStartRefresh(key("a.txt")));
+        assertFalse(cache.tryStartRefresh(key("a.txt")));
+        assertTrue(cache.tryStartRefresh(key("b.txt")));
+        cache.finishRefresh(key("a.txt"));
+        assertTrue(cache.tryStartRefresh(key("a.txt")));
+    }
+
+    @Test
+    public void testEstimateSize() {
+        assertEquals(3, ConfigCache.estimateSize(new byte[3]));
+        assertEquals(6, ConfigCache.estimateSize("abc"));
+        assertEquals(0, ConfigCache.estimateSize(42));
+    }
+
+    @Test
+    public void testCreate_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ConfigCache(Duration.ofMinutes(-1), 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigCache(null, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigCache(Duration.ofMinutes(1), 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigCache(Duration.ofMinutes(1), 10, 0));
+    }
+
+    private static ConfigCacheKey key(final String file) {
+        return new ConfigCacheKey("app", "default", "master", null, file, String.class);
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-18T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigDiskCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testPut_string() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), "héllo", "\"123\"", 1000L);
+        final ConfigCache.Entry entry = cache.get(key("a.txt", String.class));
+        assertEquals("héllo", entry.getValue());
+        assertEquals("\"123\"", entry.getETag());
+        assertEquals(1000L, entry.getLastModified());
+        assertTrue(entry.hasValidators());
+    }
+
+    @Test
+    public void testPut_bytes() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.bin", byte[].class), new byte[]{1, 2, 3}, null, -1L);
+        final ConfigCache.Entry entry = cache.get(key("a.bin", byte[].class));
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) entry.getValue());
+        assertNull(entry.getETag());
+        assertEquals(-1L, entry.getLastModified());
+        assertFalse(entry.hasValidators());
+    }
+
+    @Test
+    public void testPut_empty() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), "", null, -1L);
+        assertEquals("", cache.get(key("a.txt", String.class)).getValue());
+    }
+
+    @Test
+    public void testPut_replace() throws IOException {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), "hello", "\"123\"", -1L);
+        cache.put(key("a.txt", String.class), "hi", "\"456\"", -1L);
+        final ConfigCache.Entry entry = cache.get(key("a.txt", String.class));
+        assertEquals("hi", entry.getValue());
+        assertEquals("\"456\"", entry.getETag());
+        //
+        // Only the file and its validators remain, no temporary files
+        //
+        assertEquals(2, countFiles(cache.resolve(key("a.txt", String.class)).getParent()));
+    }
+
+    @Test
+    public void testPut_differentClassType() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), "hello", null, -1L);
+        assertNull(cache.get(key("a.txt", byte[].class)));
+    }
+
+    @Test
+    public void testPut_null() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), null, null, -1L);
+        assertFalse(Files.exists(cache.resolve(key("a.txt", String.class))));
+    }
+
+    @Test
+    public void testPut_unsupported() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        assertFalse(cache.supports(Integer.class));
+        cache.put(key("a.txt", Integer.class), 42, null, -1L);
+        assertNull(cache.get(key("a.txt", Integer.class)));
+        cache.invalidate(key("a.txt", Integer.class));
+        assertFalse(Files.exists(directory.resolve("app")));
+    }
+
+    @Test
+    public void testPut_unwritable() throws IOException {
+        final Path file = Files.writeString(directory.resolve("file"), "not a directory");
+        final ConfigDiskCache cache = new ConfigDiskCache(file);
+        cache.put(key("a.txt", String.class), "hello", null, -1L);
+        assertNull(cache.get(key("a.txt", String.class)));
+    }
+
+    @Test
+    public void testGet_missing() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        assertNull(cache.get(key("a.txt", String.class)));
+    }
+
+    @Test
+    public void testGet_missingMeta() throws IOException {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        final Path file = cache.resolve(key("a.txt", String.class));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "hello");
+        final ConfigCache.Entry entry = cache.get(key("a.txt", String.class));
+        assertEquals("hello", entry.getValue());
+        assertFalse(entry.hasValidators());
+    }
+
+    @Test
+    public void testGet_invalidMeta() throws IOException {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), "hello", null, 1000L);
+        final Path file = cache.resolve(key("a.txt", String.class));
+        Files.writeString(file.resolveSibling(file.getFileName() + ".meta"), "lastModified=abc", StandardCharsets.UTF_8);
+        assertNull(cache.get(key("a.txt", String.class)));
+    }
+
+    @Test
+    public void testInvalidate() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        cache.put(key("a.txt", String.class), "hello", "\"123\"", -1L);
+        cache.invalidate(key("a.txt", String.class));
+        assertNull(cache.get(key("a.txt", String.class)));
+        final Path file = cache.resolve(key("a.txt", String.class));
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".meta")));
+    }
+
+    @Test
+    public void testResolve() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        assertEquals(directory.resolve("app").resolve("default").resolve("master").resolve("foo").resolve("bar")
+                        .resolve("a.txt.string"),
+                cache.resolve(new ConfigCacheKey("app", "default", "master", "/foo/bar", "a.txt", String.class)));
+        assertEquals(directory.resolve("app").resolve("default").resolve("~default").resolve("a.txt.bytes"),
+                cache.resolve(new ConfigCacheKey("app", "default", null, null, "a.txt", byte[].class)));
+        assertEquals(directory.resolve("app").resolve("default").resolve("feature%2Fx").resolve("a.txt.string"),
+                cache.resolve(new ConfigCacheKey("app", "default", "feature/x", null, "a.txt", String.class)));
+    }
+
+    @Test
+    public void testResolve_traversal() {
+        final ConfigDiskCache cache = new ConfigDiskCache(directory);
+        final Path file = cache.resolve(new ConfigCacheKey("..", "..", "..", "../..", "..", String.class));
+        assertTrue(file.normalize().startsWith(directory));
+        assertEquals(directory.resolve("%2E.").resolve("%2E.").resolve("%2E.").resolve("%2E.").resolve("%2E.")
+                .resolve("%2E..string"), file);
+    }
+
+    @Test
+    public void testCreate_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ConfigDiskCache(null));
+        assertEquals(directory, new ConfigDiskCache(directory).getDirectory());
+    }
+
+    private static ConfigCacheKey key(final String file, final Class<?> classType) {
+        return new ConfigCacheKey("app", "default", "master", null, file, classType);
+    }
+
+    private static long countFiles(final Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.piszmog.cloudconfig.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecryptCacheTest {
+    private static final char[] CLEARED = new char[]{'\0', '\0', '\0', '\0', '\0', '\0'};
+
+    private ConfigCacheTest.MutableClock clock;
+
+    @BeforeEach
+    public void setup() {
+        clock = new ConfigCacheTest.MutableClock();
+    }
+
+    @Test
+    public void testGet_hit() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        cache.put("{cipher}abc", "app", "default", "secret".toCharArray());
+        assertArrayEquals("secret".toCharArray(), cache.get("{cipher}abc", "app", "default"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testGet_copy() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        cache.put("{cipher}abc", "app", "default", "secret".toCharArray());
+        final char[] plainText = cache.get("{cipher}abc", "app", "default");
+        plainText[0] = 'x';
+        assertArrayEquals("secret".toCharArray(), cache.get("{cipher}abc", "app", "default"));
+    }
+
+    @Test
+    public void testGet_miss() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        cache.put("{cipher}abc", "app", "default", "secret".toCharArray());
+        assertNull(cache.get("{cipher}abc", "app", "cloud"));
+        assertNull(cache.get("{cipher}abc", "other", "default"));
+        assertNull(cache.get("{cipher}def", "app", "default"));
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testGet_expired() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        final char[] plainText = "secret".toCharArray();
+        cache.put("{cipher}abc", "app", "default", plainText);
+        clock.advance(Duration.ofSeconds(59));
+        assertNotNull(cache.get("{cipher}abc", "app", "default"));
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(cache.get("{cipher}abc", "app", "default"));
+        assertArrayEquals(CLEARED, plainText);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testPut_null() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        cache.put(null, "app", "default", "secret".toCharArray());
+        cache.put("{cipher}abc", "app", "default", null);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_replace() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        final char[] first = "secret".toCharArray();
+        cache.put("{cipher}abc", "app", "default", first);
+        cache.put("{cipher}abc", "app", "default", first);
+        assertArrayEquals("secret".toCharArray(), first);
+        cache.put("{cipher}abc", "app", "default", "other!".toCharArray());
+        assertArrayEquals(CLEARED, first);
+        assertArrayEquals("other!".toCharArray(), cache.get("{cipher}abc", "app", "default"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEvict_maxEntries() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 2, clock);
+        final char[] a = "secret".toCharArray();
+        final char[] b = "secret".toCharArray();
+        cache.put("a", "app", "default", a);
+        cache.put("b", "app", "default", b);
+        //
+        // Access 'a' so 'b' becomes the least recently used
+        //
+        cache.get("a", "app", "default");
+        cache.put("c", "app", "default", "secret".toCharArray());
+        assertEquals(2, cache.size());
+        assertArrayEquals(CLEARED, b);
+        assertArrayEquals("secret".toCharArray(), a);
+        assertNull(cache.get("b", "app", "default"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final DecryptCache cache = new DecryptCache(Duration.ofMinutes(1), 10, clock);
+        final char[] a = "secret".toCharArray();
+        final char[] b = "secret".toCharArray();
+        cache.put("a", "app", "default", a);
+        cache.put("b", "app", "default", b);
+        cache.invalidate("a", "app", "default");
+        cache.invalidate("c", "app", "default");
+        assertArrayEquals(CLEARED, a);
+        assertEquals(1, cache.size());
+        cache.invalidateAll();
+        assertArrayEquals(CLEARED, b);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCreate_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new DecryptCache(Duration.ofMinutes(-1), 10));
+        assertThrows(IllegalArgumentException.class, () -> new DecryptCache(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new DecryptCache(Duration.ofMinutes(1), 0));
+        assertEquals(0, new DecryptCache().size());
+    }
+}
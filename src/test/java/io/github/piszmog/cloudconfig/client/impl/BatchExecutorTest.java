@@ -0,0 +1,76 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchExecutorTest {
+    @Test
+    public void testExecute_boundedParallelism() throws ConfigException {
+        final ConfigTemplate template = new TestConfigTemplate();
+        template.setAsyncExecutor(Executors.newFixedThreadPool(8));
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<BatchResult> results = new BatchExecutor(template, 2).execute(
+                Arrays.asList("a", "b", "c", "d", "e", "f"),
+                value -> {
+                    final int current = inFlight.incrementAndGet();
+                    maxInFlight.accumulateAndGet(current, Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inFlight.decrementAndGet();
+                    return value.toUpperCase();
+                });
+        assertEquals(6, results.size());
+        assertEquals("F", results.get(5).getValue());
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void testExecute_runtimeException() throws ConfigException {
+        final ConfigTemplate template = new TestConfigTemplate();
+        template.setAsyncExecutor(Runnable::run);
+        final List<BatchResult> results = new BatchExecutor(template, 1).execute(Collections.singletonList("a"),
+                value -> {
+                    throw new IllegalStateException("bad");
+                });
+        assertInstanceOf(IllegalStateException.class, results.get(0).getError());
+    }
+
+    @Test
+    public void testExecute_interrupted() {
+        final ConfigTemplate template = new TestConfigTemplate();
+        //
+        // Never run the operations so the permits are never released
+        //
+        template.setAsyncExecutor(runnable -> {
+        });
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ConfigException.class, () -> new BatchExecutor(template, 1)
+                    .execute(Arrays.asList("a", "b"), String::toUpperCase));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static class TestConfigTemplate extends ConfigTemplate {
+        TestConfigTemplate() {
+            super(new ConfigClientProperties(new StandardEnvironment()));
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigWatcherTest {
+    private static final long INTERVAL = Duration.ofSeconds(10).toMillis();
+    private static final long MAX_INTERVAL = Duration.ofSeconds(60).toMillis();
+
+    @Mock
+    private EnvironmentConfigClient environmentClient;
+    @Mock
+    private FileConfigClient fileClient;
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private ScheduledFuture<Object> scheduledFuture;
+    private ConfigWatcher watcher;
+    private final List<EnvironmentSnapshot> changes = new ArrayList<>();
+    private final List<ConfigException> errors = new ArrayList<>();
+    private final ConfigChangeListener<EnvironmentSnapshot> listener = new ConfigChangeListener<EnvironmentSnapshot>() {
+        @Override
+        public void onChange(final EnvironmentSnapshot value) {
+            changes.add(value);
+        }
+
+        @Override
+        public void onError(final ConfigException e) {
+            errors.add(e);
+        }
+    };
+
+    @BeforeEach
+    public void setup() {
+        watcher = new ConfigWatcher(environmentClient, fileClient, Duration.ofMillis(INTERVAL),
+                Duration.ofMillis(MAX_INTERVAL), scheduler, () -> 0.5);
+    }
+
+    @Test
+    public void testWatch() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), isNull()))
+                .thenReturn(environmentResponse("8080", "\"1\""));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        final ArgumentCaptor<Runnable> pollCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(pollCaptor.capture(), eq(0L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(1, watcher.getWatchCount());
+        pollCaptor.getValue().run();
+        assertEquals(1, changes.size());
+        assertEquals("8080", changes.get(0).getProperty("server.port"));
+        verify(scheduler).schedule(any(Runnable.class), eq(INTERVAL), eq(TimeUnit.MILLISECONDS));
+        assertFalse(watch.isCancelled());
+    }
+
+    @Test
+    public void testPoll_unchanged() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(environmentResponse("8080", null))
+                .thenReturn(environmentResponse("8080", null))
+                .thenReturn(environmentResponse("8080", null));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(1, changes.size());
+        //
+        // The delay grows while the environment is unchanged
+        //
+        verify(scheduler).schedule(any(Runnable.class), eq(INTERVAL), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(15000L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(22500L), eq(TimeUnit.MILLISECONDS));
+        verify(environmentClient, times(3)).fetchEnvironment(eq("app"), eq("cloud"), eq("master"), isNull());
+    }
+
+    @Test
+    public void testPoll_notModified() throws ConfigException {
+        stubSchedule();
+        final HttpHeaders notModified = new HttpHeaders();
+        notModified.setETag("\"1\"");
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(environmentResponse("8080", "\"1\""))
+                .thenReturn(new ResponseEntity<>(notModified, HttpStatus.NOT_MODIFIED));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(1, changes.size());
+        final ArgumentCaptor<HttpHeaders> headersCaptor = ArgumentCaptor.forClass(HttpHeaders.class);
+        verify(environmentClient, times(2)).fetchEnvironment(eq("app"), eq("cloud"), eq("master"), headersCaptor.capture());
+        assertNull(headersCaptor.getAllValues().get(0));
+        assertEquals(Collections.singletonList("\"1\""), headersCaptor.getAllValues().get(1).getIfNoneMatch());
+        assertEquals(-1, headersCaptor.getAllValues().get(1).getIfModifiedSince());
+        verify(scheduler).schedule(any(Runnable.class), eq(15000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPoll_lastModified() throws ConfigException {
+        stubSchedule();
+        final ResponseEntity<Environment> response = environmentResponse("8080", null);
+        final HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setLastModified(1000L);
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(new ResponseEntity<>(response.getBody(), responseHeaders, HttpStatus.OK));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        final ArgumentCaptor<HttpHeaders> headersCaptor = ArgumentCaptor.forClass(HttpHeaders.class);
+        verify(environmentClient, times(2)).fetchEnvironment(eq("app"), eq("cloud"), eq("master"), headersCaptor.capture());
+        assertTrue(headersCaptor.getAllValues().get(1).getIfNoneMatch().isEmpty());
+        assertEquals(1000L, headersCaptor.getAllValues().get(1).getIfModifiedSince());
+    }
+
+    @Test
+    public void testPoll_changed() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(environmentResponse("8080", null))
+                .thenReturn(environmentResponse("8080", null))
+                .thenReturn(environmentResponse("9090", null));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(2, changes.size());
+        assertEquals("9090", changes.get(1).getProperty("server.port"));
+        //
+        // The delay returns to the interval once the environment changes
+        //
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(INTERVAL), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(15000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPoll_error() throws ConfigException {
+        stubSchedule();
+        final ConfigException exception = new ConfigException("failed");
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenThrow(exception);
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertTrue(changes.isEmpty());
+        assertEquals(3, errors.size());
+        assertSame(exception, errors.get(0));
+        //
+        // The delay doubles on every error, up to the maximum interval
+        //
+        verify(scheduler).schedule(any(Runnable.class), eq(20000L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(40000L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(MAX_INTERVAL), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPoll_serverError() throws ConfigException {
+        stubSchedule();
+        final HttpServerErrorException exception = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenThrow(exception)
+                .thenThrow(exception)
+                .thenReturn(environmentResponse("8080", "\"1\""));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(2, errors.size());
+        assertSame(exception, errors.get(0).getCause());
+        verify(scheduler).schedule(any(Runnable.class), eq(20000L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).schedule(any(Runnable.class), eq(40000L), eq(TimeUnit.MILLISECONDS));
+        //
+        // The watch keeps polling and picks up the environment once the config server recovers
+        //
+        watcher.poll(watch);
+        assertEquals(1, changes.size());
+        verify(scheduler).schedule(any(Runnable.class), eq(INTERVAL), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPoll_errorDefaultListener() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenThrow(new ConfigException("failed"));
+        final List<EnvironmentSnapshot> values = new ArrayList<>();
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", values::add);
+        watcher.poll(watch);
+        assertTrue(values.isEmpty());
+        verify(scheduler).schedule(any(Runnable.class), eq(20000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPoll_notFound() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(null)
+                .thenReturn(environmentResponse("8080", "\"1\""))
+                .thenReturn(null)
+                .thenReturn(null);
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        assertTrue(changes.isEmpty());
+        watcher.poll(watch);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(2, changes.size());
+        assertNotNull(changes.get(0));
+        assertNull(changes.get(1));
+        //
+        // The validators of the removed environment are not sent again
+        //
+        final ArgumentCaptor<HttpHeaders> headersCaptor = ArgumentCaptor.forClass(HttpHeaders.class);
+        verify(environmentClient, times(4)).fetchEnvironment(eq("app"), eq("cloud"), eq("master"), headersCaptor.capture());
+        assertNotNull(headersCaptor.getAllValues().get(2));
+        assertNull(headersCaptor.getAllValues().get(3));
+    }
+
+    @Test
+    public void testPoll_noBody() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(ResponseEntity.ok().build());
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watcher.poll(watch);
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testPoll_listenerFails() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(environmentResponse("8080", null));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", value -> {
+            throw new IllegalStateException("listener failed");
+        });
+        watcher.poll(watch);
+        verify(scheduler).schedule(any(Runnable.class), eq(INTERVAL), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancel() throws ConfigException {
+        stubSchedule();
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", listener);
+        watch.cancel();
+        assertTrue(watch.isCancelled());
+        assertEquals(0, watcher.getWatchCount());
+        verify(scheduledFuture).cancel(false);
+        watcher.poll(watch);
+        verifyNoInteractions(environmentClient);
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancel_whilePolling() throws ConfigException {
+        stubSchedule();
+        final ConfigWatch<EnvironmentSnapshot>[] watch = new ConfigWatch[1];
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(environmentResponse("8080", null));
+        watch[0] = watcher.watch("app", "cloud", "master", value -> watch[0].cancel());
+        watcher.poll(watch[0]);
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testClose() throws ConfigException {
+        stubSchedule();
+        final ConfigWatch<EnvironmentSnapshot> first = watcher.watch("app", "cloud", "master", listener);
+        final ConfigWatch<EnvironmentSnapshot> second = watcher.watch("other", "cloud", "master", listener);
+        watcher.close();
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertEquals(0, watcher.getWatchCount());
+        verify(scheduler).shutdownNow();
+        assertThrows(IllegalStateException.class, () -> watcher.watch("app", "cloud", "master", listener));
+    }
+
+    @Test
+    public void testClose_whilePolling() throws ConfigException {
+        stubSchedule();
+        when(environmentClient.fetchEnvironment(eq("app"), eq("cloud"), eq("master"), any()))
+                .thenReturn(environmentResponse("8080", null));
+        final ConfigWatch<EnvironmentSnapshot> watch = watcher.watch("app", "cloud", "master", value -> watcher.close());
+        watcher.poll(watch);
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testWatch_noListener() {
+        assertThrows(IllegalArgumentException.class, () -> watcher.watch("app", "cloud", "master", null));
+        assertEquals(0, watcher.getWatchCount());
+    }
+
+    @Test
+    public void testWatchFileFromBranch() throws ConfigException {
+        stubSchedule();
+        when(fileClient.fetchFileFromBranch(eq("a.txt"), eq("master"), eq("files"), any()))
+                .thenReturn(ResponseEntity.ok("hello".getBytes(StandardCharsets.UTF_8)))
+                .thenReturn(ResponseEntity.ok("hello".getBytes(StandardCharsets.UTF_8)))
+                .thenReturn(ResponseEntity.ok("hi".getBytes(StandardCharsets.UTF_8)));
+        final List<byte[]> files = new ArrayList<>();
+        final ConfigWatch<byte[]> watch = watcher.watchFileFromBranch("a.txt", "master", "files", files::add);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(2, files.size());
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), files.get(0));
+        assertArrayEquals("hi".getBytes(StandardCharsets.UTF_8), files.get(1));
+    }
+
+    @Test
+    public void testWatchFileFromDefaultBranch() throws ConfigException {
+        stubSchedule();
+        when(fileClient.fetchFileFromDefaultBranch(eq("a.txt"), eq("files"), any()))
+                .thenReturn(ResponseEntity.ok("hello".getBytes(StandardCharsets.UTF_8)));
+        final List<byte[]> files = new ArrayList<>();
+        final ConfigWatch<byte[]> watch = watcher.watchFileFromDefaultBranch("a.txt", "files", files::add);
+        watcher.poll(watch);
+        watcher.poll(watch);
+        assertEquals(1, files.size());
+        verify(fileClient, times(2)).fetchFileFromDefaultBranch(eq("a.txt"), eq("files"), isNull());
+    }
+
+    @Test
+    public void testJitter() {
+        final ConfigWatcher low = new ConfigWatcher(environmentClient, fileClient, Duration.ofMillis(INTERVAL),
+                Duration.ofMillis(MAX_INTERVAL), scheduler, () -> 0);
+        final ConfigWatcher high = new ConfigWatcher(environmentClient, fileClient, Duration.ofMillis(INTERVAL),
+                Duration.ofMillis(MAX_INTERVAL), scheduler, () -> 1);
+        assertEquals(8000L, low.jitter(INTERVAL));
+        assertEquals(10000L, watcher.jitter(INTERVAL));
+        assertEquals(12000L, high.jitter(INTERVAL));
+    }
+
+    @Test
+    public void testCreate_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ConfigWatcher(environmentClient, fileClient, null,
+                Duration.ofMillis(MAX_INTERVAL), scheduler, () -> 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigWatcher(environmentClient, fileClient,
+                Duration.ZERO, Duration.ofMillis(MAX_INTERVAL), scheduler, () -> 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigWatcher(environmentClient, fileClient,
+                Duration.ofMillis(-1), Duration.ofMillis(MAX_INTERVAL), scheduler, () -> 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigWatcher(environmentClient, fileClient,
+                Duration.ofMillis(INTERVAL), null, scheduler, () -> 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigWatcher(environmentClient, fileClient,
+                Duration.ofMillis(INTERVAL), Duration.ofMillis(INTERVAL - 1), scheduler, () -> 0.5));
+        new ConfigWatcher(environmentClient, fileClient, Duration.ofMillis(INTERVAL), Duration.ofMillis(INTERVAL),
+                scheduler, () -> 0.5);
+    }
+
+    @Test
+    public void testCreate_template() {
+        final ConfigWatcher defaultWatcher = new ConfigWatcher(mock(ConfigTemplate.class));
+        assertEquals(0, defaultWatcher.getWatchCount());
+        defaultWatcher.close();
+    }
+
+    private void stubSchedule() {
+        doReturn(scheduledFuture).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private static ResponseEntity<Environment> environmentResponse(final String port, final String eTag) {
+        final Environment environment = new Environment("app", "cloud");
+        environment.add(new PropertySource("application.yml", Collections.singletonMap("server.port", port)));
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        if (eTag != null) {
+            httpHeaders.setETag(eTag);
+        }
+        return new ResponseEntity<>(environment, httpHeaders, HttpStatus.OK);
+    }
+}
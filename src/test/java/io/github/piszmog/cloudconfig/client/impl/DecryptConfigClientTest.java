@@ -1,6 +1,8 @@
 package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.cache.DecryptCache;
+import io.github.piszmog.cloudconfig.template.ConfigCallable;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +12,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,4 +70,160 @@ public class DecryptConfigClientTest {
         verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("encrypted-value"),
                 isNull(), eq(String.class), eq("this-app"), eq("test"));
     }
+
+    @Test
+    public void testDecryptAsync() throws Exception {
+        stubExecuteAsync();
+        when(template.getName()).thenReturn("app");
+        when(template.getProfile()).thenReturn("cloud");
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("decrypted-value"));
+        assertEquals("decrypted-value", client.decryptAsync("encrypted-value").get());
+        verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("encrypted-value"),
+                isNull(), eq(String.class), eq("app"), eq("cloud"));
+    }
+
+    @Test
+    public void testDecryptAsync_profile() throws Exception {
+        stubExecuteAsync();
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("decrypted-value"));
+        assertEquals("decrypted-value", client.decryptAsync("encrypted-value", "this-app", "test").get());
+        verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("encrypted-value"),
+                isNull(), eq(String.class), eq("this-app"), eq("test"));
+    }
+
+    @Test
+    public void testDecryptAll() throws ConfigException {
+        stubExecuteAsync();
+        stubDecrypt();
+        final List<BatchResult> results = client.decryptAll(Arrays.asList("a", "b", "a", "fail"));
+        assertEquals(4, results.size());
+        assertEquals("a", results.get(0).getInput());
+        assertEquals("decrypted-a", results.get(0).getValue());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("decrypted-b", results.get(1).getValue());
+        assertEquals("decrypted-a", results.get(2).getValue());
+        assertFalse(results.get(3).isSuccess());
+        assertNull(results.get(3).getValue());
+        assertInstanceOf(ConfigException.class, results.get(3).getError());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("a"),
+                isNull(), eq(String.class), eq("application"), eq("default"));
+    }
+
+    @Test
+    public void testDecryptAll_map() throws ConfigException {
+        stubExecuteAsync();
+        stubDecrypt();
+        final Map<String, String> values = new LinkedHashMap<>();
+        values.put("db.password", "b");
+        values.put("api.key", "a");
+        values.put("other.password", "b");
+        final Map<String, BatchResult> results = client.decryptAll(values, "this-app", "test", 2);
+        assertEquals(Arrays.asList("db.password", "api.key", "other.password"), Arrays.asList(results.keySet().toArray()));
+        assertEquals("decrypted-b", results.get("db.password").getValue());
+        assertEquals("decrypted-a", results.get("api.key").getValue());
+        assertEquals("decrypted-b", results.get("other.password").getValue());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("b"),
+                isNull(), eq(String.class), eq("this-app"), eq("test"));
+    }
+
+    @Test
+    public void testDecryptAll_invalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> client.decryptAll(Arrays.asList("a"), "app", "test", 0));
+    }
+
+    @Test
+    public void testDecrypt_cached() throws ConfigException {
+        final DecryptCache cache = new DecryptCache();
+        client = new DecryptConfigClient(template, cache);
+        stubDecrypt();
+        assertEquals("decrypted-a", client.decrypt("a", "app", "cloud"));
+        assertEquals("decrypted-a", client.decrypt("a", "app", "cloud"));
+        assertEquals(1, cache.getHitCount());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("a"),
+                isNull(), eq(String.class), eq("app"), eq("cloud"));
+    }
+
+    @Test
+    public void testDecrypt_cachedPerApplicationAndProfile() throws ConfigException {
+        client = new DecryptConfigClient(template, new DecryptCache());
+        stubDecrypt();
+        client.decrypt("a", "app", "cloud");
+        client.decrypt("a", "other", "cloud");
+        client.decrypt("a", "app", "test");
+        verify(template, times(3)).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("a"),
+                isNull(), eq(String.class), anyString(), anyString());
+    }
+
+    @Test
+    public void testDecrypt_cachedDefaults() throws ConfigException {
+        final DecryptCache cache = new DecryptCache();
+        client = new DecryptConfigClient(template, cache);
+        stubDecrypt();
+        client.decrypt("a", " ", null);
+        assertArrayEquals("decrypted-a".toCharArray(), cache.get("a", "application", "default"));
+        assertEquals("decrypted-a", client.decrypt("a", "application", "default"));
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("a"),
+                isNull(), eq(String.class), eq("application"), eq("default"));
+    }
+
+    @Test
+    public void testDecrypt_cacheNotFound() throws ConfigException {
+        final DecryptCache cache = new DecryptCache();
+        client = new DecryptConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(null);
+        assertNull(client.decrypt("a", "app", "cloud"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDecrypt_cacheNullValue() throws ConfigException {
+        final DecryptCache cache = new DecryptCache();
+        client = new DecryptConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("decrypted"));
+        assertEquals("decrypted", client.decrypt(null, "app", "cloud"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testDecryptAll_cached() throws ConfigException {
+        final DecryptCache cache = new DecryptCache();
+        client = new DecryptConfigClient(template, cache);
+        stubExecuteAsync();
+        stubDecrypt();
+        client.decrypt("a", "application", "default");
+        final List<BatchResult> results = client.decryptAll(Arrays.asList("a", "b"), "application", "default", 2);
+        assertEquals("decrypted-a", results.get(0).getValue());
+        assertEquals("decrypted-b", results.get(1).getValue());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.POST), eq("/decrypt/{name}/{profiles}"), eq("a"),
+                isNull(), eq(String.class), eq("application"), eq("default"));
+        assertEquals(2, cache.size());
+    }
+
+    private void stubDecrypt() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    final String value = invocation.getArgument(2);
+                    if ("fail".equals(value)) {
+                        throw new ConfigException("failed to decrypt");
+                    }
+                    return ResponseEntity.ok("decrypted-" + value);
+                });
+    }
+
+    private void stubExecuteAsync() {
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            final ConfigCallable<?> callable = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(callable.call());
+        });
+    }
 }
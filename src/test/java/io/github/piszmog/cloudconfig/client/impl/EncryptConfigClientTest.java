@@ -1,6 +1,7 @@
 package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.template.ConfigCallable;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +11,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -79,4 +89,110 @@ public class EncryptConfigClientTest {
         verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/encrypt/{name}/{profiles}"), eq("value"),
                 isNull(), eq(String.class), eq("this-app"), eq("test"));
     }
+
+    @Test
+    public void testEncryptAsync() throws Exception {
+        stubExecuteAsync();
+        when(template.getName()).thenReturn("app");
+        when(template.getProfile()).thenReturn("cloud");
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("encrypted-value"));
+        assertEquals("encrypted-value", client.encryptAsync("value").get());
+        verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/encrypt/{name}/{profiles}"), eq("value"),
+                isNull(), eq(String.class), eq("app"), eq("cloud"));
+    }
+
+    @Test
+    public void testEncryptAsync_profile() throws Exception {
+        stubExecuteAsync();
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("encrypted-value"));
+        assertEquals("encrypted-value", client.encryptAsync("value", "this-app", "test").get());
+        verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/encrypt/{name}/{profiles}"), eq("value"),
+                isNull(), eq(String.class), eq("this-app"), eq("test"));
+    }
+
+    @Test
+    public void testEncryptAll() throws ConfigException {
+        stubExecuteAsync();
+        stubEncrypt();
+        final List<BatchResult> results = client.encryptAll(Arrays.asList("a", "fail", "a"));
+        assertEquals(3, results.size());
+        assertEquals("encrypted-a", results.get(0).getValue());
+        assertFalse(results.get(1).isSuccess());
+        assertInstanceOf(ConfigException.class, results.get(1).getError());
+        assertEquals("encrypted-a", results.get(2).getValue());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.POST), eq("/encrypt/{name}/{profiles}"), eq("a"),
+                isNull(), eq(String.class), eq("application"), eq("default"));
+    }
+
+    @Test
+    public void testEncryptAll_progress() throws ConfigException {
+        stubExecuteAsync();
+        stubEncrypt();
+        final List<String> progress = new ArrayList<>();
+        final List<BatchResult> results = client.encryptAll(Arrays.asList("a", "b", "b", "c"), "this-app", "test", 2,
+                (result, completed, total) -> progress.add(result.getInput() + ":" + completed + "/" + total));
+        assertEquals(4, results.size());
+        assertEquals(Arrays.asList("a:1/3", "b:2/3", "c:3/3"), progress);
+        verify(template).sendAndReceive(eq(HttpMethod.POST), eq("/encrypt/{name}/{profiles}"), eq("c"),
+                isNull(), eq(String.class), eq("this-app"), eq("test"));
+    }
+
+    @Test
+    public void testEncrypt_local() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final String publicKey = RsaEncryptorTest.toSshKey((RSAPublicKey) generator.generateKeyPair().getPublic());
+        final EncryptConfigClient client = new EncryptConfigClient(template, true);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok(publicKey));
+        final String first = client.encrypt("value", "this-app", "test");
+        final String second = client.encrypt("value", "this-app", "test");
+        assertNotNull(first);
+        assertNotEquals(first, second);
+        //
+        // The public key is only retrieved once and the value is never sent to the config server
+        //
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.GET), eq("/key/{name}/{profile}"), isNull(),
+                isNull(), eq(String.class), eq("this-app"), eq("test"));
+        verifyNoMoreInteractions(template);
+        client.clearPublicKeys();
+        client.encrypt("value", "this-app", "test");
+        verify(template, times(2)).sendAndReceive(eq(HttpMethod.GET), eq("/key/{name}/{profile}"), isNull(),
+                isNull(), eq(String.class), eq("this-app"), eq("test"));
+    }
+
+    @Test
+    public void testEncrypt_local_defaults() throws Exception {
+        final EncryptConfigClient client = new EncryptConfigClient(template, true);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(null);
+        assertThrows(ConfigException.class, () -> client.encrypt("value"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/key/{name}/{profile}"), isNull(),
+                isNull(), eq(String.class), eq("application"), eq("default"));
+    }
+
+    private void stubEncrypt() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), anyString(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    final String value = invocation.getArgument(2);
+                    if ("fail".equals(value)) {
+                        throw new ConfigException("failed to encrypt");
+                    }
+                    return ResponseEntity.ok("encrypted-" + value);
+                });
+    }
+
+    private void stubExecuteAsync() {
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            final ConfigCallable<?> callable = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(callable.call());
+        });
+    }
 }
@@ -0,0 +1,295 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.cache.ConfigCache;
+import io.github.piszmog.cloudconfig.template.ConfigCallable;
+import io.github.piszmog.cloudconfig.template.ConfigTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EnvironmentConfigClientTest {
+    @Mock
+    private ConfigTemplate template;
+    private EnvironmentConfigClient client;
+
+    @BeforeEach
+    public void setup() {
+        client = new EnvironmentConfigClient(template);
+    }
+
+    @Test
+    public void testGetEnvironment() throws ConfigException {
+        when(template.getName()).thenReturn("app");
+        when(template.getProfile()).thenReturn("cloud");
+        when(template.getLabel()).thenReturn("develop");
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        final EnvironmentSnapshot snapshot = client.getEnvironment();
+        assertEquals("8080", snapshot.getProperty("server.port"));
+        assertEquals("app", snapshot.getName());
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/{label}"), isNull(), isNull(),
+                eq(Environment.class), eq("app"), eq("cloud"), eq("develop"));
+    }
+
+    @Test
+    public void testGetEnvironment_slashLabel() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        client.getEnvironment("app", "cloud", "feature/a");
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/{label}"), isNull(), isNull(),
+                eq(Environment.class), eq("app"), eq("cloud"), eq("feature(_)a"));
+    }
+
+    @Test
+    public void testGetEnvironment_defaults() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        assertNotNull(client.getEnvironment(" ", null, ""));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}"), isNull(), isNull(),
+                eq(Environment.class), eq("application"), eq("default"));
+    }
+
+    @Test
+    public void testGetEnvironment_notFound() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(null);
+        assertNull(client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_noBody() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok().build());
+        assertNull(client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_error() throws ConfigException {
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenThrow(new ConfigException("failed"));
+        assertThrows(ConfigException.class, () -> client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironmentAsync() throws Exception {
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            final ConfigCallable<?> callable = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(callable.call());
+        });
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        final CompletableFuture<EnvironmentSnapshot> future = client.getEnvironmentAsync("app", "cloud", "master");
+        assertEquals("8080", future.get().getProperty("server.port"));
+    }
+
+    @Test
+    public void testGetEnvironment_cached() throws ConfigException {
+        final ConfigCache cache = new ConfigCache();
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        final EnvironmentSnapshot snapshot = client.getEnvironment(" ", null, "");
+        assertSame(snapshot, client.getEnvironment("application", "default", null));
+        assertEquals(1, cache.getHitCount());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}"), isNull(), isNull(),
+                eq(Environment.class), eq("application"), eq("default"));
+    }
+
+    @Test
+    public void testGetEnvironment_cachedPerLabel() throws ConfigException {
+        client = new EnvironmentConfigClient(template, new ConfigCache());
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        client.getEnvironment("app", "cloud", "master");
+        client.getEnvironment("app", "cloud", "develop");
+        verify(template, times(2)).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/{label}"), isNull(),
+                isNull(), eq(Environment.class), any(Object[].class));
+    }
+
+    @Test
+    public void testGetEnvironment_notModified() throws ConfigException {
+        client = new EnvironmentConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"1\"").body(createEnvironment()));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), any(HttpHeaders.class),
+                eq(Environment.class), any(Object[].class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        final EnvironmentSnapshot snapshot = client.getEnvironment("app", "cloud", null);
+        assertSame(snapshot, client.getEnvironment("app", "cloud", null));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}"), isNull(),
+                argThat((HttpHeaders headers) -> headers.getIfNoneMatch().contains("\"1\"")), eq(Environment.class),
+                eq("app"), eq("cloud"));
+    }
+
+    @Test
+    public void testGetEnvironment_cachedRemoved() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenReturn(null);
+        assertNotNull(client.getEnvironment("app", "cloud", null));
+        assertNull(client.getEnvironment("app", "cloud", null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGetEnvironment_cachedNoBody() throws ConfigException {
+        final ConfigCache cache = new ConfigCache();
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok().build());
+        assertNull(client.getEnvironment("app", "cloud", null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGetEnvironment_staleWhileRevalidate() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleWhileRevalidate(Duration.ofHours(1));
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            final ConfigCallable<?> callable = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(callable.call());
+        });
+        final Environment changed = new Environment("app", "cloud");
+        changed.add(new PropertySource("application.yml", Collections.singletonMap("server.port", 9090)));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenReturn(ResponseEntity.ok(changed));
+        assertEquals("8080", client.getEnvironment("app", "cloud", null).getProperty("server.port"));
+        //
+        // The expired environment is returned and refreshed in the background
+        //
+        assertEquals("8080", client.getEnvironment("app", "cloud", null).getProperty("server.port"));
+        assertEquals("9090", client.getEnvironment("app", "cloud", null).getProperty("server.port"));
+        verify(template, times(2)).executeAsync(any());
+    }
+
+    @Test
+    public void testGetEnvironment_staleWhileRevalidate_inFlight() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleWhileRevalidate(Duration.ofHours(1));
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.executeAsync(any())).thenReturn(new CompletableFuture<>());
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()));
+        final EnvironmentSnapshot snapshot = client.getEnvironment("app", "cloud", null);
+        assertSame(snapshot, client.getEnvironment("app", "cloud", null));
+        assertSame(snapshot, client.getEnvironment("app", "cloud", null));
+        verify(template, times(1)).executeAsync(any());
+    }
+
+    @Test
+    public void testGetEnvironment_staleIfError() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleIfError(Duration.ofHours(1));
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenThrow(new ConfigException("failed", new ResourceAccessException("Connection refused")));
+        final EnvironmentSnapshot snapshot = client.getEnvironment("app", "cloud", null);
+        assertSame(snapshot, client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_staleIfError_serverError() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleIfError(Duration.ofHours(1));
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.GATEWAY_TIMEOUT));
+        final EnvironmentSnapshot snapshot = client.getEnvironment("app", "cloud", null);
+        assertSame(snapshot, client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_serverError() throws ConfigException {
+        client = new EnvironmentConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertNotNull(client.getEnvironment("app", "cloud", null));
+        assertThrows(HttpServerErrorException.class, () -> client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_staleIfError_clientError() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleIfError(Duration.ofHours(1));
+        client = new EnvironmentConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenThrow(new ConfigException("failed", new HttpClientErrorException(HttpStatus.UNAUTHORIZED)));
+        assertNotNull(client.getEnvironment("app", "cloud", null));
+        assertThrows(ConfigException.class, () -> client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_staleIfError_disabled() throws ConfigException {
+        client = new EnvironmentConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenReturn(ResponseEntity.ok(createEnvironment()))
+                .thenThrow(new ConfigException("failed"));
+        assertNotNull(client.getEnvironment("app", "cloud", null));
+        assertThrows(ConfigException.class, () -> client.getEnvironment("app", "cloud", null));
+    }
+
+    @Test
+    public void testGetEnvironment_cachedError() throws ConfigException {
+        client = new EnvironmentConfigClient(template, new ConfigCache());
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(Environment.class),
+                any(Object[].class)))
+                .thenThrow(new ConfigException("failed"));
+        assertThrows(ConfigException.class, () -> client.getEnvironment("app", "cloud", null));
+    }
+
+    private static Environment createEnvironment() {
+        final Environment environment = new Environment("app", "cloud");
+        environment.add(new PropertySource("application.yml", Collections.singletonMap("server.port", 8080)));
+        return environment;
+    }
+}
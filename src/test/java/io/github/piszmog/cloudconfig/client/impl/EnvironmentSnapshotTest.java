@@ -0,0 +1,141 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnvironmentSnapshotTest {
+    private Environment environment;
+
+    @BeforeEach
+    public void setup() {
+        environment = new Environment("app", new String[]{"cloud", "test"}, "master", "abc123", "state");
+        final Map<String, Object> cloud = new LinkedHashMap<>();
+        cloud.put("server.port", 9090);
+        cloud.put("spring.datasource.url", "jdbc:cloud");
+        cloud.put("empty", null);
+        final Map<String, Object> application = new LinkedHashMap<>();
+        application.put("server.port", 8080);
+        application.put("spring.datasource.username", "user");
+        application.put("spring.datasourcex", "other");
+        application.put("empty", "from-application");
+        environment.add(new PropertySource("app-cloud.yml", cloud));
+        environment.add(new PropertySource("application.yml", application));
+    }
+
+    @Test
+    public void testOf() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertEquals("app", snapshot.getName());
+        assertEquals(Arrays.asList("cloud", "test"), snapshot.getProfiles());
+        assertEquals("master", snapshot.getLabel());
+        assertEquals("abc123", snapshot.getVersion());
+        assertEquals("state", snapshot.getState());
+        assertEquals(Arrays.asList("app-cloud.yml", "application.yml"), snapshot.getPropertySourceNames());
+        assertEquals(5, snapshot.size());
+    }
+
+    @Test
+    public void testOf_null() {
+        assertThrows(IllegalArgumentException.class, () -> EnvironmentSnapshot.of(null));
+    }
+
+    @Test
+    public void testOf_noProfiles() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(new Environment("app", (String[]) null));
+        assertTrue(snapshot.getProfiles().isEmpty());
+        assertEquals(0, snapshot.size());
+    }
+
+    @Test
+    public void testGetProperty_precedence() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertEquals("9090", snapshot.getProperty("server.port"));
+        assertEquals(9090, snapshot.getRawProperty("server.port"));
+        assertEquals("app-cloud.yml", snapshot.getPropertySourceName("server.port"));
+        assertEquals("application.yml", snapshot.getPropertySourceName("spring.datasource.username"));
+    }
+
+    @Test
+    public void testGetProperty_nullValue() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertEquals("from-application", snapshot.getProperty("empty"));
+        assertEquals("application.yml", snapshot.getPropertySourceName("empty"));
+    }
+
+    @Test
+    public void testGetProperty_missing() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertNull(snapshot.getProperty("missing"));
+        assertNull(snapshot.getRawProperty("missing"));
+        assertNull(snapshot.getPropertySourceName("missing"));
+        assertEquals("fallback", snapshot.getProperty("missing", "fallback"));
+        assertEquals("user", snapshot.getProperty("spring.datasource.username", "fallback"));
+        assertFalse(snapshot.containsProperty("missing"));
+        assertTrue(snapshot.containsProperty("server.port"));
+    }
+
+    @Test
+    public void testGetPropertyNames() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertEquals(Arrays.asList("empty", "server.port", "spring.datasource.url", "spring.datasource.username",
+                "spring.datasourcex"), Arrays.asList(snapshot.getPropertyNames().toArray()));
+        assertEquals(5, snapshot.getProperties().size());
+    }
+
+    @Test
+    public void testGetPropertiesWithPrefix() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        final Map<String, Object> properties = snapshot.getPropertiesWithPrefix("spring.datasource.");
+        assertEquals(2, properties.size());
+        assertEquals("jdbc:cloud", properties.get("spring.datasource.url"));
+        assertEquals("user", properties.get("spring.datasource.username"));
+        assertEquals(5, snapshot.getPropertiesWithPrefix("").size());
+        assertEquals(5, snapshot.getPropertiesWithPrefix(null).size());
+        assertTrue(snapshot.getPropertiesWithPrefix("missing.").isEmpty());
+    }
+
+    @Test
+    public void testGetProperties_range() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        final Map<String, Object> properties = snapshot.getProperties("server.port", "spring.datasource.username");
+        assertEquals(2, properties.size());
+        assertTrue(properties.containsKey("server.port"));
+        assertTrue(properties.containsKey("spring.datasource.url"));
+        assertEquals(1, snapshot.getProperties("server.port", "server.port\0").size());
+        assertTrue(snapshot.getProperties("server.port", "server.port").isEmpty());
+    }
+
+    @Test
+    public void testGetProperties_invalidRange() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getProperties(null, "b"));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getProperties("a", null));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getProperties("b", "a"));
+    }
+
+    @Test
+    public void testImmutable() {
+        final EnvironmentSnapshot snapshot = EnvironmentSnapshot.of(environment);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getProperties().put("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getProfiles().add("a"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPropertySourceNames().add("a"));
+        //
+        // Changing the environment after the snapshot is taken does not change the snapshot
+        //
+        final Map<String, Object> added = new HashMap<>();
+        added.put("added", "value");
+        environment.addFirst(new PropertySource("added", added));
+        environment.getProfiles()[0] = "changed";
+        assertFalse(snapshot.containsProperty("added"));
+        assertEquals("cloud", snapshot.getProfiles().get(0));
+    }
+}
@@ -1,17 +1,50 @@
 package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.cache.ConfigCache;
+import io.github.piszmog.cloudconfig.cache.ConfigCacheKey;
+import io.github.piszmog.cloudconfig.cache.ConfigDiskCache;
+import io.github.piszmog.cloudconfig.template.ConfigCallable;
+import io.github.piszmog.cloudconfig.template.ConfigStreamHandler;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,46 +61,42 @@ public class FileConfigClientTest {
 
     @Test
     public void testGetFileFromMaster() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromMaster("test.txt", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/master/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/master/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromBranch() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromBranch("test.txt", "develop", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/develop/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromBranch_directory() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromBranch("test.txt", "develop", "/foo", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/develop/foo/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/foo/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromBranch_directory_missingSlash() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromBranch("test.txt", "develop", "foo", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/develop/foo/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/foo/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
@@ -78,81 +107,74 @@ public class FileConfigClientTest {
     @Test
     public void testGetFileFromMaster_appName() throws ConfigException {
         when(template.getName()).thenReturn("this-app");
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromMaster("test.txt", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/master/{file}"),
-                isNull(), isNull(), eq(String.class), eq("this-app"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/this-app/default/master/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromMaster_profile() throws ConfigException {
         when(template.getProfile()).thenReturn("test");
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromMaster("test.txt", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/master/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("test"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/test/master/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromBranch_noBranch() throws ConfigException {
         when(template.getLabel()).thenReturn("test");
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromBranch("test.txt", null, String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/test/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/test/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromMaster_nullResponse() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(null);
         final String file = client.getFileFromMaster("test.txt", String.class);
         assertNull(file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/master/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/master/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromBranch_nullBranch() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromBranch("test.txt", null, String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/master/{file}"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/master/test.txt")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromDefaultBranch() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromDefaultBranch("test.txt", "/foo", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/foo/{file}?useDefaultLabel=true"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromDefaultBranch_noLeadingSlash() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromDefaultBranch("test.txt", "foo", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/foo/{file}?useDefaultLabel=true"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
@@ -167,36 +189,609 @@ public class FileConfigClientTest {
 
     @Test
     public void testGetFileFromDefaultBranch_nullResponse() throws ConfigException {
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(null);
         final String file = client.getFileFromDefaultBranch("test.txt", "/foo", String.class);
         assertNull(file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/foo/{file}?useDefaultLabel=true"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromDefaultBranch_appName() throws ConfigException {
         when(template.getName()).thenReturn("this-app");
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromDefaultBranch("test.txt", "/foo", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/foo/{file}?useDefaultLabel=true"),
-                isNull(), isNull(), eq(String.class), eq("this-app"), eq("default"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/this-app/default/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
     }
 
     @Test
     public void testGetFileFromDefaultBranch_profile() throws ConfigException {
         when(template.getProfile()).thenReturn("test");
-        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
-                anyString(), anyString(), anyString()))
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
                 .thenReturn(ResponseEntity.ok("hello"));
         final String file = client.getFileFromDefaultBranch("test.txt", "/foo", String.class);
         assertEquals("hello", file);
-        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/{name}/{profile}/foo/{file}?useDefaultLabel=true"),
-                isNull(), isNull(), eq(String.class), eq("default"), eq("test"), eq("test.txt"));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/test/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_cached() throws ConfigException {
+        final ConfigCache cache = new ConfigCache();
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), isNull(), eq(String.class));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGetFileFromBranch_cached_differentBranch() throws ConfigException {
+        final FileConfigClient client = new FileConfigClient(template, new ConfigCache());
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"));
+        client.getFileFromBranch("test.txt", "develop", String.class);
+        client.getFileFromBranch("test.txt", "master", String.class);
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), isNull(), eq(String.class));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/master/test.txt")),
+                isNull(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_cached_nullResponse() throws ConfigException {
+        final ConfigCache cache = new ConfigCache();
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(null);
+        assertNull(client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGetFileFromDefaultBranch_cached() throws ConfigException {
+        final ConfigCache cache = new ConfigCache();
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"));
+        assertEquals("hello", client.getFileFromDefaultBranch("test.txt", "/foo", String.class));
+        assertEquals("hello", client.getFileFromDefaultBranch("test.txt", "foo", String.class));
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testGetFileFromBranch_notModified() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"123\"").lastModified(1000L).body("hello"));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), any(HttpHeaders.class), eq(String.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), argThat((HttpHeaders headers) -> headers.getIfNoneMatch().contains("\"123\"")
+                        && headers.getIfModifiedSince() == 1000L),
+                eq(String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_modified() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"123\"").body("hello"));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), any(HttpHeaders.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"456\"").body("world"));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("world", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("\"456\"", cache.getEntry(new ConfigCacheKey("default",
+                "default", "develop", null, "test.txt", String.class)).getETag());
+    }
+
+    @Test
+    public void testGetFileFromBranch_noValidators() throws ConfigException {
+        final FileConfigClient client = new FileConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        verify(template, times(2)).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_cached_removed() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenReturn(null);
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertNull(client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGetFileFromBranch_staleWhileRevalidate() throws Exception {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleWhileRevalidate(Duration.ofHours(1));
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        final List<ConfigCallable<?>> refreshes = new ArrayList<>();
+        final CompletableFuture<Object> refreshFuture = new CompletableFuture<>();
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            refreshes.add(invocation.getArgument(0));
+            return refreshFuture;
+        });
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"123\"").body("hello"));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), any(HttpHeaders.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"456\"").body("world"));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        //
+        // The expired file is returned while a single refresh is in flight
+        //
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals(1, refreshes.size());
+        assertEquals("world", refreshes.get(0).call());
+        refreshFuture.complete("world");
+        assertEquals("world", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals(2, refreshes.size());
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), argThat((HttpHeaders headers) -> headers.getIfNoneMatch().contains("\"123\"")),
+                eq(String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_staleIfError() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleIfError(Duration.ofHours(1));
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenThrow(unreachable());
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_staleIfError_serverError() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleIfError(Duration.ofHours(1));
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_serverError() throws ConfigException {
+        final FileConfigClient client = new FileConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertThrows(HttpServerErrorException.class, () -> client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_staleIfError_clientError() throws ConfigException {
+        final ConfigCache cache = new ConfigCache(Duration.ZERO, 10, 1024);
+        cache.setStaleIfError(Duration.ofHours(1));
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        final ConfigException exception = new ConfigException("Failed",
+                new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenThrow(exception);
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        //
+        // A rejected request is not masked by the expired copy
+        //
+        assertSame(exception, assertThrows(ConfigException.class,
+                () -> client.getFileFromBranch("test.txt", "develop", String.class)));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_clientError(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        diskCache.put(new ConfigCacheKey("default", "default", "develop", null, "test.txt", String.class),
+                "hello", null, -1L);
+        final FileConfigClient client = new FileConfigClient(template, null, diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenThrow(new ConfigException("Failed", new HttpClientErrorException(HttpStatus.FORBIDDEN)));
+        assertThrows(ConfigException.class, () -> client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_staleIfError_disabled() throws ConfigException {
+        final FileConfigClient client = new FileConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024));
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenThrow(unreachable());
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertThrows(ConfigException.class, () -> client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        final FileConfigClient client = new FileConfigClient(template, null, diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"123\"").body("hello"));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        final ConfigCache.Entry entry = diskCache.get(new ConfigCacheKey("default", "default", "develop", null,
+                "test.txt", String.class));
+        assertEquals("hello", entry.getValue());
+        assertEquals("\"123\"", entry.getETag());
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_warmStart(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        diskCache.put(new ConfigCacheKey("default", "default", "develop", null, "test.txt", String.class),
+                "hello", "\"123\"", -1L);
+        final ConfigCache cache = new ConfigCache();
+        final FileConfigClient client = new FileConfigClient(template, cache, diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), any(HttpHeaders.class), eq(String.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        verify(template, times(1)).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                isNull(), argThat((HttpHeaders headers) -> headers.getIfNoneMatch().contains("\"123\"")),
+                eq(String.class));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_unavailable(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        diskCache.put(new ConfigCacheKey("default", "default", "develop", null, "test.txt", String.class),
+                "hello", null, -1L);
+        final FileConfigClient client = new FileConfigClient(template, null, diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenThrow(unreachable());
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_serverError(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        diskCache.put(new ConfigCacheKey("default", "default", "develop", null, "test.txt", String.class),
+                "hello", null, -1L);
+        final FileConfigClient client = new FileConfigClient(template, null, diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_readOnlyWithoutMemoryEntry() throws ConfigException {
+        final ConfigDiskCache diskCache = mock(ConfigDiskCache.class);
+        final FileConfigClient client = new FileConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024), diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenReturn(ResponseEntity.ok("world"));
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        assertEquals("world", client.getFileFromBranch("test.txt", "develop", String.class));
+        //
+        // The expired copy in memory is revalidated, so the copy on disk is only read for the first fetch
+        //
+        verify(diskCache, times(1)).get(any(ConfigCacheKey.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_unavailableWithMemoryEntry(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        final FileConfigClient client = new FileConfigClient(template, new ConfigCache(Duration.ZERO, 10, 1024), diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"))
+                .thenThrow(unreachable());
+        assertEquals("hello", client.getFileFromBranch("test.txt", "develop", String.class));
+        diskCache.put(new ConfigCacheKey("default", "default", "develop", null, "test.txt", String.class),
+                "from disk", null, -1L);
+        assertEquals("from disk", client.getFileFromBranch("test.txt", "develop", String.class));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_unavailableNoFile(@TempDir final Path directory) throws ConfigException {
+        final FileConfigClient client = new FileConfigClient(template, null, new ConfigDiskCache(directory));
+        final ConfigException exception = unreachable();
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenThrow(exception);
+        assertSame(exception, assertThrows(ConfigException.class,
+                () -> client.getFileFromBranch("test.txt", "develop", String.class)));
+    }
+
+    @Test
+    public void testGetFileFromBranch_diskCache_notFound(@TempDir final Path directory) throws ConfigException {
+        final ConfigDiskCache diskCache = new ConfigDiskCache(directory);
+        final ConfigCacheKey key = new ConfigCacheKey("default", "default", "develop", null, "test.txt", String.class);
+        diskCache.put(key, "hello", null, -1L);
+        final FileConfigClient client = new FileConfigClient(template, null, diskCache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(null);
+        assertNull(client.getFileFromBranch("test.txt", "develop", String.class));
+        assertNull(diskCache.get(key));
+    }
+
+    @Test
+    public void testGetFileFromBranchAsync() throws Exception {
+        stubExecuteAsync();
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"));
+        final CompletableFuture<String> file = client.getFileFromBranchAsync("test.txt", "develop", "foo", String.class);
+        assertEquals("hello", file.get());
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/foo/test.txt")),
+                isNull(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testGetFileFromDefaultBranchAsync() throws Exception {
+        stubExecuteAsync();
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("hello"));
+        final CompletableFuture<String> file = client.getFileFromDefaultBranchAsync("test.txt", "/foo", String.class);
+        assertEquals("hello", file.get());
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                isNull(), isNull(), eq(String.class));
+    }
+
+    @Test
+    public void testStreamFileFromBranch() throws ConfigException {
+        stubStream("hello");
+        final String file = client.streamFileFromBranch("test.txt", "develop", "foo",
+                (body, headers) -> new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("hello", file);
+        verify(template).sendAndReceiveStream(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/foo/test.txt")),
+                argThat((HttpHeaders headers) -> headers.getAccept().equals(Collections.singletonList(MediaType.APPLICATION_OCTET_STREAM))),
+                any(ConfigStreamHandler.class));
+    }
+
+    @Test
+    public void testStreamFileFromDefaultBranch() throws ConfigException {
+        stubStream("hello");
+        final String file = client.streamFileFromDefaultBranch("test.txt", "/foo",
+                (body, headers) -> new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("hello", file);
+        verify(template).sendAndReceiveStream(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                any(HttpHeaders.class), any(ConfigStreamHandler.class));
+    }
+
+    @Test
+    public void testStreamFile_invalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> client.streamFileFromBranch("test.txt", "develop", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.streamFileFromBranch(" ", "develop", null, (body, headers) -> "hello"));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.streamFileFromDefaultBranch("test.txt", null, (body, headers) -> "hello"));
+    }
+
+    @Test
+    public void testDownloadFileFromBranch(@TempDir final Path directory) throws Exception {
+        stubStream("hello");
+        final Path target = directory.resolve("test.txt");
+        Files.writeString(target, "old contents");
+        assertTrue(client.downloadFileFromBranch("test.txt", "develop", null, target));
+        assertEquals("hello", Files.readString(target));
+        assertEquals(1, countFiles(directory));
+        verify(template).sendAndReceiveStream(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_BRANCH), eq(URI.create("/default/default/develop/test.txt")),
+                any(HttpHeaders.class), any(ConfigStreamHandler.class));
+    }
+
+    @Test
+    public void testDownloadFileFromDefaultBranch(@TempDir final Path directory) throws Exception {
+        stubStream("hello");
+        final Path target = directory.resolve("test.txt");
+        assertTrue(client.downloadFileFromDefaultBranch("test.txt", "foo", target));
+        assertEquals("hello", Files.readString(target));
+        verify(template).sendAndReceiveStream(eq(HttpMethod.GET), eq(FileUriTemplates.TEMPLATE_DEFAULT_BRANCH), eq(URI.create("/default/default/foo/test.txt?useDefaultLabel=true")),
+                any(HttpHeaders.class), any(ConfigStreamHandler.class));
+    }
+
+    @Test
+    public void testDownloadFileFromBranch_notFound(@TempDir final Path directory) throws Exception {
+        when(template.sendAndReceiveStream(any(HttpMethod.class), anyString(), any(URI.class), any(HttpHeaders.class),
+                any(ConfigStreamHandler.class)))
+                .thenReturn(null);
+        final Path target = directory.resolve("test.txt");
+        assertFalse(client.downloadFileFromBranch("test.txt", "develop", null, target));
+        assertFalse(Files.exists(target));
+        assertEquals(0, countFiles(directory));
+    }
+
+    @Test
+    public void testDownloadFileFromBranch_error(@TempDir final Path directory) throws Exception {
+        when(template.sendAndReceiveStream(any(HttpMethod.class), anyString(), any(URI.class), any(HttpHeaders.class),
+                any(ConfigStreamHandler.class)))
+                .thenThrow(new ConfigException("Failed"));
+        final Path target = directory.resolve("test.txt");
+        Files.writeString(target, "old contents");
+        assertThrows(ConfigException.class, () -> client.downloadFileFromBranch("test.txt", "develop", null, target));
+        assertEquals("old contents", Files.readString(target));
+        assertEquals(1, countFiles(directory));
+    }
+
+    @Test
+    public void testDownloadFileFromBranch_missingDirectory(@TempDir final Path directory) {
+        final Path target = directory.resolve("missing").resolve("test.txt");
+        assertThrows(ConfigException.class, () -> client.downloadFileFromBranch("test.txt", "develop", null, target));
+    }
+
+    @Test
+    public void testDownloadFile_invalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> client.downloadFileFromBranch("test.txt", "develop", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.downloadFileFromDefaultBranch("test.txt", "foo", null));
+    }
+
+    @Test
+    public void testPrefetch() throws ConfigException {
+        stubExecuteAsync();
+        final ConfigCache cache = new ConfigCache();
+        final FileConfigClient client = new FileConfigClient(template, cache);
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    final String path = invocation.getArgument(2, URI.class).getPath();
+                    if (path.endsWith("fail.txt")) {
+                        throw new ConfigException("Failed");
+                    }
+                    if (path.endsWith("missing.txt")) {
+                        return null;
+                    }
+                    return ResponseEntity.ok(path);
+                });
+        final List<FileSpec> files = Arrays.asList(FileSpec.onBranch("a.txt", "develop", null, String.class),
+                FileSpec.onDefaultBranch("b.txt", "foo", String.class),
+                FileSpec.onBranch("missing.txt", "develop", null, String.class),
+                FileSpec.onBranch("fail.txt", "develop", null, String.class),
+                FileSpec.onBranch(" ", "develop", null, String.class));
+        final PrefetchSummary summary = client.prefetch(files);
+        assertEquals(5, summary.getResults().size());
+        assertSame(files.get(0), summary.getResults().get(0).getFile());
+        assertTrue(summary.getResults().get(0).isFound());
+        assertTrue(summary.getResults().get(1).isFound());
+        assertFalse(summary.getResults().get(2).isFound());
+        assertTrue(summary.getResults().get(2).isSuccess());
+        assertFalse(summary.getResults().get(3).isSuccess());
+        assertInstanceOf(ConfigException.class, summary.getResults().get(3).getError());
+        assertInstanceOf(IllegalArgumentException.class, summary.getResults().get(4).getError());
+        assertEquals(3, summary.getSuccessCount());
+        assertEquals(2, summary.getFailureCount());
+        assertEquals(Arrays.asList(summary.getResults().get(3), summary.getResults().get(4)), summary.getFailures());
+        assertFalse(summary.isSuccess());
+        assertFalse(summary.getDuration().isNegative());
+        assertFalse(summary.getSlowestDuration().isNegative());
+        //
+        // The prefetched files are cached
+        //
+        assertEquals("/default/default/develop/a.txt", client.getFileFromBranch("a.txt", "develop", String.class));
+        assertEquals("/default/default/foo/b.txt", client.getFileFromDefaultBranch("b.txt", "foo", String.class));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testPrefetch_empty() throws ConfigException {
+        final PrefetchSummary summary = client.prefetch(Collections.emptyList());
+        assertTrue(summary.getResults().isEmpty());
+        assertTrue(summary.isSuccess());
+        assertEquals(Duration.ZERO, summary.getSlowestDuration());
+    }
+
+    @Test
+    public void testPrefetch_parallelism() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            when(template.executeAsync(any())).thenAnswer(invocation -> {
+                final ConfigCallable<?> callable = invocation.getArgument(0);
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return callable.call();
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+            });
+            final AtomicInteger inFlight = new AtomicInteger();
+            final AtomicInteger maxInFlight = new AtomicInteger();
+            when(template.sendAndReceive(any(HttpMethod.class), anyString(), any(URI.class), isNull(), isNull(), eq(String.class)))
+                    .thenAnswer(invocation -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        Thread.sleep(20);
+                        inFlight.decrementAndGet();
+                        return ResponseEntity.ok("hello");
+                    });
+            final List<FileSpec> files = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                files.add(FileSpec.onBranch(i + ".txt", "develop", null, String.class));
+            }
+            final PrefetchSummary summary = client.prefetch(files, 2);
+            assertEquals(6, summary.getSuccessCount());
+            assertTrue(maxInFlight.get() <= 2);
+            assertTrue(summary.getSlowestDuration().compareTo(Duration.ofMillis(20)) >= 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPrefetch_rejected() throws ConfigException {
+        final RejectedExecutionException exception = new RejectedExecutionException("rejected");
+        when(template.executeAsync(any())).thenReturn(CompletableFuture.failedFuture(exception));
+        final PrefetchSummary summary = client.prefetch(Collections.singletonList(
+                FileSpec.onBranch("a.txt", "develop", null, String.class)));
+        assertSame(exception, summary.getResults().get(0).getError());
+        assertFalse(summary.getResults().get(0).isFound());
+        assertEquals(Duration.ZERO, summary.getResults().get(0).getDuration());
+    }
+
+    @Test
+    public void testPrefetch_rejectedError() throws ConfigException {
+        final AssertionError error = new AssertionError("failed");
+        when(template.executeAsync(any())).thenReturn(CompletableFuture.failedFuture(error));
+        final PrefetchSummary summary = client.prefetch(Collections.singletonList(
+                FileSpec.onBranch("a.txt", "develop", null, String.class)));
+        assertInstanceOf(CompletionException.class, summary.getResults().get(0).getError());
+        assertSame(error, summary.getResults().get(0).getError().getCause());
+    }
+
+    @Test
+    public void testPrefetch_interrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ConfigException.class, () -> client.prefetch(Collections.singletonList(
+                    FileSpec.onBranch("a.txt", "develop", null, String.class))));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testPrefetch_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> client.prefetch(null));
+        assertThrows(IllegalArgumentException.class, () -> client.prefetch(Collections.emptyList(), 0));
+    }
+
+    private void stubStream(final String contents) throws ConfigException {
+        when(template.sendAndReceiveStream(any(HttpMethod.class), anyString(), any(URI.class), any(HttpHeaders.class),
+                any(ConfigStreamHandler.class)))
+                .thenAnswer(invocation -> {
+                    final ConfigStreamHandler<?> handler = invocation.getArgument(3);
+                    return handler.handle(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)),
+                            new HttpHeaders());
+                });
+    }
+
+    private static ConfigException unreachable() {
+        return new ConfigException("Failed", new ResourceAccessException("Connection refused"));
+    }
+
+    private static long countFiles(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private void stubExecuteAsync() {
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            final ConfigCallable<?> callable = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(callable.call());
+        });
     }
 }
@@ -0,0 +1,47 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSpecTest {
+    @Test
+    public void testOnBranch() {
+        final FileSpec file = FileSpec.onBranch("a.txt", "develop", "foo", String.class);
+        assertEquals("a.txt", file.getFileName());
+        assertEquals("develop", file.getBranch());
+        assertEquals("foo", file.getDirectoryPath());
+        assertEquals(String.class, file.getClassType());
+        assertFalse(file.isDefaultBranch());
+        assertEquals("develop/foo/a.txt (java.lang.String)", file.toString());
+    }
+
+    @Test
+    public void testOnDefaultBranch() {
+        final FileSpec file = FileSpec.onDefaultBranch("a.txt", "foo", byte[].class);
+        assertNull(file.getBranch());
+        assertTrue(file.isDefaultBranch());
+        assertEquals("(default)/foo/a.txt (" + byte[].class.getName() + ")", file.toString());
+    }
+
+    @Test
+    public void testEquals() {
+        final FileSpec file = FileSpec.onBranch("a.txt", "develop", "foo", String.class);
+        assertEquals(file, file);
+        assertEquals(file, FileSpec.onBranch("a.txt", "develop", "foo", String.class));
+        assertEquals(file.hashCode(), FileSpec.onBranch("a.txt", "develop", "foo", String.class).hashCode());
+        assertNotEquals(file, FileSpec.onBranch("b.txt", "develop", "foo", String.class));
+        assertNotEquals(file, FileSpec.onBranch("a.txt", "master", "foo", String.class));
+        assertNotEquals(file, FileSpec.onBranch("a.txt", "develop", "bar", String.class));
+        assertNotEquals(file, FileSpec.onBranch("a.txt", "develop", "foo", byte[].class));
+        assertNotEquals(FileSpec.onBranch("a.txt", null, "foo", String.class),
+                FileSpec.onDefaultBranch("a.txt", "foo", String.class));
+        assertNotEquals(file, "a.txt");
+    }
+
+    @Test
+    public void testCreate_noClassType() {
+        assertThrows(IllegalArgumentException.class, () -> FileSpec.onBranch("a.txt", "develop", null, null));
+        assertThrows(IllegalArgumentException.class, () -> FileSpec.onDefaultBranch("a.txt", "foo", null));
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileUriTemplatesTest {
+    @Test
+    public void testExpandBranch() {
+        final FileUriTemplates templates = new FileUriTemplates();
+        assertEquals(URI.create("/app/default/master/test.txt"),
+                templates.expandBranch("app", "default", "master", null, "test.txt"));
+        assertEquals(URI.create("/app/default/master/foo/test.txt"),
+                templates.expandBranch("app", "default", "master", "foo", "test.txt"));
+        assertEquals(URI.create("/app/default/master/foo/bar/test.txt"),
+                templates.expandBranch("app", "default", "master", "/foo/bar", "test.txt"));
+        assertEquals(URI.create("/app/default/master/test.txt"),
+                templates.expandBranch("app", "default", "master", " ", "test.txt"));
+    }
+
+    @Test
+    public void testExpandDefaultBranch() {
+        final FileUriTemplates templates = new FileUriTemplates();
+        assertEquals(URI.create("/app/default/foo/test.txt?useDefaultLabel=true"),
+                templates.expandDefaultBranch("app", "default", "foo", "test.txt"));
+        //
+        // The default branch is cached separately from a branch with the same directory
+        //
+        assertEquals(URI.create("/app/default/master/foo/test.txt"),
+                templates.expandBranch("app", "default", "master", "foo", "test.txt"));
+        assertEquals(2, templates.size());
+    }
+
+    @Test
+    public void testExpand_encoded() {
+        final FileUriTemplates templates = new FileUriTemplates();
+        final URI uri = templates.expandBranch("my app", "default", "feature(_)x", "a dir", "my file?.txt");
+        assertEquals("/my%20app/default/feature(_)x/a%20dir/my%20file%3F.txt", uri.getRawPath());
+        assertNull(uri.getRawQuery());
+    }
+
+    @Test
+    public void testExpand_cached() {
+        final FileUriTemplates templates = new FileUriTemplates();
+        templates.expandBranch("app", "default", "master", "foo", "a.txt");
+        assertEquals(URI.create("/app/default/master/foo/b.txt"),
+                templates.expandBranch("app", "default", "master", "foo", "b.txt"));
+        assertEquals(1, templates.size());
+        templates.expandBranch("app", "dev", "master", "foo", "a.txt");
+        templates.expandBranch("other", "default", "master", "foo", "a.txt");
+        templates.expandBranch("app", "default", "develop", "foo", "a.txt");
+        templates.expandBranch("app", "default", "master", "bar", "a.txt");
+        assertEquals(5, templates.size());
+    }
+
+    @Test
+    public void testExpand_bounded() {
+        final FileUriTemplates templates = new FileUriTemplates(2);
+        templates.expandBranch("app", "default", "a", null, "test.txt");
+        templates.expandBranch("app", "default", "b", null, "test.txt");
+        templates.expandBranch("app", "default", "c", null, "test.txt");
+        assertEquals(2, templates.size());
+        assertEquals(URI.create("/app/default/a/test.txt"),
+                templates.expandBranch("app", "default", "a", null, "test.txt"));
+    }
+}
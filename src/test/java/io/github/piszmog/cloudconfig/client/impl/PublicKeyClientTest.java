@@ -1,6 +1,7 @@
 package io.github.piszmog.cloudconfig.client.impl;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import io.github.piszmog.cloudconfig.template.ConfigCallable;
 import io.github.piszmog.cloudconfig.template.ConfigTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
@@ -70,4 +73,35 @@ public class PublicKeyClientTest {
         verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/key/{name}/{profile}"), isNull(), isNull(), eq(String.class),
                 eq("application"), eq("default"));
     }
+
+    @Test
+    public void testGetPublicKeyAsync() throws Exception {
+        stubExecuteAsync();
+        when(template.getName()).thenReturn("app");
+        when(template.getProfile()).thenReturn("cloud");
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("key"));
+        assertEquals("key", client.getPublicKeyAsync().get());
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/key/{name}/{profile}"), isNull(), isNull(),
+                eq(String.class), eq("app"), eq("cloud"));
+    }
+
+    @Test
+    public void testGetPublicKeyAsync_profile() throws Exception {
+        stubExecuteAsync();
+        when(template.sendAndReceive(any(HttpMethod.class), anyString(), isNull(), isNull(), eq(String.class),
+                anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok("key"));
+        assertEquals("key", client.getPublicKeyAsync("this-app", "test").get());
+        verify(template).sendAndReceive(eq(HttpMethod.GET), eq("/key/{name}/{profile}"), isNull(), isNull(),
+                eq(String.class), eq("this-app"), eq("test"));
+    }
+
+    private void stubExecuteAsync() {
+        when(template.executeAsync(any())).thenAnswer(invocation -> {
+            final ConfigCallable<?> callable = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(callable.call());
+        });
+    }
 }
@@ -0,0 +1,98 @@
+package io.github.piszmog.cloudconfig.client.impl;
+
+import io.github.piszmog.cloudconfig.ConfigException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RsaEncryptorTest {
+    private static KeyPair keyPair;
+
+    @BeforeAll
+    public static void setupKeys() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    public void testEncrypt() throws Exception {
+        final RsaEncryptor encryptor = new RsaEncryptor((RSAPublicKey) keyPair.getPublic());
+        final String cipherText = encryptor.encrypt("super secret");
+        assertEquals("super secret", decrypt(cipherText));
+    }
+
+    @Test
+    public void testEncrypt_random() throws Exception {
+        final RsaEncryptor encryptor = new RsaEncryptor((RSAPublicKey) keyPair.getPublic());
+        assertNotEquals(encryptor.encrypt("super secret"), encryptor.encrypt("super secret"));
+    }
+
+    @Test
+    public void testParsePublicKey_ssh() throws Exception {
+        final RSAPublicKey publicKey = RsaEncryptor.parsePublicKey(toSshKey((RSAPublicKey) keyPair.getPublic()));
+        assertEquals(keyPair.getPublic(), publicKey);
+    }
+
+    @Test
+    public void testParsePublicKey_pem() throws Exception {
+        final String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+        assertEquals(keyPair.getPublic(), RsaEncryptor.parsePublicKey(pem));
+    }
+
+    @Test
+    public void testParsePublicKey_invalid() {
+        assertThrows(ConfigException.class, () -> RsaEncryptor.parsePublicKey("foo"));
+        assertThrows(ConfigException.class, () -> RsaEncryptor.parsePublicKey("ssh-rsa"));
+        assertThrows(ConfigException.class, () -> RsaEncryptor.parsePublicKey("ssh-rsa !!!"));
+        assertThrows(ConfigException.class, () -> RsaEncryptor.parsePublicKey("ssh-rsa "
+                + Base64.getEncoder().encodeToString(new byte[]{0, 0, 0, 7, 's', 's', 'h', '-', 'd', 's', 's'})));
+    }
+
+    static String toSshKey(final RSAPublicKey publicKey) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final byte[] type = "ssh-rsa".getBytes(StandardCharsets.US_ASCII);
+        output.writeInt(type.length);
+        output.write(type);
+        final byte[] exponent = publicKey.getPublicExponent().toByteArray();
+        output.writeInt(exponent.length);
+        output.write(exponent);
+        final byte[] modulus = publicKey.getModulus().toByteArray();
+        output.writeInt(modulus.length);
+        output.write(modulus);
+        return "ssh-rsa " + Base64.getEncoder().encodeToString(bytes.toByteArray()) + " application";
+    }
+
+    static String decrypt(final String cipherText) throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(cipherText));
+        final int secretLength = ((buffer.get() & 0xFF) << 8) | (buffer.get() & 0xFF);
+        final byte[] encryptedSecret = new byte[secretLength];
+        buffer.get(encryptedSecret);
+        final Cipher rsa = Cipher.getInstance("RSA");
+        rsa.init(Cipher.DECRYPT_MODE, keyPair.getPrivate());
+        final byte[] secret = rsa.doFinal(encryptedSecret);
+        final byte[] iv = new byte[16];
+        buffer.get(iv);
+        final byte[] encryptedValue = Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+        final Cipher aes = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        aes.init(Cipher.DECRYPT_MODE, RsaEncryptor.deriveKey(secret), new IvParameterSpec(iv));
+        return new String(aes.doFinal(encryptedValue), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.piszmog.cloudconfig.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicrometerConfigMetricsTest {
+    private SimpleMeterRegistry registry;
+    private MicrometerConfigMetrics metrics;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerConfigMetrics(registry);
+    }
+
+    @Test
+    public void testRecordRequest() {
+        metrics.recordRequest("/decrypt/{name}/{profiles}", HttpMethod.POST, "http://localhost:8888", 200,
+                TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordRequest("/decrypt/{name}/{profiles}", HttpMethod.POST, "http://localhost:8888", 200,
+                TimeUnit.MILLISECONDS.toNanos(15));
+        final Timer timer = registry.get(MicrometerConfigMetrics.METRIC_REQUESTS)
+                .tag("uri", "/decrypt/{name}/{profiles}")
+                .tag("method", "POST")
+                .tag("target", "http://localhost:8888")
+                .tag("status", "200")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(20, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRecordRequest_stripsQuery() {
+        metrics.recordRequest("/{name}/{profile}/{file}?useDefaultLabel=true", HttpMethod.GET, "http://localhost:8888",
+                304, 1);
+        assertEquals(1, registry.get(MicrometerConfigMetrics.METRIC_REQUESTS)
+                .tag("uri", "/{name}/{profile}/{file}")
+                .tag("outcome", "REDIRECTION")
+                .timer()
+                .count());
+    }
+
+    @Test
+    public void testRecordRequest_outcomes() {
+        metrics.recordRequest("/foo", HttpMethod.GET, "http://localhost:8888", 404, 1);
+        metrics.recordRequest("/foo", HttpMethod.GET, "http://localhost:8888", 503, 1);
+        metrics.recordRequest("/foo", HttpMethod.GET, "http://localhost:8888", 0, 1);
+        assertEquals(1, registry.get(MicrometerConfigMetrics.METRIC_REQUESTS)
+                .tags("status", "404", "outcome", "CLIENT_ERROR").timer().count());
+        assertEquals(1, registry.get(MicrometerConfigMetrics.METRIC_REQUESTS)
+                .tags("status", "503", "outcome", "SERVER_ERROR").timer().count());
+        assertEquals(1, registry.get(MicrometerConfigMetrics.METRIC_REQUESTS)
+                .tags("status", "IO_ERROR", "outcome", "UNKNOWN").timer().count());
+    }
+
+    @Test
+    public void testRecordFailover() {
+        metrics.recordFailover("http://a:8888");
+        metrics.recordFailover("http://a:8888");
+        assertEquals(2, registry.get(MicrometerConfigMetrics.METRIC_FAILOVERS)
+                .tag("target", "http://a:8888")
+                .counter()
+                .count());
+    }
+
+    @Test
+    public void testBindConnectionPool() {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(42);
+        metrics.bindConnectionPool("a", connectionManager);
+        assertEquals(42, registry.get(MicrometerConfigMetrics.METRIC_CONNECTIONS + ".max").tag("client", "a").gauge().value());
+        assertEquals(0, registry.get(MicrometerConfigMetrics.METRIC_CONNECTIONS + ".leased").gauge().value());
+        assertEquals(0, registry.get(MicrometerConfigMetrics.METRIC_CONNECTIONS + ".available").gauge().value());
+        assertEquals(0, registry.get(MicrometerConfigMetrics.METRIC_CONNECTIONS + ".pending").gauge().value());
+        connectionManager.close();
+    }
+
+    @Test
+    public void testNoop() {
+        ConfigMetrics.NOOP.recordRequest("/foo", HttpMethod.GET, "http://localhost:8888", 200, 1);
+        ConfigMetrics.NOOP.recordFailover("http://localhost:8888");
+        ConfigMetrics.NOOP.bindConnectionPool("a", new PoolingHttpClientConnectionManager());
+        ConfigMetrics.NOOP.bindResponseBytes("a", () -> 1, () -> 2);
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    @Test
+    public void testBindResponseBytes() {
+        final AtomicLong received = new AtomicLong(10);
+        metrics.bindResponseBytes("a", received::get, () -> 70);
+        received.set(20);
+        assertEquals(20, registry.get(MicrometerConfigMetrics.METRIC_RESPONSE_BYTES)
+                .tags("client", "a", "stage", "received")
+                .functionCounter()
+                .count());
+        assertEquals(70, registry.get(MicrometerConfigMetrics.METRIC_RESPONSE_BYTES)
+                .tag("stage", "decoded")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    public void testBind_multipleClients() {
+        final PoolingHttpClientConnectionManager first = new PoolingHttpClientConnectionManager();
+        first.setMaxTotal(10);
+        final PoolingHttpClientConnectionManager second = new PoolingHttpClientConnectionManager();
+        second.setMaxTotal(20);
+        metrics.bindConnectionPool("a", first);
+        metrics.bindConnectionPool("b", second);
+        metrics.bindResponseBytes("a", () -> 1, () -> 2);
+        metrics.bindResponseBytes("b", () -> 3, () -> 4);
+        assertEquals(10, registry.get(MicrometerConfigMetrics.METRIC_CONNECTIONS + ".max").tag("client", "a").gauge().value());
+        assertEquals(20, registry.get(MicrometerConfigMetrics.METRIC_CONNECTIONS + ".max").tag("client", "b").gauge().value());
+        assertEquals(3, registry.get(MicrometerConfigMetrics.METRIC_RESPONSE_BYTES)
+                .tags("client", "b", "stage", "received")
+                .functionCounter()
+                .count());
+        first.close();
+        second.close();
+    }
+}
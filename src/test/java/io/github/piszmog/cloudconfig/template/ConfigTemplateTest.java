@@ -1,10 +1,18 @@
 package io.github.piszmog.cloudconfig.template;
 
 import io.github.piszmog.cloudconfig.ConfigException;
+import com.sun.net.httpserver.HttpServer;
+import io.github.piszmog.cloudconfig.metrics.ConfigMetrics;
+import io.github.piszmog.cloudconfig.metrics.MicrometerConfigMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -14,17 +22,46 @@ import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.cloud.config.client.ConfigClientStateHolder;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +94,64 @@ public class ConfigTemplateTest {
         assertEquals(MediaType.APPLICATION_JSON, req.getHeaders().getAccept().get(0));
     }
 
+    @Test
+    public void testSendAndReceive_uri() throws ConfigException {
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        final ResponseEntity<String> responseEntity = template.sendAndReceive(HttpMethod.GET,
+                "/foo/{name}?useDefaultLabel=true", URI.create("/foo/a%20b?useDefaultLabel=true"), null, null,
+                String.class);
+        assertEquals("foo bar", responseEntity.getBody());
+        verify(restTemplate).exchange(eq(URI.create("http://localhost:8888/foo/a%20b?useDefaultLabel=true")),
+                eq(HttpMethod.GET), any(), eq(String.class));
+        assertEquals(MediaType.APPLICATION_JSON, entityCaptor.getValue().getHeaders().getAccept().get(0));
+        verify(metrics).recordRequest(eq("/foo/{name}?useDefaultLabel=true"), eq(HttpMethod.GET),
+                eq("http://localhost:8888"), eq(200), anyLong());
+    }
+
+    @Test
+    public void testSendAndReceive_uri_notFound() throws ConfigException {
+        when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        assertNull(template.sendAndReceive(HttpMethod.GET, "/foo", URI.create("/foo"), null, null, String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_uri_clientError() {
+        when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        final ConfigException exception = assertThrows(ConfigException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/foo/{name}", URI.create("/foo/a%20b"), null, null, String.class));
+        assertTrue(exception.getMessage().contains("GET at /foo/a%20b"));
+    }
+
+    @Test
+    public void testSendAndReceive_uri_failover() {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        final ConfigException exception = assertThrows(ConfigException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/foo", URI.create("/foo"), null, null, String.class));
+        assertEquals("Failed to access resource at /foo", exception.getMessage());
+        verify(restTemplate).exchange(eq(URI.create("http://a:8888/foo")), eq(HttpMethod.GET), any(), eq(String.class));
+        verify(restTemplate).exchange(eq(URI.create("http://b:8888/foo")), eq(HttpMethod.GET), any(), eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceiveStream_uri() throws Exception {
+        final ClientHttpResponse clientResponse = createStreamResponse("foo bar");
+        when(restTemplate.execute(any(URI.class), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(clientResponse));
+        final String body = template.sendAndReceiveStream(HttpMethod.GET, "/foo", URI.create("/foo"), null,
+                (stream, headers) -> new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("foo bar", body);
+        verify(restTemplate).execute(eq(URI.create("http://localhost:8888/foo")), eq(HttpMethod.GET),
+                any(RequestCallback.class), any(ResponseExtractor.class));
+    }
+
     @Test
     public void testSendAndReceive_nullResp() throws ConfigException {
         when(restTemplate.exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
@@ -150,6 +245,52 @@ public class ConfigTemplateTest {
                 "hello world", null, String.class));
     }
 
+    @Test
+    public void testSendAndReceive_passwordAndAuthNotCountedAsFailure() {
+        properties.setPassword("password");
+        properties.setHeaders(Collections.singletonMap("authorization", "Bearer 12345"));
+        template.setCircuitFailureThreshold(1);
+        assertThrows(IllegalArgumentException.class, () -> template.sendAndReceive(HttpMethod.GET, "/foo",
+                "hello world", null, String.class));
+        final EndpointHealth health = template.getEndpointHealth().get(0);
+        assertEquals(0, health.getFailureCount());
+        assertEquals(CircuitState.CLOSED, health.getState());
+    }
+
+    @Test
+    public void testSendAndReceive_credentialsChanged() throws ConfigException {
+        properties.setPassword("first");
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        final Object endpointHeaders = ReflectionTestUtils.getField(template, "endpointHeaders");
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        assertSame(endpointHeaders, ReflectionTestUtils.getField(template, "endpointHeaders"));
+        properties.setPassword("second");
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        final List<HttpEntity> entities = entityCaptor.getAllValues();
+        assertEquals("Basic " + Base64.getEncoder().encodeToString("user:first".getBytes()),
+                entities.get(1).getHeaders().getFirst("Authorization"));
+        assertEquals("Basic " + Base64.getEncoder().encodeToString("user:second".getBytes()),
+                entities.get(2).getHeaders().getFirst("Authorization"));
+    }
+
+    @Test
+    public void testSendAndReceive_httpHeaders() throws ConfigException {
+        properties.setToken("abcd");
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setIfNoneMatch("\"123\"");
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        final ResponseEntity<String> responseEntity = template.sendAndReceive(HttpMethod.GET, "/foo", null,
+                httpHeaders, String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        final HttpEntity req = entityCaptor.getValue();
+        assertEquals("\"123\"", req.getHeaders().getIfNoneMatch().get(0));
+        assertEquals("abcd", req.getHeaders().get("X-Config-Token").get(0));
+        assertEquals(1, httpHeaders.size());
+    }
+
     @Test
     public void testSendAndReceive_stateHeader() throws ConfigException {
         ConfigClientStateHolder.setState("state");
@@ -188,6 +329,570 @@ public class ConfigTemplateTest {
         assertNull(req.getHeaders().get("X-Config-State"));
     }
 
+    @Test
+    public void testSendAndReceive_sequentialFailover() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        final ResponseEntity<String> responseEntity = template.sendAndReceive(HttpMethod.GET, "/foo", null,
+                null, String.class);
+        assertEquals("foo bar", responseEntity.getBody());
+        assertEquals(1, template.getEndpointStatistics("http://a:8888").getFailureCount());
+        assertEquals(1, template.getEndpointStatistics("http://b:8888").getSuccessCount());
+    }
+
+    @Test
+    public void testSendAndReceive_sequentialFailover_allFail() {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        assertThrows(ConfigException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class));
+        verify(restTemplate).exchange(eq("http://a:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+        verify(restTemplate).exchange(eq("http://b:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_sequentialFailover_notFound() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        assertNull(template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_fastest() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888", "http://c:8888"});
+        template.setFailoverStrategy(FailoverStrategy.FASTEST);
+        template.getEndpointStatistics("http://a:8888").recordSuccess(300);
+        template.getEndpointStatistics("http://b:8888").recordSuccess(100);
+        template.getEndpointStatistics("http://c:8888").recordSuccess(10);
+        template.getEndpointStatistics("http://c:8888").recordFailure(System.nanoTime(), 5);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        verify(restTemplate).exchange(eq("http://b:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+        verifyNoMoreInteractions(restTemplate);
+    }
+
+    @Test
+    public void testSendAndReceive_hedged() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setFailoverStrategy(FailoverStrategy.HEDGED);
+        template.setHedgeDelay(Duration.ofMillis(10));
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(2000);
+                    return ResponseEntity.ok("slow");
+                });
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("fast"));
+        final ResponseEntity<String> responseEntity = template.sendAndReceive(HttpMethod.GET, "/foo", null,
+                null, String.class);
+        assertEquals("fast", responseEntity.getBody());
+    }
+
+    @Test
+    public void testSendAndReceive_hedged_failover() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setFailoverStrategy(FailoverStrategy.HEDGED);
+        template.setHedgeDelay(Duration.ofSeconds(10));
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        final ResponseEntity<String> responseEntity = template.sendAndReceive(HttpMethod.GET, "/foo", null,
+                null, String.class);
+        assertEquals("foo bar", responseEntity.getBody());
+    }
+
+    @Test
+    public void testSendAndReceive_hedged_error() {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setFailoverStrategy(FailoverStrategy.HEDGED);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        assertThrows(ConfigException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_hedged_allFail() {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setFailoverStrategy(FailoverStrategy.HEDGED);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        assertThrows(ConfigException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_circuitOpen() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setCircuitFailureThreshold(2);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        assertEquals(CircuitState.OPEN, template.getEndpointStatistics("http://a:8888").getState());
+        //
+        // The open config server is skipped
+        //
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        verify(restTemplate, times(2)).exchange(eq("http://a:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+        verify(restTemplate, times(3)).exchange(eq("http://b:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_circuitHalfOpen() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setCircuitFailureThreshold(1);
+        template.setCircuitOpenDuration(Duration.ZERO);
+        template.getEndpointStatistics("http://a:8888").recordFailure(System.nanoTime(), 1);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        assertEquals(CircuitState.CLOSED, template.getEndpointStatistics("http://a:8888").getState());
+        verify(restTemplate).exchange(eq("http://a:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+        verifyNoMoreInteractions(restTemplate);
+    }
+
+    @Test
+    public void testSendAndReceive_circuitAllOpen() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setCircuitFailureThreshold(1);
+        template.getEndpointStatistics("http://a:8888").recordFailure(System.nanoTime(), 1);
+        template.getEndpointStatistics("http://b:8888").recordFailure(System.nanoTime(), 1);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        assertEquals("foo bar", template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class).getBody());
+        assertEquals(CircuitState.CLOSED, template.getEndpointStatistics("http://a:8888").getState());
+        assertEquals(CircuitState.OPEN, template.getEndpointStatistics("http://b:8888").getState());
+    }
+
+    @Test
+    public void testSendAndReceive_circuitAcquiredWhenTried() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setCircuitFailureThreshold(1);
+        template.setCircuitOpenDuration(Duration.ZERO);
+        template.getEndpointStatistics("http://a:8888").recordFailure(System.nanoTime(), 1);
+        template.getEndpointStatistics("http://b:8888").recordFailure(System.nanoTime(), 1);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        //
+        // The second config server is never sent the request, so it does not wait on a probe
+        //
+        assertEquals(CircuitState.CLOSED, template.getEndpointStatistics("http://a:8888").getState());
+        assertEquals(CircuitState.OPEN, template.getEndpointStatistics("http://b:8888").getState());
+    }
+
+    @Test
+    public void testSendAndReceive_hedged_circuitAcquiredWhenTried() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setFailoverStrategy(FailoverStrategy.HEDGED);
+        template.setHedgeDelay(Duration.ofSeconds(10));
+        template.setCircuitFailureThreshold(1);
+        template.setCircuitOpenDuration(Duration.ZERO);
+        template.getEndpointStatistics("http://a:8888").recordFailure(System.nanoTime(), 1);
+        template.getEndpointStatistics("http://b:8888").recordFailure(System.nanoTime(), 1);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        assertEquals(CircuitState.CLOSED, template.getEndpointStatistics("http://a:8888").getState());
+        assertEquals(CircuitState.OPEN, template.getEndpointStatistics("http://b:8888").getState());
+    }
+
+    @Test
+    public void testSendAndReceive_circuitSkipsOpenServer() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888", "http://c:8888"});
+        template.setCircuitFailureThreshold(1);
+        template.getEndpointStatistics("http://b:8888").recordFailure(System.nanoTime(), 1);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.exchange(eq("http://c:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        assertEquals("foo bar", template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class).getBody());
+        verify(restTemplate, times(0)).exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(), eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_serverErrorCountsAsFailure() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThrows(HttpServerErrorException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class));
+        assertEquals(1, template.getEndpointStatistics("http://localhost:8888").getFailureCount());
+    }
+
+    @Test
+    public void testSendAndReceive_slowCall() throws ConfigException {
+        template.setSlowCallThreshold(Duration.ZERO);
+        template.setCircuitFailureThreshold(1);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5);
+                    return ResponseEntity.ok("slow");
+                });
+        assertEquals("slow", template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class).getBody());
+        final EndpointHealth health = template.getEndpointHealth().get(0);
+        assertEquals(CircuitState.OPEN, health.getState());
+        assertEquals(1, health.getFailureCount());
+        assertTrue(health.getAverageLatency().toMillis() >= 5);
+    }
+
+    @Test
+    public void testGetEndpointHealth() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        final List<EndpointHealth> health = template.getEndpointHealth();
+        assertEquals(2, health.size());
+        assertEquals("http://a:8888", health.get(0).getUri());
+        assertEquals(CircuitState.CLOSED, health.get(0).getState());
+        assertEquals(1, health.get(0).getSuccessCount());
+        assertEquals(1.0, health.get(0).getSuccessRate());
+        assertFalse(health.get(0).isSkipped());
+        assertEquals("http://b:8888", health.get(1).getUri());
+        assertEquals(0, health.get(1).getSuccessCount());
+    }
+
+    @Test
+    public void testSetCircuitSettings() {
+        template.setCircuitFailureThreshold(0);
+        template.setCircuitOpenDuration(Duration.ofSeconds(5));
+        template.setSlowCallThreshold(Duration.ofSeconds(1));
+        assertEquals(0, template.getCircuitFailureThreshold());
+        assertEquals(Duration.ofSeconds(5), template.getCircuitOpenDuration());
+        assertEquals(Duration.ofSeconds(1), template.getSlowCallThreshold());
+        assertThrows(IllegalArgumentException.class, () -> template.setCircuitFailureThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> template.setCircuitOpenDuration(null));
+        assertThrows(IllegalArgumentException.class, () -> template.setCircuitOpenDuration(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> template.setSlowCallThreshold(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void testSendAndReceive_metrics() throws ConfigException {
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        template.sendAndReceive(HttpMethod.GET, "/decrypt/{name}", null, null, String.class, "app");
+        template.sendAndReceive(HttpMethod.GET, "/decrypt/{name}", null, null, String.class, "app");
+        assertThrows(ConfigException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/decrypt/{name}", null, null, String.class, "app"));
+        assertThrows(HttpServerErrorException.class,
+                () -> template.sendAndReceive(HttpMethod.GET, "/decrypt/{name}", null, null, String.class, "app"));
+        verify(metrics).recordRequest(eq("/decrypt/{name}"), eq(HttpMethod.GET), eq("http://localhost:8888"), eq(200), anyLong());
+        verify(metrics).recordRequest(eq("/decrypt/{name}"), eq(HttpMethod.GET), eq("http://localhost:8888"), eq(404), anyLong());
+        verify(metrics).recordRequest(eq("/decrypt/{name}"), eq(HttpMethod.GET), eq("http://localhost:8888"), eq(400), anyLong());
+        verify(metrics).recordRequest(eq("/decrypt/{name}"), eq(HttpMethod.GET), eq("http://localhost:8888"), eq(503), anyLong());
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @Test
+    public void testSendAndReceive_metricsFailover() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        verify(metrics).recordRequest(eq("/foo"), eq(HttpMethod.GET), eq("http://a:8888"), eq(0), anyLong());
+        verify(metrics).recordFailover("http://a:8888");
+        verify(metrics).recordRequest(eq("/foo"), eq(HttpMethod.GET), eq("http://b:8888"), eq(200), anyLong());
+    }
+
+    @Test
+    public void testSendAndReceive_metricsHedgedFailover() throws ConfigException {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        template.setFailoverStrategy(FailoverStrategy.HEDGED);
+        template.setHedgeDelay(Duration.ofSeconds(10));
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        when(restTemplate.exchange(eq("http://a:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.exchange(eq("http://b:8888/foo"), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        verify(metrics).recordFailover("http://a:8888");
+    }
+
+    @Test
+    public void testSetMetrics_bindsConnectionPool() {
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        assertSame(ConfigMetrics.NOOP, template.getMetrics());
+        template.createFactory();
+        template.setMetrics(metrics);
+        assertSame(metrics, template.getMetrics());
+        verify(metrics).bindConnectionPool(eq("http://localhost:8888"), any(PoolingHttpClientConnectionManager.class));
+        template.createFactory();
+        verify(metrics, times(2)).bindConnectionPool(eq("http://localhost:8888"), any(PoolingHttpClientConnectionManager.class));
+    }
+
+    @Test
+    public void testSetMetrics_beforeFactory() {
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        verifyNoMoreInteractions(metrics);
+        assertThrows(IllegalArgumentException.class, () -> template.setMetrics(null));
+    }
+
+    @Test
+    public void testSendAndReceiveStream() throws Exception {
+        final HttpHeaders requestHeaders = new HttpHeaders();
+        final ClientHttpRequest clientRequest = mock(ClientHttpRequest.class);
+        when(clientRequest.getHeaders()).thenReturn(requestHeaders);
+        final ClientHttpResponse clientResponse = createStreamResponse("foo bar");
+        when(restTemplate.execute(anyString(), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    invocation.<RequestCallback>getArgument(2).doWithRequest(clientRequest);
+                    return invocation.<ResponseExtractor<?>>getArgument(3).extractData(clientResponse);
+                });
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_OCTET_STREAM));
+        final String body = template.sendAndReceiveStream(HttpMethod.GET, "/foo", httpHeaders,
+                (stream, headers) -> new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("foo bar", body);
+        assertEquals(Collections.singletonList(MediaType.APPLICATION_OCTET_STREAM), requestHeaders.getAccept());
+        verify(restTemplate).execute(eq("http://localhost:8888/foo"), eq(HttpMethod.GET), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class));
+        assertEquals(1, template.getEndpointStatistics("http://localhost:8888").getSuccessCount());
+    }
+
+    @Test
+    public void testSendAndReceiveStream_notFound() throws ConfigException {
+        when(restTemplate.execute(anyString(), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        assertNull(template.sendAndReceiveStream(HttpMethod.GET, "/foo", null, (stream, headers) -> "foo"));
+    }
+
+    @Test
+    public void testSendAndReceiveStream_clientError() {
+        when(restTemplate.execute(anyString(), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        assertThrows(ConfigException.class,
+                () -> template.sendAndReceiveStream(HttpMethod.GET, "/foo", null, (stream, headers) -> "foo"));
+    }
+
+    @Test
+    public void testSendAndReceiveStream_failover() throws Exception {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        final ClientHttpResponse clientResponse = createStreamResponse("foo bar");
+        when(restTemplate.execute(eq("http://a:8888/foo"), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        when(restTemplate.execute(eq("http://b:8888/foo"), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(clientResponse));
+        final String body = template.sendAndReceiveStream(HttpMethod.GET, "/foo", null,
+                (stream, headers) -> new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("foo bar", body);
+        assertEquals(1, template.getEndpointStatistics("http://a:8888").getFailureCount());
+    }
+
+    @Test
+    public void testSendAndReceiveStream_handlerFails() throws Exception {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        final ClientHttpResponse clientResponse = mock(ClientHttpResponse.class);
+        when(clientResponse.getBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(clientResponse.getHeaders()).thenReturn(new HttpHeaders());
+        when(clientResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(restTemplate.execute(anyString(), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(clientResponse));
+        final IOException failure = new IOException("disk full");
+        final ConfigException exception = assertThrows(ConfigException.class,
+                () -> template.sendAndReceiveStream(HttpMethod.GET, "/foo", null, (stream, headers) -> {
+                    throw failure;
+                }));
+        assertSame(failure, exception.getCause());
+        //
+        // The config server responded, so the other config server is not tried
+        //
+        verify(restTemplate, times(1)).execute(anyString(), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class), any(Object[].class));
+        assertEquals(0, template.getEndpointStatistics("http://a:8888").getFailureCount());
+        verify(metrics).recordRequest(eq("/foo"), eq(HttpMethod.GET), eq("http://a:8888"), eq(200), anyLong());
+    }
+
+    @Test
+    public void testSendAndReceive_coalesced() throws Exception {
+        template.setRequestCoalescing(true);
+        final CountDownLatch release = stubBlockingExchange(ResponseEntity.ok("foo bar"));
+        final RequestThread leader = startRequest(HttpMethod.GET, null, "a");
+        final RequestThread follower = startRequest(HttpMethod.GET, null, "a");
+        release.countDown();
+        leader.join();
+        follower.join();
+        assertEquals("foo bar", leader.responseEntity.getBody());
+        assertSame(leader.responseEntity, follower.responseEntity);
+        verify(restTemplate, times(1)).exchange(eq("http://localhost:8888/foo/a"), eq(HttpMethod.GET), any(),
+                eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_coalesced_error() throws Exception {
+        template.setRequestCoalescing(true);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(eq("http://localhost:8888/foo/a"), any(HttpMethod.class), any(HttpEntity.class),
+                eq(String.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+                });
+        final RequestThread leader = startRequest(HttpMethod.GET, null, "a");
+        final RequestThread follower = startRequest(HttpMethod.GET, null, "a");
+        release.countDown();
+        leader.join();
+        follower.join();
+        assertInstanceOf(ConfigException.class, leader.exception);
+        assertSame(leader.exception, follower.exception);
+    }
+
+    @Test
+    public void testSendAndReceive_coalesced_differentRequests() throws Exception {
+        template.setRequestCoalescing(true);
+        final CountDownLatch release = stubBlockingExchange(ResponseEntity.ok("foo bar"));
+        final RequestThread first = startRequest(HttpMethod.GET, null, "a");
+        final RequestThread second = startRequest(HttpMethod.GET, null, "b");
+        final RequestThread withBody = startRequest(HttpMethod.GET, "body", "a");
+        final RequestThread post = startRequest(HttpMethod.POST, null, "a");
+        release.countDown();
+        first.join();
+        second.join();
+        withBody.join();
+        post.join();
+        verify(restTemplate, times(3)).exchange(eq("http://localhost:8888/foo/a"), any(HttpMethod.class), any(),
+                eq(String.class));
+        verify(restTemplate).exchange(eq("http://localhost:8888/foo/b"), any(HttpMethod.class), any(),
+                eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_notCoalesced() throws Exception {
+        assertFalse(template.isRequestCoalescing());
+        final CountDownLatch release = stubBlockingExchange(ResponseEntity.ok("foo bar"));
+        final RequestThread first = startRequest(HttpMethod.GET, null, "a");
+        final RequestThread second = startRequest(HttpMethod.GET, null, "a");
+        release.countDown();
+        first.join();
+        second.join();
+        verify(restTemplate, times(2)).exchange(eq("http://localhost:8888/foo/a"), eq(HttpMethod.GET), any(),
+                eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceive_coalesced_completed() throws ConfigException {
+        template.setRequestCoalescing(true);
+        assertTrue(template.isRequestCoalescing());
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        template.sendAndReceive(HttpMethod.GET, "/foo/{name}", null, null, String.class, "a");
+        template.sendAndReceive(HttpMethod.GET, "/foo/{name}", null, null, String.class, "a");
+        verify(restTemplate, times(2)).exchange(eq("http://localhost:8888/foo/a"), eq(HttpMethod.GET), any(),
+                eq(String.class));
+    }
+
+    @Test
+    public void testSetHedgeDelay_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> template.setHedgeDelay(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> template.setHedgeDelay(null));
+    }
+
+    @Test
+    public void testSendAndReceiveAsync() throws Exception {
+        template.setAsyncExecutor(Runnable::run);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        final CompletableFuture<ResponseEntity<String>> future = template.sendAndReceiveAsync(HttpMethod.GET, "/foo",
+                null, null, String.class);
+        assertEquals("foo bar", future.get().getBody());
+        verify(restTemplate).exchange(eq("http://localhost:8888/foo"), eq(HttpMethod.GET), any(), eq(String.class));
+    }
+
+    @Test
+    public void testSendAndReceiveAsync_exception() {
+        template.setAsyncExecutor(Runnable::run);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Failed"));
+        final CompletableFuture<ResponseEntity<String>> future = template.sendAndReceiveAsync(HttpMethod.GET, "/foo",
+                null, null, String.class);
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(ConfigException.class, exception.getCause());
+    }
+
+    @Test
+    public void testExecuteAsync_rejected() {
+        template.setAsyncExecutor(runnable -> {
+            throw new RejectedExecutionException("full");
+        });
+        final CompletableFuture<String> future = template.executeAsync(() -> "foo");
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    @Test
+    public void testExecuteAsync_defaultExecutor() throws Exception {
+        assertNotNull(template.getAsyncExecutor());
+        assertSame(template.getAsyncExecutor(), template.getAsyncExecutor());
+        assertEquals("foo", template.executeAsync(() -> "foo").get());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    public void testUseVirtualThreads() throws Exception {
+        template.useVirtualThreads();
+        final Executor executor = template.getAsyncExecutor();
+        try {
+            final Thread thread = template.executeAsync(Thread::currentThread).get();
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+            assertTrue(thread.getName().startsWith("config-client-virtual-"));
+        } finally {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    public void testUseVirtualThreads_unsupported() {
+        final Executor executor = Runnable::run;
+        template.setAsyncExecutor(executor);
+        assertThrows(IllegalStateException.class, () -> template.useVirtualThreads());
+        assertSame(executor, template.getAsyncExecutor());
+    }
+
+    @Test
+    public void testSendAndReceive_headersNotShared() throws ConfigException {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), entityCaptor.capture(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("foo bar"));
+        final HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add("foo", "bar");
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, httpHeaders, String.class);
+        template.sendAndReceive(HttpMethod.GET, "/foo", null, null, String.class);
+        final List<HttpEntity> entities = entityCaptor.getAllValues();
+        assertNotSame(entities.get(0).getHeaders(), entities.get(1).getHeaders());
+        assertEquals("bar", entities.get(0).getHeaders().getFirst("foo"));
+        assertNull(entities.get(1).getHeaders().getFirst("foo"));
+    }
+
     @Test
     public void testGetName() {
         properties.setName("fooBar");
@@ -218,12 +923,237 @@ public class ConfigTemplateTest {
                 .hasFieldOrPropertyWithValue("maxTotal", 100);
     }
 
+    @Test
+    public void testCreateHttpClientFactory_settings() {
+        final HttpClientSettings settings = new HttpClientSettings();
+        settings.setMaxPerRoute(20);
+        settings.setMaxTotal(40);
+        settings.setConnectTimeout(Duration.ofSeconds(1));
+        settings.setSocketTimeout(Duration.ofSeconds(2));
+        settings.setConnectionRequestTimeout(Duration.ofSeconds(3));
+        settings.setResponseTimeout(Duration.ofSeconds(4));
+        settings.setTimeToLive(Duration.ofMinutes(1));
+        settings.setEvictIdleConnectionsAfter(Duration.ofSeconds(30));
+        settings.setValidateAfterInactivity(Duration.ofSeconds(5));
+        settings.setKeepAlive(Duration.ofSeconds(15));
+        final TestConfigTemplate template = new TestConfigTemplate(properties, settings);
+        final AbstractObjectAssert<?, ?> httpClient = assertThat(template.createFactory()).extracting("httpClient");
+        httpClient.extracting("defaultConfig")
+                .hasFieldOrPropertyWithValue("connectionRequestTimeout", Timeout.ofSeconds(3))
+                .hasFieldOrPropertyWithValue("responseTimeout", Timeout.ofSeconds(4))
+                .hasFieldOrPropertyWithValue("connectionKeepAlive", TimeValue.ofSeconds(15));
+        httpClient.extracting("connManager")
+                .extracting("pool")
+                .hasFieldOrPropertyWithValue("defaultMaxPerRoute", 20)
+                .hasFieldOrPropertyWithValue("maxTotal", 40);
+    }
+
+    @Test
+    public void testCreate_nullSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TestConfigTemplate(properties, (HttpClientSettings) null));
+    }
+
+    @Test
+    public void testHttpClientSettings_invalid() {
+        final HttpClientSettings settings = new HttpClientSettings();
+        assertThrows(IllegalArgumentException.class, () -> settings.setMaxPerRoute(0));
+        assertThrows(IllegalArgumentException.class, () -> settings.setMaxTotal(0));
+        assertThrows(IllegalArgumentException.class, () -> settings.setConnectTimeout(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setSocketTimeout(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setConnectionRequestTimeout(null));
+        assertThrows(IllegalArgumentException.class, () -> settings.setConnectionRequestTimeout(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setResponseTimeout(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setTimeToLive(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setEvictIdleConnectionsAfter(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setValidateAfterInactivity(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> settings.setKeepAlive(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void testHttpClientSettings_defaults() {
+        final HttpClientSettings settings = new HttpClientSettings();
+        assertEquals(10, settings.getMaxPerRoute());
+        assertEquals(100, settings.getMaxTotal());
+        assertNull(settings.getConnectTimeout());
+        assertNull(settings.getSocketTimeout());
+        assertEquals(Duration.ofMinutes(3), settings.getConnectionRequestTimeout());
+        assertNull(settings.getResponseTimeout());
+        assertNull(settings.getTimeToLive());
+        assertNull(settings.getEvictIdleConnectionsAfter());
+        assertEquals(Duration.ofSeconds(2), settings.getValidateAfterInactivity());
+        assertNull(settings.getKeepAlive());
+        assertTrue(settings.isContentCompression());
+        settings.setContentCompression(false);
+        assertFalse(settings.isContentCompression());
+        assertNull(settings.getName());
+        assertThrows(IllegalArgumentException.class, () -> settings.setName(" "));
+    }
+
+    @Test
+    public void testCreateHttpClientFactory_contentCompression() throws Exception {
+        final byte[] body = "foo.bar: baz\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        final HttpServer server = startServer(body, acceptEncoding);
+        try {
+            final TestConfigTemplate template = new TestConfigTemplate(properties, new HttpClientSettings());
+            assertArrayEquals(body, get(template, server));
+            assertTrue(acceptEncoding.get().contains("gzip"));
+            assertEquals(body.length, template.getResponseBytesDecoded());
+            assertTrue(template.getResponseBytesReceived() > 0);
+            assertTrue(template.getResponseBytesReceived() < body.length / 5);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testCreateHttpClientFactory_contentCompressionDisabled() throws Exception {
+        final byte[] body = "foo.bar: baz\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        final HttpServer server = startServer(body, acceptEncoding);
+        try {
+            final HttpClientSettings settings = new HttpClientSettings();
+            settings.setContentCompression(false);
+            final TestConfigTemplate template = new TestConfigTemplate(properties, settings);
+            assertArrayEquals(body, get(template, server));
+            assertNull(acceptEncoding.get());
+            assertEquals(body.length, template.getResponseBytesReceived());
+            assertEquals(body.length, template.getResponseBytesDecoded());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testCreateHttpClientFactory_bindsResponseBytes() {
+        final ConfigMetrics metrics = mock(ConfigMetrics.class);
+        template.setMetrics(metrics);
+        template.createFactory();
+        verify(metrics).bindResponseBytes(eq("http://localhost:8888"), any(LongSupplier.class), any(LongSupplier.class));
+        template.setMetrics(metrics);
+        verify(metrics, times(2)).bindResponseBytes(eq("http://localhost:8888"), any(LongSupplier.class), any(LongSupplier.class));
+    }
+
+    @Test
+    public void testGetMetricsClient() {
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        assertEquals("http://a:8888,http://b:8888", template.getMetricsClient());
+        final HttpClientSettings settings = new HttpClientSettings();
+        settings.setName("pool");
+        assertEquals("pool", new TestConfigTemplate(properties, settings).getMetricsClient());
+    }
+
+    @Test
+    public void testCreateHttpClientFactory_metricsOfTemplatesSharingRegistry() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final TestConfigTemplate first = new TestConfigTemplate(properties, new HttpClientSettings());
+        first.setMetrics(new MicrometerConfigMetrics(registry));
+        first.createFactory();
+        final ConfigClientProperties secondProperties = new ConfigClientProperties(new StandardEnvironment());
+        secondProperties.setUri(new String[]{"http://other:8888"});
+        final HttpClientSettings secondSettings = new HttpClientSettings();
+        secondSettings.setMaxTotal(42);
+        final TestConfigTemplate second = new TestConfigTemplate(secondProperties, secondSettings);
+        second.setMetrics(new MicrometerConfigMetrics(registry));
+        second.createFactory();
+        assertEquals(100, registry.get("config.client.connections.max").tag("client", "http://localhost:8888").gauge().value());
+        assertEquals(42, registry.get("config.client.connections.max").tag("client", "http://other:8888").gauge().value());
+        assertEquals(2, registry.get("config.client.response.bytes").tag("client", "http://localhost:8888").functionCounters().size());
+        assertEquals(2, registry.get("config.client.response.bytes").tag("client", "http://other:8888").functionCounters().size());
+    }
+
+    private static byte[] get(final TestConfigTemplate template, final HttpServer server) throws IOException {
+        final URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/foo");
+        try (ClientHttpResponse response = template.createFactory().createRequest(uri, HttpMethod.GET).execute()) {
+            return response.getBody().readAllBytes();
+        }
+    }
+
+    private static HttpServer startServer(final byte[] body, final AtomicReference<String> acceptEncoding) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/foo", exchange -> {
+            final String encoding = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            acceptEncoding.set(encoding);
+            byte[] responseBody = body;
+            if (encoding != null && encoding.contains("gzip")) {
+                final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed)) {
+                    outputStream.write(body);
+                }
+                responseBody = compressed.toByteArray();
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            exchange.sendResponseHeaders(200, responseBody.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(responseBody);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private CountDownLatch stubBlockingExchange(final ResponseEntity<String> responseEntity) {
+        final CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return responseEntity;
+                });
+        return release;
+    }
+
+    private RequestThread startRequest(final HttpMethod method, final Object requestBody, final String name)
+            throws InterruptedException {
+        final RequestThread thread = new RequestThread(() -> template.sendAndReceive(method, "/foo/{name}",
+                requestBody, null, String.class, name));
+        thread.start();
+        //
+        // Wait until the request is either blocked in the exchange or waiting on an identical request
+        //
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(thread.isAlive());
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+
+    private static ClientHttpResponse createStreamResponse(final String body) throws IOException {
+        final ClientHttpResponse clientResponse = mock(ClientHttpResponse.class);
+        when(clientResponse.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        when(clientResponse.getHeaders()).thenReturn(new HttpHeaders());
+        when(clientResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+        return clientResponse;
+    }
+
+    private static final class RequestThread extends Thread {
+        private final ConfigCallable<ResponseEntity<String>> callable;
+        private volatile ResponseEntity<String> responseEntity;
+        private volatile Exception exception;
+
+        private RequestThread(final ConfigCallable<ResponseEntity<String>> callable) {
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            try {
+                responseEntity = callable.call();
+            } catch (Exception e) {
+                exception = e;
+            }
+        }
+    }
+
     private static class TestConfigTemplate extends ConfigTemplate {
         public TestConfigTemplate(ConfigClientProperties configClientProperties, RestTemplate restTemplate) {
             super(configClientProperties);
             this.restTemplate = restTemplate;
         }
 
+        public TestConfigTemplate(ConfigClientProperties configClientProperties, HttpClientSettings httpClientSettings) {
+            super(configClientProperties, httpClientSettings);
+        }
+
         public ClientHttpRequestFactory createFactory() {
             return this.createHttpClientFactory();
         }
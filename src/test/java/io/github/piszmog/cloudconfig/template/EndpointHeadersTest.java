@@ -0,0 +1,97 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointHeadersTest {
+    private ConfigClientProperties properties;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ConfigClientProperties(new StandardEnvironment());
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+    }
+
+    @Test
+    public void testGetHeaders_none() {
+        final EndpointHeaders endpointHeaders = new EndpointHeaders(properties);
+        assertTrue(endpointHeaders.getHeaders(0).isEmpty());
+        assertEquals("http://a:8888", endpointHeaders.getCredentials(0).getUri());
+        assertEquals("http://b:8888", endpointHeaders.getCredentials(1).getUri());
+    }
+
+    @Test
+    public void testGetHeaders_password() {
+        properties.setPassword("password");
+        final EndpointHeaders endpointHeaders = new EndpointHeaders(properties);
+        final String expected = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes());
+        assertEquals(expected, endpointHeaders.getHeaders(0).getFirst("Authorization"));
+        assertEquals(expected, endpointHeaders.getHeaders(1).getFirst("Authorization"));
+    }
+
+    @Test
+    public void testGetHeaders_tokenAndAuthorization() {
+        properties.setToken("abc");
+        properties.setHeaders(Collections.singletonMap("authorization", "Bearer 12345"));
+        final HttpHeaders headers = new EndpointHeaders(properties).getHeaders(0);
+        assertEquals("abc", headers.getFirst(ConfigClientProperties.TOKEN_HEADER));
+        assertEquals("Bearer 12345", headers.getFirst("Authorization"));
+    }
+
+    @Test
+    public void testGetHeaders_blankToken() {
+        properties.setToken(" ");
+        assertNull(new EndpointHeaders(properties).getHeaders(0).getFirst(ConfigClientProperties.TOKEN_HEADER));
+    }
+
+    @Test
+    public void testGetHeaders_conflicting() {
+        properties.setUri(new String[]{"http://admin:secret@a:8888", "http://b:8888"});
+        properties.setHeaders(Collections.singletonMap("authorization", "Bearer 12345"));
+        final EndpointHeaders endpointHeaders = new EndpointHeaders(properties);
+        assertThrows(IllegalArgumentException.class, () -> endpointHeaders.getHeaders(0));
+        assertEquals("Bearer 12345", endpointHeaders.getHeaders(1).getFirst("Authorization"));
+    }
+
+    @Test
+    public void testGetHeaders_readOnly() {
+        final HttpHeaders headers = new EndpointHeaders(properties).getHeaders(0);
+        assertThrows(UnsupportedOperationException.class, () -> headers.add("foo", "bar"));
+    }
+
+    @Test
+    public void testIsCurrent() {
+        final EndpointHeaders endpointHeaders = new EndpointHeaders(properties);
+        assertTrue(endpointHeaders.isCurrent(properties));
+        properties.setUri(new String[]{"http://a:8888"});
+        assertFalse(endpointHeaders.isCurrent(properties));
+        properties.setUri(new String[]{"http://a:8888", "http://b:8888"});
+        assertTrue(endpointHeaders.isCurrent(properties));
+        properties.setUsername("admin");
+        assertFalse(endpointHeaders.isCurrent(properties));
+        properties.setUsername("user");
+        properties.setPassword("password");
+        assertFalse(endpointHeaders.isCurrent(properties));
+        properties.setPassword(null);
+        properties.setToken("abc");
+        assertFalse(endpointHeaders.isCurrent(properties));
+        properties.setToken(null);
+        properties.setHeaders(Collections.singletonMap("authorization", "Bearer 12345"));
+        assertFalse(endpointHeaders.isCurrent(properties));
+    }
+
+    @Test
+    public void testIsCurrent_uriModifiedInPlace() {
+        final EndpointHeaders endpointHeaders = new EndpointHeaders(properties);
+        properties.getUri()[1] = "http://c:8888";
+        assertFalse(endpointHeaders.isCurrent(properties));
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointStatisticsTest {
+    private static final long OPEN_DURATION = Duration.ofSeconds(30).toNanos();
+
+    @Test
+    public void testRecordSuccess() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordSuccess(100);
+        assertEquals(100, statistics.getAverageLatencyNanos());
+        statistics.recordSuccess(200);
+        assertEquals(120, statistics.getAverageLatencyNanos());
+        assertEquals(2, statistics.getSuccessCount());
+        assertEquals(CircuitState.CLOSED, statistics.getState());
+    }
+
+    @Test
+    public void testRecordSuccess_minimumLatency() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordSuccess(0);
+        assertEquals(1, statistics.getAverageLatencyNanos());
+    }
+
+    @Test
+    public void testRecordFailure_belowThreshold() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordFailure(0, 3);
+        statistics.recordFailure(0, 3);
+        assertEquals(CircuitState.CLOSED, statistics.getState());
+        assertEquals(2, statistics.getConsecutiveFailures());
+        assertTrue(statistics.tryAcquire(0, OPEN_DURATION));
+    }
+
+    @Test
+    public void testRecordFailure_opens() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordFailure(0, 2);
+        statistics.recordFailure(0, 2);
+        assertEquals(CircuitState.OPEN, statistics.getState());
+        assertFalse(statistics.tryAcquire(OPEN_DURATION - 1, OPEN_DURATION));
+    }
+
+    @Test
+    public void testRecordFailure_disabled() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        for (int i = 0; i < 10; i++) {
+            statistics.recordFailure(0, 0);
+        }
+        assertEquals(CircuitState.CLOSED, statistics.getState());
+        assertEquals(10, statistics.getFailureCount());
+    }
+
+    @Test
+    public void testTryAcquire_halfOpenProbe() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordFailure(0, 1);
+        assertTrue(statistics.tryAcquire(OPEN_DURATION, OPEN_DURATION));
+        assertEquals(CircuitState.HALF_OPEN, statistics.getState());
+        //
+        // Only a single probe is allowed while it is in flight
+        //
+        assertFalse(statistics.tryAcquire(OPEN_DURATION + 1, OPEN_DURATION));
+        //
+        // Another probe is allowed once the probe has not completed within the open duration
+        //
+        assertTrue(statistics.tryAcquire(2 * OPEN_DURATION, OPEN_DURATION));
+    }
+
+    @Test
+    public void testTryAcquire_probeSucceeds() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordFailure(0, 1);
+        statistics.tryAcquire(OPEN_DURATION, OPEN_DURATION);
+        statistics.recordSuccess(100);
+        assertEquals(CircuitState.CLOSED, statistics.getState());
+        assertEquals(0, statistics.getConsecutiveFailures());
+    }
+
+    @Test
+    public void testTryAcquire_probeFails() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordFailure(0, 5);
+        statistics.recordFailure(0, 5);
+        statistics.recordFailure(0, 5);
+        statistics.recordFailure(0, 5);
+        statistics.recordFailure(0, 5);
+        statistics.tryAcquire(OPEN_DURATION, OPEN_DURATION);
+        statistics.recordFailure(OPEN_DURATION, 10);
+        assertEquals(CircuitState.OPEN, statistics.getState());
+        assertFalse(statistics.tryAcquire(2 * OPEN_DURATION - 1, OPEN_DURATION));
+        assertTrue(statistics.tryAcquire(2 * OPEN_DURATION, OPEN_DURATION));
+    }
+
+    @Test
+    public void testRecordSlowCall() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordSlowCall(500, 0, 1);
+        assertEquals(500, statistics.getAverageLatencyNanos());
+        assertEquals(1, statistics.getFailureCount());
+        assertEquals(0, statistics.getSuccessCount());
+        assertEquals(CircuitState.OPEN, statistics.getState());
+    }
+
+    @Test
+    public void testToHealth() {
+        final EndpointStatistics statistics = new EndpointStatistics("http://localhost:8888");
+        statistics.recordSuccess(Duration.ofMillis(10).toNanos());
+        statistics.recordSuccess(Duration.ofMillis(10).toNanos());
+        statistics.recordSuccess(Duration.ofMillis(10).toNanos());
+        statistics.recordFailure(0, 5);
+        final EndpointHealth health = statistics.toHealth();
+        assertEquals("http://localhost:8888", health.getUri());
+        assertEquals(CircuitState.CLOSED, health.getState());
+        assertFalse(health.isSkipped());
+        assertEquals(Duration.ofMillis(10), health.getAverageLatency());
+        assertEquals(3, health.getSuccessCount());
+        assertEquals(1, health.getFailureCount());
+        assertEquals(1, health.getConsecutiveFailures());
+        assertEquals(0.75, health.getSuccessRate());
+        assertEquals("http://localhost:8888 CLOSED (average latency 10ms, success rate 0.75)", health.toString());
+    }
+
+    @Test
+    public void testToHealth_noRequests() {
+        final EndpointHealth health = new EndpointStatistics("http://localhost:8888").toHealth();
+        assertEquals(1.0, health.getSuccessRate());
+        assertEquals(Duration.ZERO, health.getAverageLatency());
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResponseByteCounterTest {
+    private static final byte[] BODY = "foo: bar\nbaz: qux\n".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ExecChain chain;
+
+    private final ClassicHttpRequest request = new BasicClassicHttpRequest("GET", "/foo");
+    private LongAdder first;
+    private LongAdder second;
+    private ResponseByteCounter counter;
+
+    @BeforeEach
+    public void setup() {
+        first = new LongAdder();
+        second = new LongAdder();
+        counter = new ResponseByteCounter(first, second);
+    }
+
+    @Test
+    public void testExecute_read() throws Exception {
+        final ClassicHttpResponse response = execute(new ByteArrayEntity(BODY, ContentType.TEXT_PLAIN));
+        try (InputStream inputStream = response.getEntity().getContent()) {
+            assertArrayEquals(BODY, inputStream.readAllBytes());
+        }
+        assertEquals(BODY.length, first.sum());
+        assertEquals(BODY.length, second.sum());
+    }
+
+    @Test
+    public void testExecute_readSingleBytes() throws Exception {
+        final ClassicHttpResponse response = execute(new ByteArrayEntity(BODY, ContentType.TEXT_PLAIN));
+        try (InputStream inputStream = response.getEntity().getContent()) {
+            assertEquals('f', inputStream.read());
+            assertEquals(1, first.sum());
+            assertEquals(3, inputStream.skip(3));
+            assertEquals(4, first.sum());
+            inputStream.skip(BODY.length);
+            assertEquals(0, inputStream.skip(1));
+            assertEquals(-1, inputStream.read());
+            assertEquals(-1, inputStream.read(new byte[4], 0, 4));
+        }
+        assertEquals(BODY.length, first.sum());
+    }
+
+    @Test
+    public void testExecute_writeTo() throws Exception {
+        final ClassicHttpResponse response = execute(new ByteArrayEntity(BODY, ContentType.TEXT_PLAIN));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getEntity().writeTo(outputStream);
+        assertArrayEquals(BODY, outputStream.toByteArray());
+        assertEquals(BODY.length, first.sum());
+    }
+
+    @Test
+    public void testExecute_keepsEntityDetails() throws Exception {
+        final ClassicHttpResponse response = execute(new ByteArrayEntity(BODY, ContentType.TEXT_PLAIN, "gzip"));
+        assertEquals(BODY.length, response.getEntity().getContentLength());
+        assertEquals("gzip", response.getEntity().getContentEncoding());
+        assertEquals(0, first.sum());
+    }
+
+    @Test
+    public void testExecute_noEntity() throws Exception {
+        final ClassicHttpResponse response = execute(null);
+        assertNull(response.getEntity());
+        assertEquals(0, first.sum());
+    }
+
+    @Test
+    public void testExecute_noContent() throws Exception {
+        final HttpEntity entity = mock(HttpEntity.class);
+        final ClassicHttpResponse response = execute(entity);
+        assertNull(response.getEntity().getContent());
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getEntity().writeTo(outputStream);
+        assertEquals(0, outputStream.size());
+        assertEquals(0, first.sum());
+    }
+
+    private ClassicHttpResponse execute(final HttpEntity entity) throws Exception {
+        final ClassicHttpResponse response = new BasicClassicHttpResponse(200);
+        response.setEntity(entity);
+        when(chain.proceed(request, null)).thenReturn(response);
+        final ClassicHttpResponse countedResponse = counter.execute(request, null, chain);
+        assertSame(response, countedResponse);
+        return countedResponse;
+    }
+}
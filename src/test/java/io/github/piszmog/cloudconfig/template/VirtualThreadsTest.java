@@ -0,0 +1,33 @@
+package io.github.piszmog.cloudconfig.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadsTest {
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    public void testNewExecutor() throws Exception {
+        assertTrue(VirtualThreads.isSupported());
+        final ExecutorService executor = VirtualThreads.newExecutor("test-");
+        try {
+            final Thread thread = executor.submit(Thread::currentThread).get();
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+            assertEquals("test-0", thread.getName());
+            assertEquals("test-1", executor.submit(() -> Thread.currentThread().getName()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    public void testNewExecutor_unsupported() {
+        assertFalse(VirtualThreads.isSupported());
+        assertThrows(IllegalStateException.class, () -> VirtualThreads.newExecutor("test-"));
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.piszmog.cloudconfig.template.impl;
 
+import io.github.piszmog.cloudconfig.template.HttpClientSettings;
 import org.apache.hc.core5.util.Timeout;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -9,8 +10,11 @@ import org.springframework.cloud.config.client.ConfigServicePropertySourceLocato
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class LocalConfigTemplateTest {
     @Test
@@ -35,6 +39,25 @@ public class LocalConfigTemplateTest {
 
     }
 
+    @Test
+    public void testInit_httpClientSettings() {
+        final HttpClientSettings settings = new HttpClientSettings();
+        settings.setMaxPerRoute(50);
+        settings.setMaxTotal(200);
+        settings.setConnectionRequestTimeout(Duration.ofSeconds(5));
+        final LocalConfigTemplate template = new LocalConfigTemplate(new ConfigClientProperties(new StandardEnvironment()), settings);
+        template.init();
+        assertSame(settings, template.getHttpClientSettings());
+        final AbstractObjectAssert<?, ?> httpClient = assertThat(template).extracting("restTemplate").extracting("requestFactory")
+                .extracting("httpClient");
+        httpClient.extracting("defaultConfig")
+                .hasFieldOrPropertyWithValue("connectionRequestTimeout", Timeout.ofSeconds(5));
+        httpClient.extracting("connManager")
+                .extracting("pool")
+                .hasFieldOrPropertyWithValue("defaultMaxPerRoute", 50)
+                .hasFieldOrPropertyWithValue("maxTotal", 200);
+    }
+
     @Test
     public void testInit_authHeader() {
         final ConfigClientProperties properties = new ConfigClientProperties(new StandardEnvironment());
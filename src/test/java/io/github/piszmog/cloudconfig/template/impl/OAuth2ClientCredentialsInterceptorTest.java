@@ -0,0 +1,62 @@
+package io.github.piszmog.cloudconfig.template.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OAuth2ClientCredentialsInterceptorTest {
+    @Mock
+    private OAuth2TokenManager tokenManager;
+    @Mock
+    private HttpRequest request;
+    @Mock
+    private ClientHttpRequestExecution execution;
+    @Mock
+    private ClientHttpResponse response;
+
+    @Test
+    public void testIntercept() throws IOException {
+        when(tokenManager.getAccessToken()).thenReturn(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+                Instant.now(), Instant.now().plusSeconds(60)));
+        final HttpHeaders headers = new HttpHeaders();
+        when(request.getHeaders()).thenReturn(headers);
+        final byte[] body = new byte[0];
+        when(execution.execute(request, body)).thenReturn(response);
+
+        final OAuth2ClientCredentialsInterceptor interceptor = new OAuth2ClientCredentialsInterceptor(tokenManager);
+        assertSame(response, interceptor.intercept(request, body, execution));
+        assertEquals("Bearer token", headers.getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    public void testIntercept_notAuthorized() throws IOException {
+        when(tokenManager.getAccessToken()).thenThrow(new OAuth2AuthorizationException(new OAuth2Error("invalid_client")));
+        final OAuth2ClientCredentialsInterceptor interceptor = new OAuth2ClientCredentialsInterceptor(tokenManager);
+        assertThrows(OAuth2AuthorizationException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        verify(execution, never()).execute(any(), any());
+    }
+
+    @Test
+    public void testShutdown() {
+        new OAuth2ClientCredentialsInterceptor(tokenManager).shutdown();
+        verify(tokenManager).shutdown();
+    }
+}
@@ -1,12 +1,14 @@
 package io.github.piszmog.cloudconfig.template.impl;
 
+import io.github.piszmog.cloudconfig.template.HttpClientSettings;
 import io.pivotal.spring.cloud.config.client.ConfigClientOAuth2Properties;
-import io.pivotal.spring.cloud.config.client.OAuth2AuthorizedClientHttpRequestInterceptor;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,16 +28,53 @@ public class OAuth2ConfigTemplateTest {
                 .asInstanceOf(InstanceOfAssertFactories.LIST)
                 .hasSize(1)
                 .first()
-                .isInstanceOf(OAuth2AuthorizedClientHttpRequestInterceptor.class)
-                .extracting("authorizedManager")
-                .extracting("authorizedClientService")
-                .extracting("clientRegistrationRepository")
-                .extracting("registrations")
-                .extracting("cloud-config-client")
+                .isInstanceOf(OAuth2ClientCredentialsInterceptor.class)
+                .extracting("tokenManager")
+                .extracting("clientRegistration")
                 .hasFieldOrPropertyWithValue("registrationId", "cloud-config-client")
                 .hasFieldOrPropertyWithValue("clientId", "clientId")
                 .hasFieldOrPropertyWithValue("clientSecret", "secret")
                 .hasFieldOrPropertyWithValue("clientName", "cloud-config-client")
                 .hasFieldOrPropertyWithValue("authorizationGrantType", AuthorizationGrantType.CLIENT_CREDENTIALS);
+        template.destroy();
+    }
+
+    @Test
+    public void testDestroy_notInitialized() {
+        final OAuth2ConfigTemplate template = new OAuth2ConfigTemplate(new ConfigClientProperties(new StandardEnvironment()),
+                new ConfigClientOAuth2Properties());
+        template.destroy();
+        assertThat(template).extracting("oauth2Interceptor").isNull();
+    }
+
+    @Test
+    public void testInit_pooledRequestFactory() {
+        final ConfigClientProperties properties = new ConfigClientProperties(new StandardEnvironment());
+        final ConfigClientOAuth2Properties oauth2Properties = new ConfigClientOAuth2Properties();
+        oauth2Properties.setClientId("clientId");
+        oauth2Properties.setClientSecret("secret");
+        oauth2Properties.setAccessTokenUri("http://localhost:888");
+        final HttpClientSettings settings = new HttpClientSettings();
+        settings.setMaxPerRoute(20);
+        final OAuth2ConfigTemplate template = new OAuth2ConfigTemplate(properties, oauth2Properties, settings);
+
+        template.init();
+        final Object requestFactory = ReflectionTestUtils.getField(ReflectionTestUtils.getField(template, "restTemplate"),
+                "requestFactory");
+        assertThat(requestFactory).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        assertThat(requestFactory).extracting("httpClient")
+                .extracting("connManager")
+                .extracting("pool")
+                .hasFieldOrPropertyWithValue("defaultMaxPerRoute", 20);
+        //
+        // The token endpoint is called with the same pooled request factory
+        //
+        assertThat(template).extracting("restTemplate")
+                .extracting("interceptors")
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .first()
+                .extracting("tokenRestTemplate")
+                .extracting("requestFactory")
+                .isSameAs(requestFactory);
     }
 }
@@ -0,0 +1,251 @@
+package io.github.piszmog.cloudconfig.template.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OAuth2TokenManagerTest {
+    private static final Instant NOW = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Mock
+    private OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient;
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private ScheduledFuture<Object> scheduledFuture;
+    private MutableClock clock;
+    private OAuth2TokenManager tokenManager;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock();
+        tokenManager = new OAuth2TokenManager(createClientRegistration(), tokenResponseClient, Duration.ofSeconds(60),
+                clock, scheduler);
+    }
+
+    @Test
+    public void testGetAccessToken_cached() {
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any())).thenReturn(first);
+        assertEquals("first", tokenManager.getAccessToken().getTokenValue());
+        assertEquals("first", tokenManager.getAccessToken().getTokenValue());
+        verify(tokenResponseClient, times(1)).getTokenResponse(any());
+    }
+
+    @Test
+    public void testGetAccessToken_expired() {
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        final OAuth2AccessTokenResponse second = tokenResponse("second", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenReturn(first)
+                .thenReturn(second);
+        assertEquals("first", tokenManager.getAccessToken().getTokenValue());
+        //
+        // Within the expiry skew the token is treated as expired
+        //
+        clock.advance(Duration.ofHours(1).minus(OAuth2TokenManager.EXPIRY_SKEW));
+        assertEquals("second", tokenManager.getAccessToken().getTokenValue());
+    }
+
+    @Test
+    public void testGetAccessToken_noExpiry() {
+        final OAuth2AccessTokenResponse response = mock(OAuth2AccessTokenResponse.class);
+        when(response.getAccessToken()).thenReturn(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "first", null, null));
+        when(tokenResponseClient.getTokenResponse(any())).thenReturn(response);
+        final OAuth2AccessToken token = tokenManager.getAccessToken();
+        clock.advance(Duration.ofDays(365));
+        assertSame(token, tokenManager.getAccessToken());
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void testGetAccessToken_failure() {
+        when(tokenResponseClient.getTokenResponse(any())).thenThrow(new OAuth2AuthorizationException(new OAuth2Error("invalid_client")));
+        assertThrows(OAuth2AuthorizationException.class, () -> tokenManager.getAccessToken());
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void testRefresh_sharedInFlight() {
+        final CompletableFuture<?>[] nested = new CompletableFuture<?>[1];
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any())).thenAnswer(invocation -> {
+            //
+            // A caller arriving while the token is being requested shares the in-flight request
+            //
+            nested[0] = tokenManager.refresh();
+            assertFalse(nested[0].isDone());
+            return first;
+        });
+        final OAuth2AccessToken token = tokenManager.getAccessToken();
+        assertSame(token, nested[0].join());
+        verify(tokenResponseClient, times(1)).getTokenResponse(any());
+    }
+
+    @Test
+    public void testRefresh_completedBeforeLock() throws Exception {
+        final CountDownLatch requested = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any())).thenAnswer(invocation -> {
+            requested.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return first;
+        });
+        final CompletableFuture<OAuth2AccessToken> inFlight = CompletableFuture.supplyAsync(tokenManager::getAccessToken);
+        //
+        // A second caller finds no token while the first request is in flight, but only refreshes once it completed
+        //
+        assertTrue(requested.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        final OAuth2AccessToken token = inFlight.get(5, TimeUnit.SECONDS);
+        assertSame(token, tokenManager.refresh(null).join());
+        verify(tokenResponseClient, times(1)).getTokenResponse(any());
+    }
+
+    @Test
+    public void testGetAccessToken_shutdown() {
+        doThrow(new RejectedExecutionException("Shut down"))
+                .when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any())).thenReturn(first);
+        tokenManager.shutdown();
+        assertEquals("first", tokenManager.getAccessToken().getTokenValue());
+    }
+
+    @Test
+    public void testScheduleRefresh() {
+        final ArgumentCaptor<Runnable> refreshCaptor = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(scheduledFuture).when(scheduler).schedule(refreshCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        final OAuth2AccessTokenResponse second = tokenResponse("second", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenReturn(first)
+                .thenReturn(second);
+        tokenManager.getAccessToken();
+        verify(scheduler).schedule(any(Runnable.class), eq(Duration.ofMinutes(59).toMillis()), eq(TimeUnit.MILLISECONDS));
+
+        refreshCaptor.getValue().run();
+        assertEquals("second", tokenManager.getAccessToken().getTokenValue());
+        verify(scheduledFuture).cancel(false);
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(Duration.ofMinutes(59).toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testScheduleRefresh_shortLived() {
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofSeconds(30));
+        when(tokenResponseClient.getTokenResponse(any())).thenReturn(first);
+        tokenManager.getAccessToken();
+        verify(scheduler).schedule(any(Runnable.class), eq(Duration.ofSeconds(15).toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testScheduleRefresh_failureRetries() {
+        final ArgumentCaptor<Runnable> refreshCaptor = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(scheduledFuture).when(scheduler).schedule(refreshCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenReturn(first)
+                .thenThrow(new OAuth2AuthorizationException(new OAuth2Error("server_error")));
+        tokenManager.getAccessToken();
+        clock.advance(Duration.ofMinutes(59));
+
+        refreshCaptor.getValue().run();
+        //
+        // The current token is kept while it is valid and the refresh is retried
+        //
+        assertEquals("first", tokenManager.getAccessToken().getTokenValue());
+        verify(scheduler).schedule(any(Runnable.class), eq(OAuth2TokenManager.RETRY_DELAY.toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testScheduleRefresh_failureExpired() {
+        final ArgumentCaptor<Runnable> refreshCaptor = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(scheduledFuture).when(scheduler).schedule(refreshCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        final OAuth2AccessTokenResponse first = tokenResponse("first", Duration.ofHours(1));
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenReturn(first)
+                .thenThrow(new OAuth2AuthorizationException(new OAuth2Error("server_error")));
+        tokenManager.getAccessToken();
+        clock.advance(Duration.ofHours(1));
+
+        refreshCaptor.getValue().run();
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testShutdown() {
+        tokenManager.shutdown();
+        verify(scheduler).shutdownNow();
+    }
+
+    private OAuth2AccessTokenResponse tokenResponse(final String value, final Duration lifetime) {
+        final OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, value,
+                clock.instant(), clock.instant().plus(lifetime));
+        final OAuth2AccessTokenResponse response = mock(OAuth2AccessTokenResponse.class);
+        when(response.getAccessToken()).thenReturn(token);
+        return response;
+    }
+
+    private static ClientRegistration createClientRegistration() {
+        return ClientRegistration.withRegistrationId("cloud-config-client")
+                .clientId("clientId")
+                .clientSecret("secret")
+                .tokenUri("http://localhost:888")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = NOW;
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}